@@ -25,7 +25,7 @@ public class Mei {
      * @param filePath The file path to save task data.
      */
     public Mei(String filePath) {
-        this.fileStorage = new FileStorage(filePath);
+        this.fileStorage = FileStorage.createFileStorage(filePath);
         this.taskManager = new TaskManager(fileStorage.readTasks(), fileStorage);
         // Initialize response manager to process user input and generate responses.
         this.responseManager = new ResponseManager(taskManager);
@@ -43,4 +43,12 @@ public class Mei {
         inputManager.redirectInput(userInput, false);
     }
 
+    /**
+     * Closes Mei before the application exits.
+     * This gives the file storage a chance to finish writing any task data that is still pending.
+     */
+    public void close() {
+        fileStorage.close();
+    }
+
 }
@@ -0,0 +1,19 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when a date range query is not in a format that Mei understands.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a task-related exception.
+ */
+public class DateRangeQueryException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Huh? Which dates did you want me to look at?",
+        "Hint: Use due before {date time}, due between {date time} {date time}",
+        "or events during {date time} {date time}!"
+    };
+
+    public DateRangeQueryException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
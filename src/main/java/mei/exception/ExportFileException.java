@@ -0,0 +1,19 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when the tasks cannot be exported to the given file.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a file-related exception.
+ */
+public class ExportFileException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Hmm..? I couldn't write your tasks to that file...",
+        "Can you check the format and the path? :3",
+        "Hint: Use export {csv, json or ics} {path to file}!"
+    };
+
+    public ExportFileException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
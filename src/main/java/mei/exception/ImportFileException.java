@@ -0,0 +1,19 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when the file given to the import command cannot be read.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a file-related exception.
+ */
+public class ImportFileException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Hmm..? I can't seem to open that file...",
+        "Can you check that the path is right? :3",
+        "Hint: Use import {path to a .csv or .ics file}!"
+    };
+
+    public ImportFileException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
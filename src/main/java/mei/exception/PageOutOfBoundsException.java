@@ -0,0 +1,18 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when the user asks for a page of tasks that does not exist.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a task-related exception.
+ */
+public class PageOutOfBoundsException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Oops! There's no such page...",
+        "Hint: Use list {page} or find {keyword} /page {page} with a page that's on the list!"
+    };
+
+    public PageOutOfBoundsException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
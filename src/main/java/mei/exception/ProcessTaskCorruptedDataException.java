@@ -0,0 +1,17 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when a line of task data is missing fields or has an unknown task type.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a process task-related exception.
+ */
+public class ProcessTaskCorruptedDataException extends ProcessTaskException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Uh oh, one of your saved tasks seems to be incomplete or corrupted.",
+        "I cannot process this task, so feel free to re-add it!"
+    };
+
+    public ProcessTaskCorruptedDataException() {
+        super(ERROR_RESPONSES);
+    }
+}
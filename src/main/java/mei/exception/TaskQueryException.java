@@ -0,0 +1,19 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when a task query has a filter that Mei does not understand.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a task-related exception.
+ */
+public class TaskQueryException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Hmm... I don't quite get what you're looking for!",
+        "Hint: Combine any of type:{todo|deadline|event}, done:{yes|no}, desc:{keyword},",
+        "due<{yyyy-MM-dd} and due>{yyyy-MM-dd}, like query type:deadline done:no due<2025-01-01"
+    };
+
+    public TaskQueryException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
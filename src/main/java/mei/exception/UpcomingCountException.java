@@ -0,0 +1,18 @@
+package mei.exception;
+
+/**
+ * Represents the Mei exception that is thrown when the number of upcoming tasks to show is not a positive number.
+ * echoErrorResponse should be called when this exception is caught.
+ * This is classified as a task-related exception.
+ */
+public class UpcomingCountException extends MeiException {
+    private static final String[] ERROR_RESPONSES = new String[] {
+        "Eh? How many upcoming tasks did you want to see?",
+        "Hint: Use upcoming, or upcoming {number} like upcoming 10!"
+    };
+
+    public UpcomingCountException() {
+        super(ERROR_RESPONSES);
+    }
+
+}
@@ -0,0 +1,251 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the file storage that keeps task data in the compact binary task file format.
+ * Loading the binary task file skips all the splitting and date/time parsing needed for the text format.
+ * The position of every record is remembered while loading, so that marking and unmarking a task
+ * only overwrites its status byte.
+ * <p>
+ * On the first startup, the tasks in the task data file are migrated to the binary task file,
+ * after which the task data file is no longer written to.
+ */
+public class BinaryFileStorage extends FileStorage {
+    private final String textFilePath;
+    private final Path binaryFilePath;
+    private final BinaryTaskFile binaryTaskFile;
+    private final List<Long> recordPositions = new ArrayList<>();
+
+    /**
+     * Initializes the file reader, writer and the binary task file with the given file store path.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public BinaryFileStorage(String fileStorePath) {
+        super(fileStorePath);
+        this.textFilePath = fileStorePath;
+        this.binaryFilePath = Paths.get(fileStorePath + ".bin");
+        this.binaryTaskFile = new BinaryTaskFile(binaryFilePath);
+    }
+
+    /**
+     * Reads every task from the binary task file,
+     * migrating the tasks from the task data file first if there is no binary task file yet.
+     *
+     * @return The list of tasks read from the file path.
+     */
+    @Override
+    public ArrayList<Task> readTasks() {
+        try {
+            if (!binaryTaskFile.isExist()) {
+                TaskFileMigrator.convertTextToBinary(textFilePath, binaryFilePath.toString());
+            }
+            return binaryTaskFile.readTasks(recordPositions);
+        } catch (IOException e) {
+            System.out.println("Error reading from file in filestorage: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Appends a new task to the end of the binary task file.
+     *
+     * @param task The new task to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTask(Task task) {
+        try {
+            recordPositions.add(binaryTaskFile.appendTask(task));
+        } catch (IOException e) {
+            System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends several new tasks to the end of the binary task file, opening it only once.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) {
+        try {
+            recordPositions.addAll(binaryTaskFile.appendTasks(tasks));
+        } catch (IOException e) {
+            System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the record of an existing task with the given task data.
+     * Since the new record may differ in size, every record after it is moved along.
+     *
+     * @param lineNumber The task index of the overwritten task.
+     * @param taskData The new task data to write.
+     */
+    @Override
+    public void overwriteTask(int lineNumber, String taskData) {
+        List<Task> overwritingTasks = new ArrayList<>();
+        fileReader.processThenAddTo(taskData, overwritingTasks);
+        if (overwritingTasks.isEmpty()) {
+            return;
+        }
+
+        try {
+            replaceRecord(lineNumber - 1, BinaryTaskFile.toRecordBytes(overwritingTasks.get(0)));
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the status byte within the record of the given task.
+     *
+     * @param lineNumber The task index of the task.
+     * @param task The task whose status has changed.
+     */
+    @Override
+    public void updateTaskStatus(int lineNumber, Task task) {
+        long statusPosition = recordPositions.get(lineNumber - 1) + BinaryTaskFile.RECORD_STATUS;
+        ByteBuffer status = ByteBuffer.wrap(new byte[] {BinaryTaskFile.toStatusByte(task.isDone())});
+
+        try (FileChannel channel = FileChannel.open(binaryFilePath, StandardOpenOption.WRITE)) {
+            channel.write(status, statusPosition);
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the record of an existing task, moving every record after it along.
+     *
+     * @param lineNumber The task index of the task to be deleted.
+     */
+    @Override
+    public void removeTask(int lineNumber) {
+        try {
+            replaceRecord(lineNumber - 1, new byte[0]);
+        } catch (IOException e) {
+            System.out.println("Error removing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the status byte within the record of each of the given tasks.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    @Override
+    public void updateTasksStatus(int[] lineNumbers, List<Task> tasks) {
+        try (FileChannel channel = FileChannel.open(binaryFilePath, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < lineNumbers.length; i++) {
+                long statusPosition = recordPositions.get(lineNumbers[i] - 1) + BinaryTaskFile.RECORD_STATUS;
+                byte statusByte = BinaryTaskFile.toStatusByte(tasks.get(i).isDone());
+                channel.write(ByteBuffer.wrap(new byte[] {statusByte}), statusPosition);
+            }
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the record of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    @Override
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Overwrites only the records of the tasks given ids.
+     * Every record of the binary task file is read into a task, so the record of every task is always known.
+     *
+     * @param lineNumbers The task indexes of the tasks given ids, in ascending order.
+     * @param tasks The whole list of tasks.
+     */
+    @Override
+    public void saveTaskIds(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOfIndexes(lineNumbers, tasks);
+    }
+
+    /**
+     * Removes the records of several existing tasks,
+     * copying every remaining record over to the new binary task file in a single pass.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    @Override
+    public void removeTasks(int[] lineNumbers) {
+        Path temporaryPath = Paths.get(binaryFilePath + ".tmp");
+        List<Long> remainingRecordPositions = new ArrayList<>(recordPositions.size() - lineNumbers.length);
+
+        try {
+            try (FileChannel source = FileChannel.open(binaryFilePath, StandardOpenOption.READ);
+                    FileChannel target = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long fileSize = source.size();
+                FileStorage.transferFully(source, 0, BinaryTaskFile.HEADER_SIZE, target);
+
+                int nextRemoved = 0;
+                for (int i = 0; i < recordPositions.size(); i++) {
+                    if (nextRemoved < lineNumbers.length && lineNumbers[nextRemoved] == i + 1) {
+                        nextRemoved++;
+                        continue;
+                    }
+
+                    long recordStart = recordPositions.get(i);
+                    long recordEnd = i == recordPositions.size() - 1 ? fileSize : recordPositions.get(i + 1);
+                    remainingRecordPositions.add(target.position());
+                    FileStorage.transferFully(source, recordStart, recordEnd - recordStart, target);
+                }
+            }
+            FileStorage.moveAtomically(temporaryPath, binaryFilePath);
+
+            recordPositions.clear();
+            recordPositions.addAll(remainingRecordPositions);
+        } catch (IOException e) {
+            System.out.println("Error removing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    private void replaceRecord(int taskIndex, byte[] replacementBytes) throws IOException {
+        Path temporaryPath = Paths.get(binaryFilePath + ".tmp");
+        long recordStart = recordPositions.get(taskIndex);
+        long recordEnd;
+
+        try (FileChannel source = FileChannel.open(binaryFilePath, StandardOpenOption.READ);
+                FileChannel target = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long fileSize = source.size();
+            boolean isLastRecord = taskIndex == recordPositions.size() - 1;
+            recordEnd = isLastRecord ? fileSize : recordPositions.get(taskIndex + 1);
+
+            FileStorage.transferFully(source, 0, recordStart, target);
+            target.write(ByteBuffer.wrap(replacementBytes));
+            FileStorage.transferFully(source, recordEnd, fileSize - recordEnd, target);
+        }
+        FileStorage.moveAtomically(temporaryPath, binaryFilePath);
+
+        // Every record after the replaced one has moved by the difference in size.
+        long sizeDifference = replacementBytes.length - (recordEnd - recordStart);
+        for (int i = taskIndex + 1; i < recordPositions.size(); i++) {
+            recordPositions.set(i, recordPositions.get(i) + sizeDifference);
+        }
+        if (replacementBytes.length == 0) {
+            recordPositions.remove(taskIndex);
+        }
+    }
+}
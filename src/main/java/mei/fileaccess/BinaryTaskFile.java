@@ -0,0 +1,336 @@
+package mei.fileaccess;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import mei.exception.DatesNotInOrderException;
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents a class that acts as a utility to read and write tasks in the compact binary task file format.
+ * The file starts with a header made up of a magic number and a format version,
+ * followed by one record per task:
+ * <ul>
+ *     <li>a one-byte type tag,</li>
+ *     <li>a one-byte status,</li>
+ *     <li>the description as a length-prefixed UTF-8 string,</li>
+ *     <li>every date/time of the task as the number of minutes since the epoch,</li>
+ *     <li>the id of the task as an eight-byte number.</li>
+ * </ul>
+ * Since the date/times are kept in their converted form, loading a task never has to parse them again.
+ * Binary task files of the earlier versions are upgraded when they are read.
+ * Records of the first version have no id, so they are given their positions as ids.
+ * Records of the first two versions have the add task command as a length-prefixed UTF-8 string
+ * right after the date/times, which is skipped since it is rebuilt when needed.
+ * <p>
+ * This class should not be interacted with directly but rather all methods here can be called
+ * from the BinaryFileStorage and TaskFileMigrator classes.
+ */
+public class BinaryTaskFile {
+    /** The size of the header, which is also where the first record starts. **/
+    public static final int HEADER_SIZE = 8;
+    /** The position of the status byte within a record. **/
+    public static final int RECORD_STATUS = 1;
+
+    private static final int MAGIC_NUMBER = 0x4D454942;
+    private static final int VERSION = 3;
+    private static final int VERSION_WITH_COMMANDS = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+
+    private static final byte TODO_TAG = 0;
+    private static final byte DEADLINE_TAG = 1;
+    private static final byte EVENT_TAG = 2;
+    private static final byte STATUS_NOT_DONE = 0;
+    private static final byte STATUS_DONE = 1;
+
+    private final Path binaryFilePath;
+
+    public BinaryTaskFile(Path binaryFilePath) {
+        this.binaryFilePath = binaryFilePath;
+    }
+
+    /**
+     * Checks whether the binary task file has been created before.
+     *
+     * @return true or false depending on whether the binary task file exists.
+     */
+    public boolean isExist() {
+        return Files.exists(binaryFilePath);
+    }
+
+    /**
+     * Reads every task from the binary task file.
+     * The position of every record is also collected into the given list,
+     * so that records can later be updated in place.
+     *
+     * @param recordPositions The list to collect the position of every record into.
+     * @return The list of tasks read from the binary task file.
+     * @throws IOException if an error occurred while reading, or the file is not a binary task file.
+     */
+    public ArrayList<Task> readTasks(List<Long> recordPositions) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        boolean isUpgradeNeeded;
+        boolean isWithoutIds;
+
+        try (PositionTrackingInputStream positionTracker = new PositionTrackingInputStream(
+                new BufferedInputStream(Files.newInputStream(binaryFilePath), 1 << 16))) {
+            DataInputStream input = new DataInputStream(positionTracker);
+            int version = input.readInt() == MAGIC_NUMBER ? input.readInt() : -1;
+            if (version < VERSION_WITHOUT_IDS || version > VERSION) {
+                throw new IOException("Unrecognised binary task file " + binaryFilePath);
+            }
+            isUpgradeNeeded = version != VERSION;
+            isWithoutIds = version == VERSION_WITHOUT_IDS;
+
+            long recordPosition = positionTracker.getPosition();
+            int typeTag;
+            while ((typeTag = input.read()) != -1) {
+                recordPositions.add(recordPosition);
+                tasks.add(readRecord((byte) typeTag, input, version));
+                recordPosition = positionTracker.getPosition();
+            }
+        } catch (DatesNotInOrderException e) {
+            throw new IOException("Event dates not in order in binary task file " + binaryFilePath);
+        }
+
+        if (isUpgradeNeeded) {
+            if (isWithoutIds) {
+                // No record of the first version has an id, so every task can be given its position as its id.
+                for (int i = 0; i < tasks.size(); i++) {
+                    tasks.get(i).setId(i + 1);
+                }
+            }
+            // The records are rewritten in the current version, which moves every record after the first one.
+            // They are written to a temporary file first, so the upgrade never leaves a half-written file behind.
+            writeTasks(tasks);
+            recordPositions.clear();
+            return readTasks(recordPositions);
+        }
+        return tasks;
+    }
+
+    private Task readRecord(byte typeTag, DataInputStream input, int version)
+            throws IOException, DatesNotInOrderException {
+        boolean isDone = input.readByte() == STATUS_DONE;
+        String description = readString(input);
+        Task task;
+
+        switch (typeTag) {
+        case TODO_TAG:
+            task = new ToDo(description);
+            break;
+
+        case DEADLINE_TAG:
+            LocalDateTime deadlineDateTime = readDateTime(input);
+            task = new Deadline(description, deadlineDateTime);
+            break;
+
+        case EVENT_TAG:
+            LocalDateTime startDateTime = readDateTime(input);
+            LocalDateTime endDateTime = readDateTime(input);
+            task = new Event(description, startDateTime, endDateTime);
+            break;
+
+        default:
+            throw new IOException("Unknown task type tag " + typeTag + " in binary task file " + binaryFilePath);
+        }
+
+        if (isDone) {
+            task.completeTask();
+        }
+        if (version <= VERSION_WITH_COMMANDS) {
+            readString(input);
+        }
+        if (version != VERSION_WITHOUT_IDS) {
+            task.setId(input.readLong());
+        }
+        return task;
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        byte[] stringBytes = new byte[input.readInt()];
+        input.readFully(stringBytes);
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+
+    private LocalDateTime readDateTime(DataInputStream input) throws IOException {
+        return LocalDateTime.ofEpochSecond(input.readLong() * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes the given tasks as a new binary task file, replacing any existing one.
+     * The tasks are written to a temporary file first, which is then moved over the binary task file,
+     * so a failure halfway through writing never leaves behind a truncated binary task file.
+     *
+     * @param tasks The tasks to write.
+     * @throws IOException if an error occurred while writing.
+     */
+    public void writeTasks(List<Task> tasks) throws IOException {
+        Path temporaryPath = Paths.get(binaryFilePath + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryPath), 1 << 16))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            for (Task task : tasks) {
+                output.write(toRecordBytes(task));
+            }
+        }
+        FileStorage.moveAtomically(temporaryPath, binaryFilePath);
+    }
+
+    /**
+     * Appends a single task to the end of the binary task file, writing the header first if the file is new.
+     *
+     * @param task The task to append.
+     * @return The position of the appended record.
+     * @throws IOException if an error occurred while appending.
+     */
+    public long appendTask(Task task) throws IOException {
+        if (!isExist()) {
+            writeTasks(new ArrayList<>());
+        }
+
+        long recordPosition = Files.size(binaryFilePath);
+        try (OutputStream output = Files.newOutputStream(binaryFilePath, StandardOpenOption.APPEND)) {
+            output.write(toRecordBytes(task));
+        }
+        return recordPosition;
+    }
+
+    /**
+     * Appends several tasks to the end of the binary task file in one go,
+     * writing the header first if the file is new.
+     *
+     * @param tasks The tasks to append.
+     * @return The positions of the appended records, in the same order as the tasks.
+     * @throws IOException if an error occurred while appending.
+     */
+    public List<Long> appendTasks(List<Task> tasks) throws IOException {
+        if (!isExist()) {
+            writeTasks(new ArrayList<>());
+        }
+
+        List<Long> recordPositions = new ArrayList<>(tasks.size());
+        long recordPosition = Files.size(binaryFilePath);
+        try (OutputStream output = new BufferedOutputStream(
+                Files.newOutputStream(binaryFilePath, StandardOpenOption.APPEND), 1 << 16)) {
+            for (Task task : tasks) {
+                byte[] recordBytes = toRecordBytes(task);
+                output.write(recordBytes);
+                recordPositions.add(recordPosition);
+                recordPosition += recordBytes.length;
+            }
+        }
+        return recordPositions;
+    }
+
+    /**
+     * Converts the given task into the bytes of its record.
+     *
+     * @param task The task to convert.
+     * @return The record bytes.
+     */
+    public static byte[] toRecordBytes(Task task) {
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(recordBytes)) {
+            if (task instanceof Deadline) {
+                output.writeByte(DEADLINE_TAG);
+                writeStatusAndDescription(output, task);
+                writeDateTime(output, ((Deadline) task).getDeadlineDateTime());
+            } else if (task instanceof Event) {
+                output.writeByte(EVENT_TAG);
+                writeStatusAndDescription(output, task);
+                writeDateTime(output, ((Event) task).getStartDateTime());
+                writeDateTime(output, ((Event) task).getEndDateTime());
+            } else {
+                output.writeByte(TODO_TAG);
+                writeStatusAndDescription(output, task);
+            }
+            output.writeLong(task.getId());
+        } catch (IOException e) {
+            // Writing to a byte array never fails.
+            throw new AssertionError(e);
+        }
+
+        return recordBytes.toByteArray();
+    }
+
+    /**
+     * Gets the status byte of a record.
+     *
+     * @param isDone Whether the task is done.
+     * @return The status byte.
+     */
+    public static byte toStatusByte(boolean isDone) {
+        return isDone ? STATUS_DONE : STATUS_NOT_DONE;
+    }
+
+    private static void writeStatusAndDescription(DataOutputStream output, Task task) throws IOException {
+        output.writeByte(toStatusByte(task.isDone()));
+        writeString(output, task.getDescription());
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(stringBytes.length);
+        output.write(stringBytes);
+    }
+
+    private static void writeDateTime(DataOutputStream output, LocalDateTime dateTime) throws IOException {
+        output.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    /**
+     * Represents an input stream that keeps track of how many bytes have been read through it,
+     * which is the position of the next record while reading the binary task file.
+     */
+    private static class PositionTrackingInputStream extends FilterInputStream {
+        private long position = 0;
+
+        PositionTrackingInputStream(InputStream input) {
+            super(input);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int readByte = super.read();
+            if (readByte != -1) {
+                position++;
+            }
+            return readByte;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int totalBytesRead = super.read(bytes, offset, length);
+            if (totalBytesRead > 0) {
+                position += totalBytesRead;
+            }
+            return totalBytesRead;
+        }
+
+        long getPosition() {
+            return position;
+        }
+    }
+}
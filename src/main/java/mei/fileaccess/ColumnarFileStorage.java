@@ -0,0 +1,43 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.util.List;
+
+import mei.task.Task;
+import mei.task.TaskStore;
+
+/**
+ * Represents the file storage that hands the task manager a task store instead of a list of task objects.
+ * The task store keeps every task column by column, which holds far less memory per task for long lists of tasks.
+ * <p>
+ * Changes are written to the task data file the same way as the default file storage does.
+ */
+public class ColumnarFileStorage extends FileStorage {
+
+    /**
+     * Initializes the file reader and writer with the given file store path.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public ColumnarFileStorage(String fileStorePath) {
+        super(fileStorePath);
+    }
+
+    /**
+     * Reads from the initialized file path into a task store,
+     * one task at a time so that the task objects are never all held at once.
+     *
+     * @return The task store holding the tasks read from the file path.
+     */
+    @Override
+    public List<Task> readTasks() {
+        try {
+            TaskStore taskStore = new TaskStore();
+            fileReader.readFromFileInto(taskStore);
+            return taskStore;
+        } catch (IOException e) {
+            System.out.println("Error reading from file in filestorage: " + e.getMessage());
+        }
+        return new TaskStore();
+    }
+}
@@ -0,0 +1,315 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a class that acts as a utility to journal task data changes next to the task data file.
+ * Instead of rewriting the whole task data file, every change is appended to the journal as a small record.
+ * The journal is later folded into the task data file (the snapshot) by a compaction.
+ * <p>
+ * While a compaction is running, the records being folded are moved aside to a compacting journal
+ * so that new records can still be appended to a fresh journal in the meantime.
+ * Before the folded snapshot replaces the task data file, the checksum of the new snapshot is written to a marker,
+ * which lets the startup replay tell whether the compacting journal has already been folded in.
+ * <p>
+ * Every record starts with the CRC32 checksum of the rest of the record.
+ * A record that does not match its checksum, or does not end with a line break, was only partially written
+ * before the application stopped, so the replay stops there and the journal is cut off before it.
+ * Records written before checksums were added are still replayed as they are.
+ * <p>
+ * This class should not be interacted with directly but rather all methods here can be called
+ * from the JournaledFileStorage class.
+ */
+public class FileJournal {
+    private static final String APPEND_RECORD = "A";
+    private static final String OVERWRITE_RECORD = "O";
+    private static final String REMOVE_RECORD = "R";
+    private static final String RECORD_SEPARATOR = "|";
+    private static final int CHECKSUM_LENGTH = 8;
+
+    private final Path journalPath;
+    private final Path compactingJournalPath;
+    private final Path foldedMarkerPath;
+    private Writer journalWriter;
+    private int recordCount;
+
+    /**
+     * Initializes the journal paths next to the given task data file path.
+     *
+     * @param fileStorePath The path string of the task data file that this journal belongs to.
+     */
+    public FileJournal(String fileStorePath) {
+        this.journalPath = Paths.get(fileStorePath + ".journal");
+        this.compactingJournalPath = Paths.get(fileStorePath + ".journal.compacting");
+        this.foldedMarkerPath = Paths.get(fileStorePath + ".journal.folded");
+    }
+
+    /**
+     * Appends a record of a newly added task.
+     *
+     * @param taskData The task data string of the added task.
+     * @throws IOException if an error occurred while appending to the journal.
+     */
+    public synchronized void appendAddRecord(String taskData) throws IOException {
+        appendRecord(APPEND_RECORD + RECORD_SEPARATOR + taskData);
+    }
+
+    /**
+     * Appends a record of a task that has been overwritten with new task data.
+     *
+     * @param lineNumber The line number of the overwritten task.
+     * @param taskData The new task data string.
+     * @throws IOException if an error occurred while appending to the journal.
+     */
+    public synchronized void appendOverwriteRecord(int lineNumber, String taskData) throws IOException {
+        appendRecord(OVERWRITE_RECORD + RECORD_SEPARATOR + lineNumber + RECORD_SEPARATOR + taskData);
+    }
+
+    /**
+     * Appends a record of a task that has been removed.
+     *
+     * @param lineNumber The line number of the removed task.
+     * @throws IOException if an error occurred while appending to the journal.
+     */
+    public synchronized void appendRemoveRecord(int lineNumber) throws IOException {
+        appendRecord(REMOVE_RECORD + RECORD_SEPARATOR + lineNumber);
+    }
+
+    private void appendRecord(String record) throws IOException {
+        if (journalWriter == null) {
+            journalWriter = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        journalWriter.write(toChecksumString(record) + RECORD_SEPARATOR + record + "\n");
+        journalWriter.flush();
+        recordCount++;
+    }
+
+    /**
+     * Gets the number of records in the current journal that are still waiting to be compacted.
+     *
+     * @return The number of records.
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Replays all the journaled records onto the task data read from the snapshot.
+     * This method should only be called once, on startup, before any new record is appended.
+     * A compacting journal left behind by an interrupted compaction is replayed first,
+     * unless the marker shows that it has already been folded into the snapshot.
+     *
+     * @param taskDatas The task data lines read from the snapshot, which are updated in place.
+     * @param snapshotPath The path of the snapshot the task data lines were read from.
+     * @throws IOException if an error occurred while reading the journals.
+     */
+    public synchronized void replayOnto(List<String> taskDatas, Path snapshotPath) throws IOException {
+        if (Files.exists(compactingJournalPath)) {
+            if (isCompactingJournalFoldedInto(snapshotPath)) {
+                finishCompaction();
+            } else {
+                applyRecordsOnto(compactingJournalPath, taskDatas);
+            }
+        }
+
+        recordCount = applyRecordsOnto(journalPath, taskDatas);
+    }
+
+    /**
+     * Replays the compacting journal onto the given task data.
+     * Used by the compaction to fold the compacting journal into the snapshot.
+     *
+     * @param taskDatas The task data lines read from the snapshot, which are updated in place.
+     * @throws IOException if an error occurred while reading the compacting journal.
+     */
+    public void applyCompactingRecordsOnto(List<String> taskDatas) throws IOException {
+        applyRecordsOnto(compactingJournalPath, taskDatas);
+    }
+
+    private int applyRecordsOnto(Path path, List<String> taskDatas) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        byte[] journalBytes = Files.readAllBytes(path);
+        int appliedRecords = 0;
+        int recordStart = 0;
+
+        while (recordStart < journalBytes.length) {
+            int recordEnd = indexOfLineBreak(journalBytes, recordStart);
+            String record = recordEnd == -1 ? null : toVerifiedRecord(
+                    new String(journalBytes, recordStart, recordEnd - recordStart, StandardCharsets.UTF_8));
+
+            if (record == null) {
+                dropTornRecords(path, recordStart, journalBytes.length);
+                break;
+            }
+
+            if (isRecordApplied(record, taskDatas)) {
+                appliedRecords++;
+            }
+            recordStart = recordEnd + 1;
+        }
+        return appliedRecords;
+    }
+
+    private int indexOfLineBreak(byte[] journalBytes, int fromIndex) {
+        for (int i = fromIndex; i < journalBytes.length; i++) {
+            if (journalBytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the given journal line against its checksum.
+     *
+     * @param journalLine The journal line, without its line break.
+     * @return The record held by the journal line, or null if it does not match its checksum.
+     */
+    private String toVerifiedRecord(String journalLine) {
+        boolean isLegacyRecord = journalLine.length() > 1
+                && journalLine.substring(1, 2).equals(RECORD_SEPARATOR);
+        if (isLegacyRecord) {
+            return journalLine;
+        }
+
+        int checksumEnd = CHECKSUM_LENGTH + RECORD_SEPARATOR.length();
+        if (journalLine.length() < checksumEnd) {
+            return null;
+        }
+
+        String record = journalLine.substring(checksumEnd);
+        boolean isChecksumMatched = journalLine.substring(0, CHECKSUM_LENGTH).equals(toChecksumString(record));
+        return isChecksumMatched ? record : null;
+    }
+
+    private void dropTornRecords(Path path, int validLength, int journalLength) throws IOException {
+        System.out.println("Dropping " + (journalLength - validLength) + " bytes of torn journal records from "
+                + path.getFileName());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength);
+        }
+    }
+
+    private static String toChecksumString(String record) {
+        CRC32 checksum = new CRC32();
+        checksum.update(record.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", checksum.getValue());
+    }
+
+    private boolean isRecordApplied(String record, List<String> taskDatas) {
+        String[] splitRecord = record.split("\\" + RECORD_SEPARATOR, 3);
+
+        try {
+            switch (splitRecord[0]) {
+            case APPEND_RECORD:
+                taskDatas.add(record.substring(APPEND_RECORD.length() + RECORD_SEPARATOR.length()));
+                return true;
+
+            case OVERWRITE_RECORD:
+                taskDatas.set(Integer.parseInt(splitRecord[1]) - 1, splitRecord[2]);
+                return true;
+
+            case REMOVE_RECORD:
+                taskDatas.remove(Integer.parseInt(splitRecord[1]) - 1);
+                return true;
+
+            default:
+                return false;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // A malformed record, e.g. one that was only partially written before the application stopped,
+            // is skipped since it cannot be applied.
+            System.out.println("Skipping malformed journal record: " + record);
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether there is a compacting journal that still has to be folded into the snapshot.
+     *
+     * @return true or false depending on whether a compacting journal exists.
+     */
+    public boolean hasPendingCompaction() {
+        return Files.exists(compactingJournalPath);
+    }
+
+    /**
+     * Moves the current journal aside as the compacting journal so that it can be folded into the snapshot.
+     * New records are appended to a fresh journal afterwards.
+     *
+     * @return true or false depending on whether there were any records to be compacted.
+     * @throws IOException if an error occurred while moving the journal.
+     */
+    public synchronized boolean rotateForCompaction() throws IOException {
+        if (recordCount == 0 || hasPendingCompaction()) {
+            return false;
+        }
+
+        closeJournalWriter();
+        Files.move(journalPath, compactingJournalPath);
+        recordCount = 0;
+        return true;
+    }
+
+    /**
+     * Marks the compacting journal as folded into the snapshot with the given checksum.
+     * This must be called before the folded snapshot replaces the task data file.
+     *
+     * @param snapshotChecksum The CRC32 checksum of the folded snapshot.
+     * @throws IOException if an error occurred while writing the marker.
+     */
+    public void markFolded(long snapshotChecksum) throws IOException {
+        Files.writeString(foldedMarkerPath, Long.toHexString(snapshotChecksum), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes the compacting journal and its marker once the snapshot has been replaced.
+     *
+     * @throws IOException if an error occurred while removing the files.
+     */
+    public void finishCompaction() throws IOException {
+        Files.deleteIfExists(compactingJournalPath);
+        Files.deleteIfExists(foldedMarkerPath);
+    }
+
+    private boolean isCompactingJournalFoldedInto(Path snapshotPath) throws IOException {
+        if (!Files.exists(foldedMarkerPath) || !Files.exists(snapshotPath)) {
+            return false;
+        }
+
+        String foldedChecksum = Files.readString(foldedMarkerPath, StandardCharsets.UTF_8).trim();
+        CRC32 snapshotChecksum = new CRC32();
+        snapshotChecksum.update(Files.readAllBytes(snapshotPath));
+        return foldedChecksum.equals(Long.toHexString(snapshotChecksum.getValue()));
+    }
+
+    /**
+     * Closes the journal so that no more records are appended.
+     *
+     * @throws IOException if an error occurred while closing the journal.
+     */
+    public synchronized void close() throws IOException {
+        closeJournalWriter();
+    }
+
+    private void closeJournalWriter() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+            journalWriter = null;
+        }
+    }
+}
@@ -2,11 +2,19 @@ package mei.fileaccess;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 import mei.exception.DateTimeConversionException;
 import mei.exception.DatesNotInOrderException;
+import mei.exception.MeiException;
+import mei.exception.ProcessTaskCorruptedDataException;
 import mei.exception.ProcessTaskDateTimeConversionException;
 import mei.task.Deadline;
 import mei.task.Event;
@@ -21,6 +29,9 @@ import mei.task.ToDo;
  * from the FileStorage class.
  */
 public class FileRead {
+    /** The file size in bytes from which the task data file is read in parallel chunks. **/
+    private static final long PARALLEL_READ_THRESHOLD = 1 << 20;
+
     private final String fileReadPath;
 
     public FileRead(String fileReadPath) {
@@ -32,11 +43,140 @@ public class FileRead {
      * This method first checks whether the file path exists,
      * and ensures that the directory and files are created first.
      * Then, the task data are retrieved iteratively, line by line from the file, and returned as an array list.
+     * Large files are instead split into chunks that are processed in parallel.
      *
      * @return The array list that holds all the retrieved task data.
      * @throws IOException if an error occurred while reading from the task data file.
      */
     public ArrayList<Task> readFromFile() throws IOException {
+        File file = getFileAndCreateIfAbsent();
+
+        if (file.length() >= PARALLEL_READ_THRESHOLD) {
+            return new ParallelFileRead(this, file.toPath()).readFromFile();
+        }
+
+        Scanner scanner = new Scanner(file);
+
+        return scanTasksThenReturn(scanner);
+    }
+
+    /**
+     * Reads from the defined file path line by line, adding every processed task to the given list.
+     * Each task is handed over as soon as it is processed, so a list that does not keep the task objects
+     * never has all of them in memory at once.
+     *
+     * @param resultTasks The list of tasks to add the processed tasks to.
+     * @throws IOException if an error occurred while reading from the task data file.
+     */
+    public void readFromFileInto(List<Task> resultTasks) throws IOException {
+        File file = getFileAndCreateIfAbsent();
+
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNext()) {
+                processThenAddTo(scanner.nextLine(), resultTasks);
+            }
+        }
+    }
+
+    /**
+     * Reads from the defined file path as a snapshot, then replays the given journal on top of it.
+     * The journal records are applied to the raw task data lines before any of them are processed,
+     * so the returned tasks are exactly the ones that would be read if every change had been written
+     * directly to the task data file instead.
+     *
+     * @param journal The journal holding the changes made since the snapshot was written.
+     * @return The array list that holds all the retrieved task data.
+     * @throws IOException if an error occurred while reading from the task data file or the journal.
+     */
+    public ArrayList<Task> readFromFileWithJournal(FileJournal journal) throws IOException {
+        List<String> taskDatas = readTaskDataLines();
+        journal.replayOnto(taskDatas, Paths.get(fileReadPath));
+
+        ArrayList<Task> resultTasks = new ArrayList<>();
+        for (String taskData : taskDatas) {
+            processThenAddTo(taskData, resultTasks);
+        }
+
+        return resultTasks;
+    }
+
+    /**
+     * Reads the raw task data lines from the defined file path without processing them into tasks.
+     * The lines are scanned the same way as when the tasks are read, so both see the same lines.
+     *
+     * @return The list of task data lines.
+     * @throws IOException if an error occurred while reading from the task data file.
+     */
+    public List<String> readTaskDataLines() throws IOException {
+        File file = getFileAndCreateIfAbsent();
+        List<String> taskDatas = new ArrayList<>();
+
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNext()) {
+                taskDatas.add(scanner.nextLine());
+            }
+        }
+
+        return taskDatas;
+    }
+
+    /**
+     * Reads where every line of task data starts and ends within the defined file path,
+     * without decoding or processing any of them into tasks.
+     * Blank lines hold no task data, so they are skipped, and a carriage return before a line break is left out.
+     *
+     * @return The start and end position of every line, packed one after the other.
+     * @throws IOException if an error occurred while reading from the task data file.
+     */
+    public long[] readLineBounds() throws IOException {
+        File file = getFileAndCreateIfAbsent();
+        long[] lineBounds = new long[64];
+        int totalLineBounds = 0;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            long bufferPosition = 0;
+            long lineStart = 0;
+            long lineEnd = 0;
+            boolean isLineBlank = true;
+            int totalBytesRead;
+
+            while ((totalBytesRead = channel.read(buffer.clear())) != -1) {
+                for (int i = 0; i < totalBytesRead; i++) {
+                    byte currentByte = buffer.get(i);
+                    long position = bufferPosition + i;
+
+                    if (currentByte == '\n') {
+                        if (!isLineBlank) {
+                            if (totalLineBounds == lineBounds.length) {
+                                lineBounds = Arrays.copyOf(lineBounds, totalLineBounds * 2);
+                            }
+                            lineBounds[totalLineBounds++] = lineStart;
+                            lineBounds[totalLineBounds++] = lineEnd;
+                        }
+                        lineStart = position + 1;
+                        lineEnd = lineStart;
+                        isLineBlank = true;
+                    } else if (currentByte != '\r') {
+                        lineEnd = position + 1;
+                        isLineBlank = isLineBlank && Character.isWhitespace(currentByte);
+                    }
+                }
+                bufferPosition += totalBytesRead;
+            }
+
+            // The last line may not end with a line break.
+            if (!isLineBlank) {
+                lineBounds = Arrays.copyOf(lineBounds, totalLineBounds + 2);
+                lineBounds[totalLineBounds++] = lineStart;
+                lineBounds[totalLineBounds++] = lineEnd;
+            }
+        }
+
+        return Arrays.copyOf(lineBounds, totalLineBounds);
+    }
+
+    private File getFileAndCreateIfAbsent() throws IOException {
         File file = new File(fileReadPath);
 
         boolean isFilePathExist = FileStorage.isFilePathExist(file);
@@ -44,55 +184,107 @@ public class FileRead {
             FileStorage.createFilePath(file);
         }
 
-        Scanner scanner = new Scanner(file);
-
-        return scanTasksThenReturn(scanner);
+        return file;
     }
 
     private Task processFileTaskData(String fileData)
-            throws DateTimeConversionException, DatesNotInOrderException {
+            throws DateTimeConversionException, DatesNotInOrderException, ProcessTaskCorruptedDataException {
         String splitTaskFileDataRegex = "\\|";
-        String[] splitFileData = fileData.split(splitTaskFileDataRegex, 6);
+        String[] splitFileData = stripTaskId(fileData).split(splitTaskFileDataRegex, 6);
         Task newTask = null;
+        checkTotalFields(splitFileData, 3);
 
         // Extract the necessary task fields.
         String taskType = splitFileData[0];
         boolean isTaskDone = splitFileData[1].equals("[X]");
         String description = splitFileData[2];
 
+        // Task data saved before add task commands were rebuilt from the task ends with the command,
+        // which is ignored since it comes after every other field.
         switch (taskType) {
         case "ToDo":
-            String addTodoTaskCommand = splitFileData[3];
-            newTask = new ToDo(description, addTodoTaskCommand);
+            newTask = new ToDo(description);
             break;
 
         case "Deadline":
+            checkTotalFields(splitFileData, 4);
             String deadlineDateTime = splitFileData[3];
-            String addDeadlineTaskCommand = splitFileData[4];
-            newTask = new Deadline(description, deadlineDateTime, addDeadlineTaskCommand);
+            newTask = new Deadline(description, deadlineDateTime);
             break;
 
         case "Event":
+            checkTotalFields(splitFileData, 5);
             String startDateTime = splitFileData[3];
             String endDateTime = splitFileData[4];
-            String addEventTaskCommand = splitFileData[5];
-            newTask = new Event(description, startDateTime, endDateTime, addEventTaskCommand);
+            newTask = new Event(description, startDateTime, endDateTime);
             break;
 
         default:
-            // Do nothing.
-            break;
+            throw new ProcessTaskCorruptedDataException();
         }
 
-        assert newTask != null : "Shouldn't encounter an empty line when scanning for tasks.";
-
         if (isTaskDone) {
             newTask.completeTask();
         }
+        try {
+            newTask.setId(parseTaskId(fileData));
+        } catch (NumberFormatException e) {
+            throw new ProcessTaskCorruptedDataException();
+        }
 
         return newTask;
     }
 
+    private static void checkTotalFields(String[] splitFileData, int totalFields)
+            throws ProcessTaskCorruptedDataException {
+        if (splitFileData.length < totalFields) {
+            throw new ProcessTaskCorruptedDataException();
+        }
+    }
+
+    /**
+     * Reads the id of a task from the leading field of its task data.
+     * Task data saved before tasks had ids starts with the task type instead.
+     *
+     * An id too large to be read is treated as missing, so that the task is given a new id.
+     *
+     * @param taskData The task data of the task.
+     * @return The id of the task, or Task.NO_ID if the task data has no readable id.
+     */
+    static long readTaskId(String taskData) {
+        try {
+            return parseTaskId(taskData);
+        } catch (NumberFormatException e) {
+            return Task.NO_ID;
+        }
+    }
+
+    private static long parseTaskId(String taskData) {
+        int idLength = getTaskIdLength(taskData);
+        return idLength == 0 ? Task.NO_ID : Long.parseLong(taskData.substring(0, idLength));
+    }
+
+    /**
+     * Leaves out the id from the given task data, so that the task data starts with the task type.
+     *
+     * @param taskData The task data of the task.
+     * @return The task data without its id.
+     */
+    static String stripTaskId(String taskData) {
+        int idLength = getTaskIdLength(taskData);
+        return idLength == 0 ? taskData : taskData.substring(idLength + 1);
+    }
+
+    private static int getTaskIdLength(String taskData) {
+        int idLength = 0;
+        while (idLength < taskData.length() && Character.isDigit(taskData.charAt(idLength))) {
+            idLength++;
+        }
+
+        boolean isIdField = idLength > 0 && idLength < taskData.length() && taskData.charAt(idLength) == '|';
+        return isIdField ? idLength : 0;
+    }
+
     private ArrayList<Task> scanTasksThenReturn(Scanner scanner) {
         ArrayList<Task> resultTasks = new ArrayList<>();
 
@@ -104,18 +296,41 @@ public class FileRead {
         return resultTasks;
     }
 
-    private void processThenAddTo(String newLine, ArrayList<Task> resultTasks) {
+    /**
+     * Processes a single line of task data and adds the resulting task to the given list.
+     * If the task data cannot be processed, the error is prompted to the user and nothing is added.
+     *
+     * @param newLine The line of task data to process.
+     * @param resultTasks The list of tasks to add the processed task to.
+     */
+    void processThenAddTo(String newLine, List<Task> resultTasks) {
+        MeiException processError = processThenAddToOrGetError(newLine, resultTasks);
+        if (processError != null) {
+            processError.echoErrorResponse();
+        }
+    }
+
+    /**
+     * Processes a single line of task data and adds the resulting task to the given list.
+     * If the task data cannot be processed, the error is returned instead of being prompted to the user,
+     * so that the caller can decide when to prompt it.
+     *
+     * @param newLine The line of task data to process.
+     * @param resultTasks The list of tasks to add the processed task to.
+     * @return The error that stopped the task data from being processed, or null if the task was added.
+     */
+    MeiException processThenAddToOrGetError(String newLine, List<Task> resultTasks) {
         try {
             Task taskData = processFileTaskData(newLine);
             resultTasks.add(taskData);
+            return null;
 
         } catch (DateTimeConversionException e) {
             // A date/time conversion exception is thrown,
             // but we want the chatbot to prompt a process task version of the exception instead.
-            ProcessTaskDateTimeConversionException trueException = new ProcessTaskDateTimeConversionException();
-            trueException.echoErrorResponse();
-        } catch (DatesNotInOrderException e) {
-            e.echoErrorResponse();
+            return new ProcessTaskDateTimeConversionException();
+        } catch (DatesNotInOrderException | ProcessTaskCorruptedDataException e) {
+            return e;
         }
     }
 }
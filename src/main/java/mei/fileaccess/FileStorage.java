@@ -2,7 +2,13 @@ package mei.fileaccess;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.List;
 
 import mei.task.Task;
 
@@ -12,8 +18,11 @@ import mei.task.Task;
  * Methods from these utilities should be called from this class.
  */
 public class FileStorage {
-    private final FileRead fileReader;
-    private final FileWrite fileWriter;
+    /** The system property used to choose how task data is stored, e.g. -Dmei.storage=journal. **/
+    private static final String STORAGE_MODE_PROPERTY = "mei.storage";
+
+    protected final FileRead fileReader;
+    protected final FileWrite fileWriter;
 
     /**
      * Initializes the file reader and writer with the given file store path.
@@ -25,6 +34,47 @@ public class FileStorage {
         this.fileWriter = new FileWrite(fileStorePath);
     }
 
+    /**
+     * Creates the file storage for the given file store path.
+     * The storage mode is chosen through the mei.storage system property:
+     * "journal" appends every change to a journal that is compacted in the background,
+     * "mapped" keeps the tasks in a memory-mapped file of fixed-size slots,
+     * "binary" keeps the tasks in the compact binary task file format,
+     * "lazy" only reads each task from the task data file when it is first accessed,
+     * "writebehind" queues every change to be written in batches on a background thread,
+     * "columnar" keeps the tasks in memory column by column instead of as task objects,
+     * while anything else (the default) rewrites the task data file directly.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     * @return The file storage of the chosen storage mode.
+     */
+    public static FileStorage createFileStorage(String fileStorePath) {
+        String storageMode = System.getProperty(STORAGE_MODE_PROPERTY, "text");
+
+        switch (storageMode) {
+        case "journal":
+            return new JournaledFileStorage(fileStorePath);
+
+        case "mapped":
+            return new MappedFileStorage(fileStorePath);
+
+        case "binary":
+            return new BinaryFileStorage(fileStorePath);
+
+        case "lazy":
+            return new LazyFileStorage(fileStorePath);
+
+        case "writebehind":
+            return new WriteBehindFileStorage(fileStorePath);
+
+        case "columnar":
+            return new ColumnarFileStorage(fileStorePath);
+
+        default:
+            return new FileStorage(fileStorePath);
+        }
+    }
+
     /**
      * Reads from the initialized file path
      * using the file reader.
@@ -33,7 +83,7 @@ public class FileStorage {
      *
      * @return The list of tasks read from the file path.
      */
-    public ArrayList<Task> readTasks() {
+    public List<Task> readTasks() {
         try {
             return fileReader.readFromFile();
         } catch (IOException e) {
@@ -57,6 +107,21 @@ public class FileStorage {
         }
     }
 
+    /**
+     * Writes several new tasks at once.
+     * This method should be called whenever many tasks are added together, e.g. when importing tasks.
+     * By default, the task data file is opened only once for all of the tasks.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    public void writeTasks(List<Task> tasks) {
+        try {
+            fileWriter.writeTasksToFile(tasks);
+        } catch (IOException e) {
+            System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
     /**
      * Overwrites an existing task at the initialized file path
      * using the file writer.
@@ -74,6 +139,18 @@ public class FileStorage {
         }
     }
 
+    /**
+     * Updates the completion status of an existing task at the initialized file path.
+     * This method should be called whenever the user marks or unmarks a task.
+     * By default, the whole task data of the task is overwritten.
+     *
+     * @param lineNumber The task index, or the line number that the updated task is currently located at.
+     * @param task The task whose status has changed.
+     */
+    public void updateTaskStatus(int lineNumber, Task task) {
+        overwriteTask(lineNumber, task.getTaskDataString());
+    }
+
     /**
      * Removes an existing task at the initialized file path
      * using the file writer.
@@ -90,6 +167,160 @@ public class FileStorage {
         }
     }
 
+    /**
+     * Updates the completion status of several existing tasks at once.
+     * This method should be called whenever the user marks or unmarks a range of tasks.
+     * By default, the task data file is rewritten once for all of the tasks.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    public void updateTasksStatus(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasks(lineNumbers, tasks);
+    }
+
+    /**
+     * Overwrites the whole task data of several existing tasks at once.
+     * This method should be called whenever more than the status of a range of tasks has changed,
+     * e.g. when tasks saved before tasks had ids are given their ids.
+     * By default, the task data file is rewritten once for all of the tasks.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        List<String> taskDatas = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            taskDatas.add(task.getTaskDataString());
+        }
+
+        try {
+            fileWriter.overwriteTaskDatas(lineNumbers, taskDatas);
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the ids just given to tasks that were saved without an id, or with the id of another task.
+     * Lines of task data that could not be processed are left out of the list of tasks,
+     * so the task indexes may no longer line up with the lines of the task data file.
+     * By default, the whole task data file is therefore rewritten from the list of tasks.
+     *
+     * @param lineNumbers The task indexes of the tasks given ids, in ascending order.
+     * @param tasks The whole list of tasks.
+     */
+    public void saveTaskIds(int[] lineNumbers, List<Task> tasks) {
+        rewriteTasks(tasks);
+    }
+
+    /**
+     * Removes several existing tasks at once.
+     * This method should be called whenever the user deletes a range of tasks.
+     * By default, the task data file is rewritten once for all of the tasks.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    public void removeTasks(int[] lineNumbers) {
+        try {
+            fileWriter.removeTaskDatas(lineNumbers);
+        } catch (IOException e) {
+            System.out.println("Error removing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the whole task data file with the given list of tasks.
+     *
+     * @param tasks The whole list of tasks.
+     */
+    protected void rewriteTasks(List<Task> tasks) {
+        List<String> taskDatas = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            taskDatas.add(task.getTaskDataString());
+        }
+
+        try {
+            fileWriter.writeTemporaryFile(taskDatas);
+            fileWriter.replaceWithTemporaryFile();
+        } catch (IOException e) {
+            System.out.println("Error rewriting task data file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Overwrites the whole task data of the tasks at the given task indexes within the given list of tasks.
+     * Meant for file storages where every task index always lines up with the task data of its task.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The whole list of tasks.
+     */
+    protected void overwriteTasksOfIndexes(int[] lineNumbers, List<Task> tasks) {
+        List<Task> overwrittenTasks = new ArrayList<>(lineNumbers.length);
+        for (int lineNumber : lineNumbers) {
+            overwrittenTasks.add(tasks.get(lineNumber - 1));
+        }
+        overwriteTasks(lineNumbers, overwrittenTasks);
+    }
+
+    /**
+     * Writes several new tasks one task at a time.
+     * Meant for file storages where adding a single task does not reopen the whole file.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    protected void writeTasksOneByOne(List<Task> tasks) {
+        for (Task task : tasks) {
+            writeTask(task);
+        }
+    }
+
+    /**
+     * Updates the completion status of several existing tasks one task at a time.
+     * Meant for file storages where updating a single task does not rewrite the whole file.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    protected void updateTasksStatusOneByOne(int[] lineNumbers, List<Task> tasks) {
+        for (int i = 0; i < lineNumbers.length; i++) {
+            updateTaskStatus(lineNumbers[i], tasks.get(i));
+        }
+    }
+
+    /**
+     * Overwrites the whole task data of several existing tasks one task at a time.
+     * Meant for file storages where overwriting a single task does not rewrite the whole file.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    protected void overwriteTasksOneByOne(int[] lineNumbers, List<Task> tasks) {
+        for (int i = 0; i < lineNumbers.length; i++) {
+            overwriteTask(lineNumbers[i], tasks.get(i).getTaskDataString());
+        }
+    }
+
+    /**
+     * Removes several existing tasks one task at a time, starting from the last one
+     * so that the task indexes of the tasks still to be removed do not move.
+     * Meant for file storages where removing a single task does not rewrite the whole file.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    protected void removeTasksOneByOne(int[] lineNumbers) {
+        for (int i = lineNumbers.length - 1; i >= 0; i--) {
+            removeTask(lineNumbers[i]);
+        }
+    }
+
+    /**
+     * Closes the file storage when the application exits.
+     */
+    public void close() {
+        // Task data is written directly, so there is nothing to flush.
+    }
+
     /**
      * Creates the given file at the initialized file path.
      * This method first creates the file's parent directory if it doesn't exist yet,
@@ -153,4 +384,46 @@ public class FileStorage {
         }
         return file.createNewFile();
     }
+
+    /**
+     * Moves the source file over the target file, replacing it.
+     * The move is done with an atomic rename wherever the file system supports it,
+     * so the target file is never seen half-written.
+     *
+     * @param source The path of the file to move.
+     * @param target The path of the file to replace.
+     * @throws IOException if an error occurred while moving the file.
+     */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Copies the given number of bytes, starting from the given position of the source file, to the target file.
+     * A copy that makes no progress means the source file ends before the bytes to be copied,
+     * so it is reported as a truncated file instead of being tried again forever.
+     *
+     * @param source The file to copy from.
+     * @param position The position in the source file to start copying from.
+     * @param count The number of bytes to copy.
+     * @param target The file to copy to, at its current position.
+     * @throws IOException if an error occurred while copying, or the source file ends too early.
+     */
+    public static void transferFully(FileChannel source, long position, long count, FileChannel target)
+            throws IOException {
+        long totalTransferred = 0;
+        while (totalTransferred < count) {
+            long transferred = source.transferTo(position + totalTransferred, count - totalTransferred, target);
+            if (transferred == 0) {
+                // Nothing more can be read once the end of the source file is reached.
+                long totalMissing = count - totalTransferred;
+                throw new IOException("File ended " + totalMissing + " bytes early, it may be truncated.");
+            }
+            totalTransferred += transferred;
+        }
+    }
 }
@@ -1,13 +1,19 @@
 package mei.fileaccess;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
 
 import mei.task.Task;
 
@@ -20,9 +26,17 @@ import mei.task.Task;
  */
 public class FileWrite {
     private final String fileWritePath;
+    private final String temporaryFileWritePath;
 
+    /**
+     * Initializes the file writer with the given file path.
+     * A temporary file next to it is used when the whole task data file has to be replaced at once.
+     *
+     * @param fileWritePath The path string of the task data file.
+     */
     public FileWrite(String fileWritePath) {
         this.fileWritePath = fileWritePath;
+        this.temporaryFileWritePath = fileWritePath + ".tmp";
     }
 
     /**
@@ -53,6 +67,26 @@ public class FileWrite {
         }
     }
 
+    /**
+     * Writes several new tasks to the defined file path at once,
+     * opening the task data file only once for all of them.
+     *
+     * @param tasks The new tasks to write to the file path.
+     * @throws IOException if an error occurred while writing to the file path.
+     */
+    public void writeTasksToFile(List<Task> tasks) throws IOException {
+        File file = new File(fileWritePath);
+        if (!FileStorage.isFilePathExist(file)) {
+            FileStorage.createFilePath(file);
+        }
+
+        try (Writer writer = new BufferedWriter(new FileWriter(fileWritePath, StandardCharsets.UTF_8, true))) {
+            for (Task task : tasks) {
+                writer.write(task.getTaskDataString() + "\n");
+            }
+        }
+    }
+
     private void appendToFile(String textToAppend) throws IOException {
         FileWriter fw = new FileWriter(fileWritePath, true);
         fw.write(textToAppend + "\n");
@@ -65,6 +99,9 @@ public class FileWrite {
      * @@author TobyCyan-reused.
      * Reused from stackoverflow.com/questions/31375972/how-to-replace-a-specific-line-in-a-file-using-java
      * Overwrites a line of task data from the tasks.txt file at the given line number.
+     * <p>
+     * The updated task data is written to a temporary file that then replaces the task data file,
+     * so the task data file is never left truncated if the application stops halfway through.
      *
      * @param lineNumber The line number within the .txt file to be overwritten.
      * @param taskData The new task data string to replace the old data.
@@ -73,14 +110,15 @@ public class FileWrite {
         Path path = Paths.get(fileWritePath);
         List<String> taskDatas = Files.readAllLines(path, StandardCharsets.UTF_8);
         taskDatas.set(lineNumber - 1, taskData);
-        Files.write(path, taskDatas, StandardCharsets.UTF_8);
+        writeTemporaryFile(taskDatas);
+        replaceWithTemporaryFile();
     }
 
     /**
      * Removes the task data that is currently written at the given line number within the task data file.
      * This method first retrieves the current task data, stores them as a list,
      * then removes the task at the appropriate index.
-     * Finally, the final updated list gets written back.
+     * Finally, the final updated list gets written back through a temporary file that replaces the task data file.
      * <p>
      * This method always returns as a success due to a check for invalid task index before the call.
      *
@@ -91,7 +129,83 @@ public class FileWrite {
         Path path = Paths.get(fileWritePath);
         List<String> taskDatas = Files.readAllLines(path, StandardCharsets.UTF_8);
         taskDatas.remove(lineNumber - 1);
-        Files.write(path, taskDatas, StandardCharsets.UTF_8);
+        writeTemporaryFile(taskDatas);
+        replaceWithTemporaryFile();
+    }
+
+    /**
+     * Overwrites the task data at each of the given line numbers, rewriting the task data file only once.
+     *
+     * @param lineNumbers The line numbers within the task data file to be overwritten.
+     * @param taskDatas The new task data strings, in the same order as the line numbers.
+     * @throws IOException if an error occurred during the writing of the final updated task list.
+     */
+    public void overwriteTaskDatas(int[] lineNumbers, List<String> taskDatas) throws IOException {
+        Path path = Paths.get(fileWritePath);
+        List<String> currentTaskDatas = Files.readAllLines(path, StandardCharsets.UTF_8);
+        for (int i = 0; i < lineNumbers.length; i++) {
+            currentTaskDatas.set(lineNumbers[i] - 1, taskDatas.get(i));
+        }
+        writeTemporaryFile(currentTaskDatas);
+        replaceWithTemporaryFile();
+    }
+
+    /**
+     * Removes the task data at each of the given line numbers, rewriting the task data file only once.
+     * The remaining task data is moved up in a single pass instead of once per removed line.
+     *
+     * @param lineNumbers The line numbers within the task data file to remove, in ascending order.
+     * @throws IOException if an error occurred during the writing of the final updated task list.
+     */
+    public void removeTaskDatas(int[] lineNumbers) throws IOException {
+        Path path = Paths.get(fileWritePath);
+        List<String> taskDatas = Files.readAllLines(path, StandardCharsets.UTF_8);
+        List<String> remainingTaskDatas = new ArrayList<>(taskDatas.size() - lineNumbers.length);
+
+        int nextRemoved = 0;
+        for (int i = 0; i < taskDatas.size(); i++) {
+            if (nextRemoved < lineNumbers.length && lineNumbers[nextRemoved] == i + 1) {
+                nextRemoved++;
+                continue;
+            }
+            remainingTaskDatas.add(taskDatas.get(i));
+        }
+
+        writeTemporaryFile(remainingTaskDatas);
+        replaceWithTemporaryFile();
+    }
+
+    /**
+     * Writes the given task data to a temporary file next to the task data file.
+     * The task data file itself is untouched until replaceWithTemporaryFile is called,
+     * so a failure halfway through writing never leaves behind a truncated task data file.
+     *
+     * @param taskDatas The task data lines to write.
+     * @return The CRC32 checksum of the bytes written to the temporary file.
+     * @throws IOException if an error occurred while writing the temporary file.
+     */
+    public long writeTemporaryFile(List<String> taskDatas) throws IOException {
+        CRC32 checksum = new CRC32();
+        Path temporaryPath = Paths.get(temporaryFileWritePath);
+
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new CheckedOutputStream(Files.newOutputStream(temporaryPath), checksum), StandardCharsets.UTF_8))) {
+            for (String taskData : taskDatas) {
+                writer.write(taskData + "\n");
+            }
+        }
+
+        return checksum.getValue();
+    }
+
+    /**
+     * Replaces the task data file with the temporary file written by writeTemporaryFile.
+     * The replacement is done with an atomic rename wherever the file system supports it.
+     *
+     * @throws IOException if an error occurred while replacing the task data file.
+     */
+    public void replaceWithTemporaryFile() throws IOException {
+        FileStorage.moveAtomically(Paths.get(temporaryFileWritePath), Paths.get(fileWritePath));
     }
 
 }
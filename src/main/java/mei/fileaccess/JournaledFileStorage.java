@@ -0,0 +1,246 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import mei.task.Task;
+
+/**
+ * Represents the file storage that journals every change instead of rewriting the task data file.
+ * Adding, overwriting and removing a task each append a single small record to the journal,
+ * so the cost of a change no longer grows with the size of the task data file.
+ * <p>
+ * Once enough records have piled up, a background compaction folds the journal into the task data file,
+ * which then serves as the snapshot (checkpoint) that the journal is replayed on top of during startup.
+ * A compaction is also started every so often while there are any records at all,
+ * so the journal that has to be replayed after a crash never holds more than a few minutes of changes.
+ */
+public class JournaledFileStorage extends FileStorage {
+    /** The number of journal records after which a compaction is started. **/
+    private static final int COMPACTION_THRESHOLD = 1000;
+    /** The number of seconds between checks for records that have waited long enough to be compacted. **/
+    private static final long CHECKPOINT_INTERVAL_SECONDS = 60;
+
+    private final FileJournal fileJournal;
+    private final ScheduledExecutorService compactionExecutor;
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean();
+
+    /**
+     * Initializes the file reader, writer and journal with the given file store path.
+     * Also sets up the background thread that compactions are run on, and schedules the periodic checkpoints.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public JournaledFileStorage(String fileStorePath) {
+        super(fileStorePath);
+        this.fileJournal = new FileJournal(fileStorePath);
+        this.compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread compactionThread = new Thread(runnable, "mei-journal-compaction");
+            compactionThread.setDaemon(true);
+            return compactionThread;
+        });
+        compactionExecutor.scheduleWithFixedDelay(this::checkpointIfNeeded,
+                CHECKPOINT_INTERVAL_SECONDS, CHECKPOINT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reads the snapshot from the initialized file path and replays the journal on top of it.
+     * A compaction is started right away if the replayed journal is already long enough.
+     *
+     * @return The list of tasks read from the file path.
+     */
+    @Override
+    public ArrayList<Task> readTasks() {
+        try {
+            ArrayList<Task> tasks = fileReader.readFromFileWithJournal(fileJournal);
+            compactIfNeeded();
+            return tasks;
+        } catch (IOException e) {
+            System.out.println("Error reading from file in filestorage: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Journals a new task that has been added to the current list of tasks.
+     *
+     * @param task The new task to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTask(Task task) {
+        try {
+            fileJournal.appendAddRecord(task.getTaskDataString());
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Journals each of the given new tasks, one task at a time.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) {
+        writeTasksOneByOne(tasks);
+    }
+
+    /**
+     * Journals the new task data of an existing task.
+     *
+     * @param lineNumber The task index, or the line number that the overwritten task is currently located at.
+     * @param taskData The new task data to write.
+     */
+    @Override
+    public void overwriteTask(int lineNumber, String taskData) {
+        try {
+            fileJournal.appendOverwriteRecord(lineNumber, taskData);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Journals the removal of an existing task.
+     *
+     * @param lineNumber The task index, or the line number that the task to be deleted is currently located at.
+     */
+    @Override
+    public void removeTask(int lineNumber) {
+        try {
+            fileJournal.appendRemoveRecord(lineNumber);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.out.println("Error removing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Journals the new status of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    @Override
+    public void updateTasksStatus(int[] lineNumbers, List<Task> tasks) {
+        updateTasksStatusOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Journals the whole task data of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    @Override
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Journals the removal of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    @Override
+    public void removeTasks(int[] lineNumbers) {
+        removeTasksOneByOne(lineNumbers);
+    }
+
+    /**
+     * Replaces the snapshot with the given list of tasks on the background thread, and waits for it to finish.
+     * The journal is folded into the old snapshot first, so that none of its records are replayed on top of
+     * the new snapshot.
+     *
+     * @param tasks The whole list of tasks.
+     */
+    @Override
+    protected void rewriteTasks(List<Task> tasks) {
+        try {
+            compactionExecutor.submit(() -> {
+                runCompaction();
+                if (fileJournal.getRecordCount() > 0 || fileJournal.hasPendingCompaction()) {
+                    System.out.println("Error rewriting task data file in filestorage: the journal was not folded.");
+                    return;
+                }
+                super.rewriteTasks(tasks);
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("Error rewriting task data file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the journal and waits for any running compaction to finish.
+     * The journal is not compacted here since it is replayed on the next startup anyway.
+     */
+    @Override
+    public void close() {
+        compactionExecutor.shutdown();
+        try {
+            compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            fileJournal.close();
+        } catch (InterruptedException | IOException e) {
+            System.out.println("Error closing journal in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Folds the journal into the snapshot right away, regardless of how long the journal is.
+     * The compaction is run on the background thread, and this method waits for it to finish.
+     */
+    public void compact() {
+        try {
+            compactionExecutor.submit(this::runCompaction).get();
+        } catch (InterruptedException | ExecutionException e) {
+            System.out.println("Error compacting journal in filestorage: " + e.getMessage());
+        }
+    }
+
+    private void compactIfNeeded() {
+        boolean isJournalLongEnough = fileJournal.getRecordCount() >= COMPACTION_THRESHOLD;
+        boolean isCompactionNeeded = isJournalLongEnough || fileJournal.hasPendingCompaction();
+
+        // Only one compaction is queued at a time, the records appended meanwhile are left for the next one.
+        if (isCompactionNeeded && isCompactionScheduled.compareAndSet(false, true)) {
+            compactionExecutor.execute(this::runCompaction);
+        }
+    }
+
+    private void checkpointIfNeeded() {
+        // This already runs on the compaction thread, so the compaction is run right away instead of being queued.
+        if (fileJournal.getRecordCount() > 0 && isCompactionScheduled.compareAndSet(false, true)) {
+            runCompaction();
+        }
+    }
+
+    private void runCompaction() {
+        try {
+            // A compacting journal may be left behind by an earlier compaction that failed,
+            // in which case that one is folded first.
+            if (!fileJournal.hasPendingCompaction() && !fileJournal.rotateForCompaction()) {
+                return;
+            }
+
+            List<String> taskDatas = fileReader.readTaskDataLines();
+            fileJournal.applyCompactingRecordsOnto(taskDatas);
+
+            long snapshotChecksum = fileWriter.writeTemporaryFile(taskDatas);
+            fileJournal.markFolded(snapshotChecksum);
+            fileWriter.replaceWithTemporaryFile();
+            fileJournal.finishCompaction();
+        } catch (IOException e) {
+            System.out.println("Error compacting journal in filestorage: " + e.getMessage());
+        } finally {
+            isCompactionScheduled.set(false);
+        }
+    }
+}
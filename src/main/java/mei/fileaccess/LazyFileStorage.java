@@ -0,0 +1,114 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the file storage that reads tasks from the task data file only when they are first accessed.
+ * Startup only indexes where every line of task data is, and the tasks themselves are processed on demand
+ * by the lazy task list handed to the task manager.
+ * <p>
+ * Changes are written to the task data file the same way as the default file storage does.
+ * Since overwriting or removing a task rewrites the task data file, the lazy task list is told to
+ * rebuild its line index afterwards.
+ */
+public class LazyFileStorage extends FileStorage {
+    private final String fileStorePath;
+    private LazyTaskList lazyTaskList;
+
+    /**
+     * Initializes the file reader and writer with the given file store path.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public LazyFileStorage(String fileStorePath) {
+        super(fileStorePath);
+        this.fileStorePath = fileStorePath;
+    }
+
+    /**
+     * Indexes the lines of the task data file without processing any of them into tasks.
+     *
+     * @return The lazy list of tasks read from the file path.
+     */
+    @Override
+    public List<Task> readTasks() {
+        try {
+            lazyTaskList = new LazyTaskList(fileReader, Paths.get(fileStorePath));
+            return lazyTaskList;
+        } catch (IOException e) {
+            System.out.println("Error reading from file in filestorage: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Overwrites an existing task in the task data file, then marks the line index as stale.
+     *
+     * @param lineNumber The task index, or the line number that the overwritten task is currently located at.
+     * @param taskData The new task data to write.
+     */
+    @Override
+    public void overwriteTask(int lineNumber, String taskData) {
+        super.overwriteTask(lineNumber, taskData);
+        markLineIndexStale();
+    }
+
+    /**
+     * Removes an existing task from the task data file, then marks the line index as stale.
+     *
+     * @param lineNumber The task index, or the line number that the task to be deleted is currently located at.
+     */
+    @Override
+    public void removeTask(int lineNumber) {
+        super.removeTask(lineNumber);
+        markLineIndexStale();
+    }
+
+    /**
+     * Overwrites several existing tasks in the task data file, then marks the line index as stale.
+     * Updating the status of several tasks also goes through here.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    @Override
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        super.overwriteTasks(lineNumbers, tasks);
+        markLineIndexStale();
+    }
+
+    /**
+     * Overwrites only the tasks given ids.
+     * Lines that could not be processed are kept in the list as placeholder tasks,
+     * so every task index lines up with the line of its task.
+     *
+     * @param lineNumbers The task indexes of the tasks given ids, in ascending order.
+     * @param tasks The whole list of tasks.
+     */
+    @Override
+    public void saveTaskIds(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOfIndexes(lineNumbers, tasks);
+    }
+
+    /**
+     * Removes several existing tasks from the task data file, then marks the line index as stale.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    @Override
+    public void removeTasks(int[] lineNumbers) {
+        super.removeTasks(lineNumbers);
+        markLineIndexStale();
+    }
+
+    private void markLineIndexStale() {
+        if (lazyTaskList != null) {
+            lazyTaskList.markLineIndexStale();
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import mei.exception.MeiException;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents a list of tasks that are only read from the task data file when they are first accessed.
+ * During startup, only the position of every line of task data is indexed, so neither the time taken to start up
+ * nor the memory held grows with the number of tasks by more than a few bytes per task.
+ * A task is processed from its line the first time it is retrieved, and is kept from then on.
+ * <p>
+ * The task data file is rewritten whenever a task is overwritten or removed, which moves the lines around,
+ * so the file storage marks the line index as stale after every rewrite and the index is rebuilt on the next read.
+ * This relies on the lines of the task data file staying in step with this list, which holds as long as
+ * the task data file is only written to by Mei.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    private final FileRead fileReader;
+    private final Path filePath;
+    private long[] lineBounds;
+    private Task[] tasks;
+    private int totalTasks;
+    private boolean isLineIndexStale = false;
+
+    /**
+     * Initializes the list with the line index read from the task data file.
+     * No task is processed at this point.
+     *
+     * @param fileReader The file reader used to index and process the lines of task data.
+     * @param filePath The path of the task data file.
+     * @throws IOException if an error occurred while indexing the task data file.
+     */
+    public LazyTaskList(FileRead fileReader, Path filePath) throws IOException {
+        this.fileReader = fileReader;
+        this.filePath = filePath;
+        this.lineBounds = fileReader.readLineBounds();
+        this.totalTasks = lineBounds.length / 2;
+        this.tasks = new Task[Math.max(totalTasks, 16)];
+    }
+
+    /**
+     * Gets the task at the given index, processing it from its line of task data if it has not been yet.
+     *
+     * @param index The index of the task.
+     * @return The task at the given index.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        if (tasks[index] != null) {
+            return tasks[index];
+        }
+
+        try (FileChannel channel = openTaskDataFile()) {
+            return materialize(index, readTaskData(channel, index));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Streams every task whose description may contain the given keyword.
+     * Tasks that have not been processed yet are first checked against their raw line of task data,
+     * so only the lines that contain the keyword somewhere are processed.
+     * The description of each task still has to be checked for the keyword by the caller.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @return The stream of tasks that may contain the keyword, in the order of the list.
+     */
+    public Stream<Task> streamTasksPossiblyContaining(String keyword) {
+        return Arrays.stream(findIndexesPossiblyContaining(keyword)).mapToObj(i -> tasks[i]);
+    }
+
+    /**
+     * Finds the index of every task whose description may contain the given keyword.
+     * Tasks that have not been processed yet are first checked against their raw line of task data,
+     * so only the lines that contain the keyword somewhere are processed.
+     * The description of each task still has to be checked for the keyword by the caller.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @return The indexes of the tasks that may contain the keyword, in ascending order.
+     */
+    public int[] findIndexesPossiblyContaining(String keyword) {
+        int[] possibleIndexes = new int[totalTasks];
+        int totalPossibleIndexes = 0;
+
+        try (FileChannel channel = openTaskDataFile()) {
+            for (int i = 0; i < totalTasks; i++) {
+                if (tasks[i] == null) {
+                    String taskData = readTaskData(channel, i);
+                    if (!taskData.contains(keyword)) {
+                        continue;
+                    }
+                    materialize(i, taskData);
+                }
+                possibleIndexes[totalPossibleIndexes++] = i;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Arrays.copyOf(possibleIndexes, totalPossibleIndexes);
+    }
+
+    /**
+     * Performs the given action on every task, in the order of the list.
+     * Tasks that have not been processed yet are processed from their lines of task data only for the action
+     * and are not kept afterwards, so walking through the whole list does not hold every task in memory.
+     *
+     * @param action The action to perform on each task.
+     */
+    public void forEachWithoutKeeping(Consumer<? super Task> action) {
+        try (FileChannel channel = openTaskDataFile()) {
+            for (int i = 0; i < totalTasks; i++) {
+                action.accept(tasks[i] != null ? tasks[i] : processTaskData(readTaskData(channel, i)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the id of every task, in the order of the list.
+     * Tasks that have not been processed yet have their ids read from the start of their lines of task data,
+     * so no task is processed to get its id.
+     *
+     * @return The ids of the tasks, with Task.NO_ID for tasks saved before tasks had ids.
+     */
+    public long[] getTaskIds() {
+        long[] taskIds = new long[totalTasks];
+
+        try (FileChannel channel = openTaskDataFile()) {
+            for (int i = 0; i < totalTasks; i++) {
+                taskIds[i] = tasks[i] != null ? tasks[i].getId() : FileRead.readTaskId(readTaskData(channel, i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return taskIds;
+    }
+
+    /**
+     * Counts how many tasks have been processed from their lines of task data so far.
+     *
+     * @return The number of processed tasks.
+     */
+    public int getTotalMaterializedTasks() {
+        return (int) IntStream.range(0, totalTasks).filter(i -> tasks[i] != null).count();
+    }
+
+    @Override
+    public int size() {
+        return totalTasks;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        tasks[index] = task;
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > totalTasks) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalTasks);
+        }
+
+        if (totalTasks == tasks.length) {
+            tasks = Arrays.copyOf(tasks, totalTasks * 2);
+        }
+        if (totalTasks * 2 == lineBounds.length) {
+            lineBounds = Arrays.copyOf(lineBounds, Math.max(totalTasks * 4, 32));
+        }
+
+        System.arraycopy(tasks, index, tasks, index + 1, totalTasks - index);
+        System.arraycopy(lineBounds, index * 2, lineBounds, index * 2 + 2, (totalTasks - index) * 2);
+        tasks[index] = task;
+        totalTasks++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removedTask = get(index);
+
+        System.arraycopy(tasks, index + 1, tasks, index, totalTasks - index - 1);
+        System.arraycopy(lineBounds, index * 2 + 2, lineBounds, index * 2, (totalTasks - index - 1) * 2);
+        totalTasks--;
+        tasks[totalTasks] = null;
+        modCount++;
+
+        return removedTask;
+    }
+
+    /**
+     * Removes every task that matches the given filter in a single pass,
+     * moving the remaining tasks and their line positions up only once.
+     *
+     * @param filter The filter that returns true for the tasks to be removed.
+     * @return true or false depending on whether any task was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int totalRemainingTasks = 0;
+
+        for (int i = 0; i < totalTasks; i++) {
+            if (filter.test(get(i))) {
+                continue;
+            }
+            tasks[totalRemainingTasks] = tasks[i];
+            lineBounds[totalRemainingTasks * 2] = lineBounds[i * 2];
+            lineBounds[totalRemainingTasks * 2 + 1] = lineBounds[i * 2 + 1];
+            totalRemainingTasks++;
+        }
+
+        boolean isAnyTaskRemoved = totalRemainingTasks < totalTasks;
+        Arrays.fill(tasks, totalRemainingTasks, totalTasks, null);
+        totalTasks = totalRemainingTasks;
+        if (isAnyTaskRemoved) {
+            modCount++;
+        }
+        return isAnyTaskRemoved;
+    }
+
+    /**
+     * Removes the tasks at every given index in a single pass,
+     * moving the remaining tasks and their line positions up only once.
+     * Unlike removeIf, no task that has not been processed yet is processed to decide whether to remove it.
+     *
+     * @param removedIndexes The indexes of the tasks to be removed.
+     */
+    public void removeIndexes(BitSet removedIndexes) {
+        int firstRemovedIndex = removedIndexes.nextSetBit(0);
+        if (firstRemovedIndex == -1 || firstRemovedIndex >= totalTasks) {
+            return;
+        }
+
+        // The tasks before the first removed one stay where they are.
+        int totalRemainingTasks = firstRemovedIndex;
+        for (int i = firstRemovedIndex; i < totalTasks; i++) {
+            if (removedIndexes.get(i)) {
+                continue;
+            }
+            tasks[totalRemainingTasks] = tasks[i];
+            lineBounds[totalRemainingTasks * 2] = lineBounds[i * 2];
+            lineBounds[totalRemainingTasks * 2 + 1] = lineBounds[i * 2 + 1];
+            totalRemainingTasks++;
+        }
+
+        Arrays.fill(tasks, totalRemainingTasks, totalTasks, null);
+        totalTasks = totalRemainingTasks;
+        modCount++;
+    }
+
+    /**
+     * Marks the line index as no longer matching the task data file.
+     * This should be called whenever the task data file has been rewritten.
+     */
+    public void markLineIndexStale() {
+        isLineIndexStale = true;
+    }
+
+    private FileChannel openTaskDataFile() throws IOException {
+        if (isLineIndexStale) {
+            rebuildLineIndex();
+        }
+        return FileChannel.open(filePath, StandardOpenOption.READ);
+    }
+
+    private void rebuildLineIndex() throws IOException {
+        long[] newLineBounds = fileReader.readLineBounds();
+        if (newLineBounds.length != totalTasks * 2) {
+            throw new IOException("Task data file " + filePath + " no longer matches the list of tasks.");
+        }
+
+        lineBounds = newLineBounds;
+        isLineIndexStale = false;
+    }
+
+    private String readTaskData(FileChannel channel, int index) throws IOException {
+        long lineStart = lineBounds[index * 2];
+        ByteBuffer taskDataBytes = ByteBuffer.allocate((int) (lineBounds[index * 2 + 1] - lineStart));
+
+        while (taskDataBytes.hasRemaining()) {
+            if (channel.read(taskDataBytes, lineStart + taskDataBytes.position()) == -1) {
+                throw new IOException("Task data file " + filePath + " ended before the line being read.");
+            }
+        }
+
+        return new String(taskDataBytes.array(), StandardCharsets.UTF_8);
+    }
+
+    private Task materialize(int index, String taskData) {
+        tasks[index] = processTaskData(taskData);
+        return tasks[index];
+    }
+
+    /**
+     * Processes a task from its line of task data.
+     * A line that can no longer be processed becomes a to-do of the same description after prompting the error,
+     * instead of being dropped, so that the task indexes shown stay in step with the lines of the task data file.
+     *
+     * @param taskData The line of task data of the task.
+     * @return The processed task.
+     */
+    private Task processTaskData(String taskData) {
+        List<Task> processedTasks = new ArrayList<>(1);
+        MeiException processError = fileReader.processThenAddToOrGetError(taskData, processedTasks);
+
+        if (processError != null) {
+            processError.echoErrorResponse();
+            String strippedTaskData = FileRead.stripTaskId(taskData);
+            String[] splitTaskData = strippedTaskData.split("\\|");
+            // A line too short to have a description keeps the whole line as the description instead.
+            Task placeholderTask = new ToDo(splitTaskData.length > 2 ? splitTaskData[2] : strippedTaskData);
+            if (splitTaskData.length > 1 && splitTaskData[1].equals("[X]")) {
+                placeholderTask.completeTask();
+            }
+            placeholderTask.setId(FileRead.readTaskId(taskData));
+            processedTasks.add(placeholderTask);
+        }
+
+        return processedTasks.get(0);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= totalTasks) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalTasks);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the file storage that keeps task data in a memory-mapped file of fixed-size slots.
+ * Marking and unmarking a task flips a single status byte within its slot,
+ * so both take the same time no matter how many tasks there are.
+ * <p>
+ * The slot of every task is tracked by the task index, which is kept in step with the list of tasks
+ * held by the task manager.
+ * On the first startup, the tasks in the task data file are copied over to the slot file,
+ * after which the task data file is no longer written to.
+ */
+public class MappedFileStorage extends FileStorage {
+    private final MappedTaskFile mappedTaskFile;
+    private int[] slotsByTaskIndex = new int[16];
+    private int totalSlotsByTaskIndex = 0;
+
+    /**
+     * Initializes the file reader, writer and the mapped task file with the given file store path.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public MappedFileStorage(String fileStorePath) {
+        super(fileStorePath);
+        this.mappedTaskFile = new MappedTaskFile(fileStorePath);
+    }
+
+    /**
+     * Reads every live slot from the mapped task file, in the order the tasks were added.
+     * Slots holding task data that can no longer be processed are freed, just like the tasks that
+     * cannot be processed are dropped from the list of tasks.
+     *
+     * @return The list of tasks read from the file path.
+     */
+    @Override
+    public ArrayList<Task> readTasks() {
+        try {
+            if (!mappedTaskFile.isExist()) {
+                return copyTasksFromTaskDataFile();
+            }
+
+            mappedTaskFile.open();
+            return readTasksFromSlots();
+        } catch (IOException e) {
+            System.out.println("Error reading from file in filestorage: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    private ArrayList<Task> copyTasksFromTaskDataFile() throws IOException {
+        ArrayList<Task> tasks = fileReader.readFromFile();
+        mappedTaskFile.open();
+
+        for (Task task : tasks) {
+            addSlot(mappedTaskFile.writeSlot(task.getTaskDataString(), task.isDone()));
+        }
+
+        return tasks;
+    }
+
+    private ArrayList<Task> readTasksFromSlots() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        ByteBuffer heap = mappedTaskFile.mapHeap();
+
+        for (int slot : mappedTaskFile.readLiveSlotsInOrder()) {
+            int totalTasks = tasks.size();
+            fileReader.processThenAddTo(mappedTaskFile.readTaskData(heap, slot), tasks);
+
+            if (tasks.size() == totalTasks) {
+                mappedTaskFile.freeSlot(slot);
+                continue;
+            }
+
+            Task task = tasks.get(totalTasks);
+            if (mappedTaskFile.isDone(slot)) {
+                task.completeTask();
+            } else {
+                task.uncheckTask();
+            }
+            addSlot(slot);
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Writes a new task into a free slot.
+     *
+     * @param task The new task to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTask(Task task) {
+        try {
+            addSlot(mappedTaskFile.writeSlot(task.getTaskDataString(), task.isDone()));
+        } catch (IOException e) {
+            System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes each of the given new tasks into a free slot, one task at a time.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) {
+        writeTasksOneByOne(tasks);
+    }
+
+    /**
+     * Overwrites the task data held by the slot of an existing task.
+     *
+     * @param lineNumber The task index of the overwritten task.
+     * @param taskData The new task data to write.
+     */
+    @Override
+    public void overwriteTask(int lineNumber, String taskData) {
+        try {
+            boolean isDone = FileRead.stripTaskId(taskData).split("\\|", 3)[1].equals("[X]");
+            mappedTaskFile.overwriteSlot(slotsByTaskIndex[lineNumber - 1], taskData, isDone);
+        } catch (IOException e) {
+            System.out.println("Error overwriting task to file in filestorage: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Flips the status byte within the slot of the given task, leaving the rest of its task data untouched.
+     *
+     * @param lineNumber The task index of the task.
+     * @param task The task whose status has changed.
+     */
+    @Override
+    public void updateTaskStatus(int lineNumber, Task task) {
+        mappedTaskFile.setStatus(slotsByTaskIndex[lineNumber - 1], task.isDone());
+    }
+
+    /**
+     * Tombstones the slot of an existing task so that it can be reused by a new task.
+     *
+     * @param lineNumber The task index of the task to be deleted.
+     */
+    @Override
+    public void removeTask(int lineNumber) {
+        int taskIndex = lineNumber - 1;
+        mappedTaskFile.freeSlot(slotsByTaskIndex[taskIndex]);
+
+        System.arraycopy(slotsByTaskIndex, taskIndex + 1, slotsByTaskIndex, taskIndex,
+                totalSlotsByTaskIndex - taskIndex - 1);
+        totalSlotsByTaskIndex--;
+    }
+
+    /**
+     * Flips the status byte within the slot of each of the given tasks.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    @Override
+    public void updateTasksStatus(int[] lineNumbers, List<Task> tasks) {
+        updateTasksStatusOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Overwrites the task data held by the slot of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    @Override
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Overwrites only the slots of the tasks given ids.
+     * The slots of task data that could not be processed are freed on startup,
+     * so the slot of every task is always known.
+     *
+     * @param lineNumbers The task indexes of the tasks given ids, in ascending order.
+     * @param tasks The whole list of tasks.
+     */
+    @Override
+    public void saveTaskIds(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOfIndexes(lineNumbers, tasks);
+    }
+
+    /**
+     * Tombstones the slots of several existing tasks,
+     * then moves the slots of the remaining tasks up in a single pass.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    @Override
+    public void removeTasks(int[] lineNumbers) {
+        int nextRemoved = 0;
+        int totalRemainingSlots = 0;
+
+        for (int i = 0; i < totalSlotsByTaskIndex; i++) {
+            if (nextRemoved < lineNumbers.length && lineNumbers[nextRemoved] == i + 1) {
+                mappedTaskFile.freeSlot(slotsByTaskIndex[i]);
+                nextRemoved++;
+                continue;
+            }
+            slotsByTaskIndex[totalRemainingSlots++] = slotsByTaskIndex[i];
+        }
+
+        totalSlotsByTaskIndex = totalRemainingSlots;
+    }
+
+    /**
+     * Writes the mapped slots and the heap file to the storage device before closing them.
+     */
+    @Override
+    public void close() {
+        try {
+            mappedTaskFile.close();
+        } catch (IOException e) {
+            System.out.println("Error closing mapped file in filestorage: " + e.getMessage());
+        }
+    }
+
+    private void addSlot(int slot) {
+        if (totalSlotsByTaskIndex == slotsByTaskIndex.length) {
+            slotsByTaskIndex = Arrays.copyOf(slotsByTaskIndex, totalSlotsByTaskIndex * 2);
+        }
+        slotsByTaskIndex[totalSlotsByTaskIndex++] = slot;
+    }
+}
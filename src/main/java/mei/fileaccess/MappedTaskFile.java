@@ -0,0 +1,364 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a class that acts as a utility to keep task data in a memory-mapped file of fixed-size slots.
+ * Each slot holds the status of a task together with a reference to its task data string,
+ * which is kept in a separate append-only heap file.
+ * Since the status lives at a fixed position within its slot, it can be flipped in place
+ * without touching any other task.
+ * <p>
+ * Deleted slots are tombstoned and chained into a free list so that they can be reused by new tasks.
+ * Every slot also records the sequence in which its task was added, which keeps the order of the tasks intact
+ * even when a new task reuses a slot in the middle of the file.
+ * <p>
+ * Since overwritten task data is left behind in the heap file, the heap file is compacted on reopen
+ * once most of it is no longer referred to by any live slot.
+ * <p>
+ * This class should not be interacted with directly but rather all methods here can be called
+ * from the MappedFileStorage class.
+ */
+public class MappedTaskFile {
+    private static final int MAGIC_NUMBER = 0x4D454953;
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_FREE_SLOT = -1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_MAGIC_NUMBER = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_SLOT_COUNT = 8;
+    private static final int HEADER_FREE_LIST_HEAD = 12;
+    private static final int HEADER_NEXT_SEQUENCE = 16;
+
+    private static final int SLOT_SIZE = 32;
+    private static final int SLOT_STATE = 0;
+    private static final int SLOT_STATUS = 1;
+    private static final int SLOT_NEXT_FREE = 4;
+    private static final int SLOT_SEQUENCE = 8;
+    private static final int SLOT_HEAP_OFFSET = 16;
+    private static final int SLOT_HEAP_LENGTH = 24;
+
+    private static final byte STATE_FREE = 0;
+    private static final byte STATE_LIVE = 1;
+    private static final byte STATUS_NOT_DONE = 0;
+    private static final byte STATUS_DONE = 1;
+
+    private final Path slotFilePath;
+    private final Path heapFilePath;
+    private final Path compactedSlotFilePath;
+    private final Path compactedHeapFilePath;
+    private FileChannel slotChannel;
+    private FileChannel heapChannel;
+    private MappedByteBuffer slots;
+    private int capacity;
+
+    /**
+     * Initializes the slot and heap file paths next to the given task data file path.
+     *
+     * @param fileStorePath The path string of the task data file.
+     */
+    public MappedTaskFile(String fileStorePath) {
+        this.slotFilePath = Paths.get(fileStorePath + ".slots");
+        this.heapFilePath = Paths.get(fileStorePath + ".heap");
+        this.compactedSlotFilePath = Paths.get(fileStorePath + ".slots.compacting");
+        this.compactedHeapFilePath = Paths.get(fileStorePath + ".heap.compacting");
+    }
+
+    /**
+     * Checks whether the slot file has been created before.
+     *
+     * @return true or false depending on whether the slot file exists.
+     */
+    public boolean isExist() {
+        return Files.exists(slotFilePath);
+    }
+
+    /**
+     * Opens the slot and heap files, creating them if they do not exist yet,
+     * and maps the slot file into memory.
+     * The heap file of an existing slot file is compacted first if most of it is no longer in use.
+     *
+     * @throws IOException if an error occurred while compacting, opening or mapping the files.
+     */
+    public void open() throws IOException {
+        finishInterruptedCompaction();
+        boolean isNewFile = !isExist();
+        if (!isNewFile) {
+            compactHeapIfMostlyUnused();
+        }
+
+        slotChannel = FileChannel.open(slotFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        heapChannel = FileChannel.open(heapFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (isNewFile) {
+            mapSlots(INITIAL_CAPACITY);
+            slots.putInt(HEADER_MAGIC_NUMBER, MAGIC_NUMBER);
+            slots.putInt(HEADER_VERSION, VERSION);
+            slots.putInt(HEADER_SLOT_COUNT, 0);
+            slots.putInt(HEADER_FREE_LIST_HEAD, NO_FREE_SLOT);
+            slots.putLong(HEADER_NEXT_SEQUENCE, 0);
+            return;
+        }
+
+        mapSlots((int) ((slotChannel.size() - HEADER_SIZE) / SLOT_SIZE));
+        if (slots.getInt(HEADER_MAGIC_NUMBER) != MAGIC_NUMBER || slots.getInt(HEADER_VERSION) != VERSION) {
+            throw new IOException("Unrecognised slot file " + slotFilePath);
+        }
+    }
+
+    /**
+     * Reads every live slot, in the order their tasks were added.
+     * Tombstoned slots are skipped.
+     *
+     * @return The live slot numbers, ordered by the sequence they were added in.
+     */
+    public List<Integer> readLiveSlotsInOrder() {
+        int slotCount = slots.getInt(HEADER_SLOT_COUNT);
+        List<Integer> liveSlots = new ArrayList<>();
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (slots.get(getSlotPosition(slot) + SLOT_STATE) == STATE_LIVE) {
+                liveSlots.add(slot);
+            }
+        }
+
+        liveSlots.sort(Comparator.comparingLong(slot -> slots.getLong(getSlotPosition(slot) + SLOT_SEQUENCE)));
+        return liveSlots;
+    }
+
+    /**
+     * Maps the heap file into memory so that the task data of many slots can be read in one go.
+     * Used when loading every task during startup.
+     * A single mapping cannot go past 2 GiB, so only the start of a larger heap file is mapped.
+     *
+     * @return The read-only mapping of the start of the heap file.
+     * @throws IOException if an error occurred while mapping the heap file.
+     */
+    public ByteBuffer mapHeap() throws IOException {
+        return heapChannel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(heapChannel.size(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Reads the task data string that the given slot refers to from the mapped heap file.
+     * Task data lying past the end of the mapping is read from the heap file instead.
+     *
+     * @param heap The mapping of the heap file returned by mapHeap.
+     * @param slot The slot number.
+     * @return The task data string of the slot.
+     * @throws IOException if an error occurred while reading from the heap file.
+     */
+    public String readTaskData(ByteBuffer heap, int slot) throws IOException {
+        int slotPosition = getSlotPosition(slot);
+        long heapOffset = slots.getLong(slotPosition + SLOT_HEAP_OFFSET);
+        byte[] taskDataBytes = new byte[slots.getInt(slotPosition + SLOT_HEAP_LENGTH)];
+
+        if (heapOffset + taskDataBytes.length <= heap.limit()) {
+            heap.get((int) heapOffset, taskDataBytes);
+        } else {
+            readFully(heapChannel, heapOffset, ByteBuffer.wrap(taskDataBytes));
+        }
+        return new String(taskDataBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the task in the given slot has been completed.
+     *
+     * @param slot The slot number.
+     * @return true or false depending on whether the task is done.
+     */
+    public boolean isDone(int slot) {
+        return slots.get(getSlotPosition(slot) + SLOT_STATUS) == STATUS_DONE;
+    }
+
+    /**
+     * Writes a new task into a free slot, reusing a tombstoned one whenever possible.
+     *
+     * @param taskData The task data string of the new task.
+     * @param isDone Whether the new task has been completed.
+     * @return The slot number that the task is written to.
+     * @throws IOException if an error occurred while writing to the heap file or growing the slot file.
+     */
+    public int writeSlot(String taskData, boolean isDone) throws IOException {
+        int slot = slots.getInt(HEADER_FREE_LIST_HEAD);
+
+        if (slot == NO_FREE_SLOT) {
+            slot = slots.getInt(HEADER_SLOT_COUNT);
+            if (slot == capacity) {
+                mapSlots(capacity * 2);
+            }
+            slots.putInt(HEADER_SLOT_COUNT, slot + 1);
+        } else {
+            slots.putInt(HEADER_FREE_LIST_HEAD, slots.getInt(getSlotPosition(slot) + SLOT_NEXT_FREE));
+        }
+
+        long sequence = slots.getLong(HEADER_NEXT_SEQUENCE);
+        slots.putLong(HEADER_NEXT_SEQUENCE, sequence + 1);
+
+        int slotPosition = getSlotPosition(slot);
+        slots.putLong(slotPosition + SLOT_SEQUENCE, sequence);
+        slots.putInt(slotPosition + SLOT_NEXT_FREE, NO_FREE_SLOT);
+        overwriteSlot(slot, taskData, isDone);
+        slots.put(slotPosition + SLOT_STATE, STATE_LIVE);
+
+        return slot;
+    }
+
+    /**
+     * Overwrites the task data of the given slot.
+     * The new task data string is appended to the heap file and the slot is pointed at it.
+     *
+     * @param slot The slot number.
+     * @param taskData The new task data string.
+     * @param isDone Whether the task has been completed.
+     * @throws IOException if an error occurred while writing to the heap file.
+     */
+    public void overwriteSlot(int slot, String taskData, boolean isDone) throws IOException {
+        byte[] taskDataBytes = taskData.getBytes(StandardCharsets.UTF_8);
+        long heapOffset = heapChannel.size();
+        heapChannel.write(ByteBuffer.wrap(taskDataBytes), heapOffset);
+
+        int slotPosition = getSlotPosition(slot);
+        slots.putLong(slotPosition + SLOT_HEAP_OFFSET, heapOffset);
+        slots.putInt(slotPosition + SLOT_HEAP_LENGTH, taskDataBytes.length);
+        setStatus(slot, isDone);
+    }
+
+    /**
+     * Flips the status byte of the given slot in place.
+     *
+     * @param slot The slot number.
+     * @param isDone Whether the task has been completed.
+     */
+    public void setStatus(int slot, boolean isDone) {
+        slots.put(getSlotPosition(slot) + SLOT_STATUS, isDone ? STATUS_DONE : STATUS_NOT_DONE);
+    }
+
+    /**
+     * Tombstones the given slot and pushes it onto the free list.
+     *
+     * @param slot The slot number.
+     */
+    public void freeSlot(int slot) {
+        int slotPosition = getSlotPosition(slot);
+        slots.put(slotPosition + SLOT_STATE, STATE_FREE);
+        slots.putInt(slotPosition + SLOT_NEXT_FREE, slots.getInt(HEADER_FREE_LIST_HEAD));
+        slots.putInt(HEADER_FREE_LIST_HEAD, slot);
+    }
+
+    /**
+     * Forces the mapped slots and the heap file to be written to the storage device, then closes both files.
+     *
+     * @throws IOException if an error occurred while closing the files.
+     */
+    public void close() throws IOException {
+        if (slots != null) {
+            slots.force();
+        }
+        if (heapChannel != null) {
+            heapChannel.force(true);
+            heapChannel.close();
+        }
+        if (slotChannel != null) {
+            slotChannel.close();
+        }
+    }
+
+    private void compactHeapIfMostlyUnused() throws IOException {
+        ByteBuffer slotFile = ByteBuffer.wrap(Files.readAllBytes(slotFilePath));
+        if (slotFile.limit() < HEADER_SIZE || slotFile.getInt(HEADER_MAGIC_NUMBER) != MAGIC_NUMBER
+                || slotFile.getInt(HEADER_VERSION) != VERSION || !Files.exists(heapFilePath)) {
+            // Left for open to report.
+            return;
+        }
+
+        int slotCount = slotFile.getInt(HEADER_SLOT_COUNT);
+        List<Integer> liveSlots = new ArrayList<>();
+        long liveHeapSize = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int slotPosition = getSlotPosition(slot);
+            if (slotFile.get(slotPosition + SLOT_STATE) == STATE_LIVE) {
+                liveSlots.add(slot);
+                liveHeapSize += slotFile.getInt(slotPosition + SLOT_HEAP_LENGTH);
+            }
+        }
+        if (Files.size(heapFilePath) <= liveHeapSize * 2) {
+            return;
+        }
+
+        // The compacted slot file is written in full before the compacted heap file is started,
+        // so that a compacted heap file without a compacted slot file next to it is always complete.
+        long[] heapOffsets = new long[liveSlots.size()];
+        long compactedHeapOffset = 0;
+        for (int i = 0; i < liveSlots.size(); i++) {
+            int slotPosition = getSlotPosition(liveSlots.get(i));
+            heapOffsets[i] = slotFile.getLong(slotPosition + SLOT_HEAP_OFFSET);
+            slotFile.putLong(slotPosition + SLOT_HEAP_OFFSET, compactedHeapOffset);
+            compactedHeapOffset += slotFile.getInt(slotPosition + SLOT_HEAP_LENGTH);
+        }
+        try (FileChannel compactedSlots = FileChannel.open(compactedSlotFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (slotFile.hasRemaining()) {
+                compactedSlots.write(slotFile);
+            }
+            compactedSlots.force(true);
+        }
+
+        try (FileChannel heap = FileChannel.open(heapFilePath, StandardOpenOption.READ);
+                FileChannel compactedHeap = FileChannel.open(compactedHeapFilePath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < liveSlots.size(); i++) {
+                int heapLength = slotFile.getInt(getSlotPosition(liveSlots.get(i)) + SLOT_HEAP_LENGTH);
+                FileStorage.transferFully(heap, heapOffsets[i], heapLength, compactedHeap);
+            }
+            compactedHeap.force(true);
+        }
+
+        // Moving the compacted slot file over is the point at which the compaction takes effect.
+        FileStorage.moveAtomically(compactedSlotFilePath, slotFilePath);
+        FileStorage.moveAtomically(compactedHeapFilePath, heapFilePath);
+    }
+
+    private void finishInterruptedCompaction() throws IOException {
+        if (Files.exists(compactedSlotFilePath)) {
+            // The compaction never took effect, so the slot and heap files in use are left as they are.
+            Files.delete(compactedSlotFilePath);
+            Files.deleteIfExists(compactedHeapFilePath);
+        } else if (Files.exists(compactedHeapFilePath)) {
+            FileStorage.moveAtomically(compactedHeapFilePath, heapFilePath);
+        }
+    }
+
+    private void readFully(FileChannel source, long position, ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            int totalRead = source.read(target, position + target.position());
+            if (totalRead < 0) {
+                throw new IOException("Unexpected end of heap file " + heapFilePath);
+            }
+        }
+    }
+
+    private void mapSlots(int newCapacity) throws IOException {
+        // Mapping beyond the end of the file grows the file to the mapped size.
+        capacity = newCapacity;
+        slots = slotChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+    }
+
+    private int getSlotPosition(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
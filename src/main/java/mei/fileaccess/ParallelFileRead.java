@@ -0,0 +1,168 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import mei.exception.MeiException;
+import mei.task.Task;
+
+/**
+ * Represents a class that acts as a utility to read a large task data file in parallel.
+ * The file is split into chunks that always end on a line break,
+ * each chunk is processed into tasks on the common ForkJoin pool,
+ * and the chunks are then stitched back together in their original order.
+ * <p>
+ * Errors from lines that cannot be processed are collected per chunk and prompted to the user only
+ * after all chunks are done, in the order of their lines, just like when the file is read line by line.
+ * <p>
+ * This class should not be interacted with directly but rather is used by the FileRead class
+ * for task data files that are large enough.
+ */
+public class ParallelFileRead {
+    /** The smallest chunk worth handing to another thread. **/
+    private static final int MIN_CHUNK_SIZE = 1 << 18;
+    /** The number of chunks per thread, so that threads that finish early can pick up more work. **/
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final FileRead fileReader;
+    private final Path filePath;
+
+    /**
+     * Initializes the parallel reader of the given file.
+     *
+     * @param fileReader The file reader used to process each line of task data.
+     * @param filePath The path of the task data file.
+     */
+    public ParallelFileRead(FileRead fileReader, Path filePath) {
+        this.fileReader = fileReader;
+        this.filePath = filePath;
+    }
+
+    /**
+     * Reads every task from the file, processing its chunks in parallel.
+     *
+     * @return The array list that holds all the retrieved task data, in the order of the file.
+     * @throws IOException if an error occurred while reading from the task data file.
+     */
+    public ArrayList<Task> readFromFile() throws IOException {
+        List<ChunkReadAction> chunkReadActions = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            int parallelism = ForkJoinPool.commonPool().getParallelism();
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, fileSize / ((long) parallelism * CHUNKS_PER_THREAD));
+
+            long chunkStart = 0;
+            while (chunkStart < fileSize) {
+                long chunkEnd = findLineAlignedChunkEnd(channel, chunkStart + chunkSize, fileSize);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+                chunkReadActions.add(new ChunkReadAction(chunk));
+                chunkStart = chunkEnd;
+            }
+        }
+
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(chunkReadActions);
+            }
+        });
+
+        return stitchChunksInOrder(chunkReadActions);
+    }
+
+    private ArrayList<Task> stitchChunksInOrder(List<ChunkReadAction> chunkReadActions) {
+        int totalTasks = chunkReadActions.stream().mapToInt(chunk -> chunk.tasks.size()).sum();
+        ArrayList<Task> resultTasks = new ArrayList<>(totalTasks);
+
+        for (ChunkReadAction chunkReadAction : chunkReadActions) {
+            resultTasks.addAll(chunkReadAction.tasks);
+            for (MeiException processError : chunkReadAction.processErrors) {
+                processError.echoErrorResponse();
+            }
+        }
+
+        return resultTasks;
+    }
+
+    /**
+     * Finds where a chunk ends, which is right after the first line break at or after the estimated end.
+     *
+     * @param channel The channel of the task data file.
+     * @param estimatedChunkEnd The position where the chunk would end if it did not have to end on a line break.
+     * @param fileSize The size of the task data file.
+     * @return The position right after the line break, or the file size if there is no line break left.
+     * @throws IOException if an error occurred while reading from the task data file.
+     */
+    private long findLineAlignedChunkEnd(FileChannel channel, long estimatedChunkEnd, long fileSize)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = Math.min(estimatedChunkEnd, fileSize);
+
+        while (position < fileSize) {
+            buffer.clear();
+            int totalBytesRead = channel.read(buffer, position);
+            for (int i = 0; i < totalBytesRead; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += totalBytesRead;
+        }
+
+        return fileSize;
+    }
+
+    /**
+     * Represents the action of processing every line within a single chunk of the task data file.
+     */
+    private class ChunkReadAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ByteBuffer chunk;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<MeiException> processErrors = new ArrayList<>();
+
+        ChunkReadAction(ByteBuffer chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            String chunkText = StandardCharsets.UTF_8.decode(chunk).toString();
+            int lineStart = 0;
+
+            while (lineStart < chunkText.length()) {
+                int lineEnd = chunkText.indexOf('\n', lineStart);
+                if (lineEnd == -1) {
+                    lineEnd = chunkText.length();
+                }
+
+                String newLine = chunkText.substring(lineStart, lineEnd);
+                if (newLine.endsWith("\r")) {
+                    newLine = newLine.substring(0, newLine.length() - 1);
+                }
+
+                // Blank lines hold no task data, so they are skipped.
+                if (!newLine.isBlank()) {
+                    MeiException processError = fileReader.processThenAddToOrGetError(newLine, tasks);
+                    if (processError != null) {
+                        processErrors.add(processError);
+                    }
+                }
+
+                lineStart = lineEnd + 1;
+            }
+        }
+    }
+}
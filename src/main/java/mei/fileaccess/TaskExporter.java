@@ -0,0 +1,275 @@
+package mei.fileaccess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.Task;
+
+/**
+ * Represents a class that acts as a utility to export tasks to a CSV, JSON or iCalendar file.
+ * Every task is written through a buffered writer as soon as it is given,
+ * so exporting never builds any representation of the whole list of tasks in memory.
+ * <p>
+ * The CSV file has the same columns that the import command reads, so an exported file can be imported back.
+ * The iCalendar (.ics) file has its events exported as events, and every other task exported as a to-do,
+ * with the deadline of a deadline as its due date/time. Only to-dos can be marked as completed in iCalendar,
+ * so the status of events is left out.
+ */
+public class TaskExporter implements Closeable {
+    /** The formats that tasks can be exported to. **/
+    public static final String[] FORMATS = new String[] {"csv", "json", "ics"};
+    /** The formatter for date/times in the iCalendar file, which are written without a time zone. **/
+    private static final DateTimeFormatter ICS_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    /** The number of characters after which a line in the iCalendar file is folded. **/
+    private static final int ICS_LINE_LENGTH = 75;
+
+    private final String format;
+    private final Writer writer;
+    private int totalExportedTasks = 0;
+
+    /**
+     * Initializes the exporter by opening the given file and writing the start of the format to it.
+     * An existing file at the given path is overwritten.
+     *
+     * @param format The format to export to, which must be one of FORMATS.
+     * @param path The path of the file to export to.
+     * @throws IOException if an error occurred while opening the file.
+     */
+    public TaskExporter(String format, Path path) throws IOException {
+        assert isFormatSupported(format) : "export format must be one of FORMATS";
+
+        this.format = format;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writeStart();
+    }
+
+    /**
+     * Checks whether tasks can be exported to the given format.
+     *
+     * @param format The format to check.
+     * @return true or false depending on whether the format is one of FORMATS.
+     */
+    public static boolean isFormatSupported(String format) {
+        for (String supportedFormat : FORMATS) {
+            if (supportedFormat.equals(format)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the given task to the file.
+     * Any error while writing is rethrown unchecked, so that this method can be handed over as a consumer
+     * while walking through the list of tasks.
+     *
+     * @param task The task to export.
+     * @throws UncheckedIOException if an error occurred while writing to the file.
+     */
+    public void exportTask(Task task) {
+        try {
+            switch (format) {
+            case "csv":
+                writeCsvRecord(task);
+                break;
+
+            case "json":
+                writeJsonRecord(task);
+                break;
+
+            default:
+                writeIcsRecord(task);
+                break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        totalExportedTasks++;
+    }
+
+    public int getTotalExportedTasks() {
+        return totalExportedTasks;
+    }
+
+    /**
+     * Writes the end of the format to the file and closes it.
+     *
+     * @throws IOException if an error occurred while writing to or closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeEnd();
+        } finally {
+            writer.close();
+        }
+    }
+
+    private void writeStart() throws IOException {
+        switch (format) {
+        case "csv":
+            writer.write("type,description,date1,date2,done\n");
+            break;
+
+        case "json":
+            writer.write("[");
+            break;
+
+        default:
+            writer.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Mei//Mei Tasks//EN\r\n");
+            break;
+        }
+    }
+
+    private void writeEnd() throws IOException {
+        switch (format) {
+        case "json":
+            writer.write(totalExportedTasks == 0 ? "]\n" : "\n]\n");
+            break;
+
+        case "ics":
+            writer.write("END:VCALENDAR\r\n");
+            break;
+
+        default:
+            break;
+        }
+    }
+
+    private void writeCsvRecord(Task task) throws IOException {
+        String firstDateTime = "";
+        String secondDateTime = "";
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            firstDateTime = deadline.toFormattedDateTimeInputString(deadline.getDeadlineDateTime());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            firstDateTime = event.toFormattedDateTimeInputString(event.getStartDateTime());
+            secondDateTime = event.toFormattedDateTimeInputString(event.getEndDateTime());
+        }
+
+        writer.write(toTypeName(task));
+        writer.write(',');
+        writer.write(toCsvField(task.getDescription()));
+        writer.write(',');
+        writer.write(firstDateTime);
+        writer.write(',');
+        writer.write(secondDateTime);
+        writer.write(',');
+        writer.write(task.isDone() ? "x" : "");
+        writer.write('\n');
+    }
+
+    private String toCsvField(String text) {
+        boolean isQuoteNeeded = text.indexOf(',') != -1 || text.indexOf('"') != -1 || text.indexOf('\n') != -1;
+        return isQuoteNeeded ? "\"" + text.replace("\"", "\"\"") + "\"" : text;
+    }
+
+    private void writeJsonRecord(Task task) throws IOException {
+        writer.write(totalExportedTasks == 0 ? "\n  {" : ",\n  {");
+        writer.write("\"type\": \"" + toTypeName(task) + "\"");
+        writer.write(", \"description\": \"" + toJsonString(task.getDescription()) + "\"");
+        writer.write(", \"done\": " + task.isDone());
+
+        if (task instanceof Deadline) {
+            writer.write(", \"by\": \"" + ((Deadline) task).getDeadlineDateTime() + "\"");
+        } else if (task instanceof Event) {
+            writer.write(", \"from\": \"" + ((Event) task).getStartDateTime() + "\"");
+            writer.write(", \"to\": \"" + ((Event) task).getEndDateTime() + "\"");
+        }
+        writer.write("}");
+    }
+
+    private String toJsonString(String text) {
+        StringBuilder jsonString = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char currentChar = text.charAt(i);
+            switch (currentChar) {
+            case '"':
+                jsonString.append("\\\"");
+                break;
+
+            case '\\':
+                jsonString.append("\\\\");
+                break;
+
+            case '\n':
+                jsonString.append("\\n");
+                break;
+
+            case '\t':
+                jsonString.append("\\t");
+                break;
+
+            default:
+                if (currentChar < 0x20) {
+                    jsonString.append(String.format("\\u%04x", (int) currentChar));
+                } else {
+                    jsonString.append(currentChar);
+                }
+                break;
+            }
+        }
+        return jsonString.toString();
+    }
+
+    private void writeIcsRecord(Task task) throws IOException {
+        String component = task instanceof Event ? "VEVENT" : "VTODO";
+
+        writer.write("BEGIN:" + component + "\r\n");
+        writer.write("UID:mei-task-" + (totalExportedTasks + 1) + "\r\n");
+        writeIcsLine("SUMMARY:" + toIcsText(task.getDescription()));
+
+        if (task instanceof Deadline) {
+            writer.write("DUE:" + ((Deadline) task).getDeadlineDateTime().format(ICS_FORMATTER) + "\r\n");
+        } else if (task instanceof Event) {
+            writer.write("DTSTART:" + ((Event) task).getStartDateTime().format(ICS_FORMATTER) + "\r\n");
+            writer.write("DTEND:" + ((Event) task).getEndDateTime().format(ICS_FORMATTER) + "\r\n");
+        }
+        if (task.isDone() && !(task instanceof Event)) {
+            writer.write("STATUS:COMPLETED\r\n");
+        }
+
+        writer.write("END:" + component + "\r\n");
+    }
+
+    private String toIcsText(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+
+    /**
+     * Writes a line to the iCalendar file, folding it onto continuation lines that start with a space
+     * whenever it is longer than ICS_LINE_LENGTH characters.
+     *
+     * @param line The line to write.
+     * @throws IOException if an error occurred while writing to the file.
+     */
+    private void writeIcsLine(String line) throws IOException {
+        int lineStart = 0;
+        while (line.length() - lineStart > ICS_LINE_LENGTH) {
+            writer.write(line, lineStart, ICS_LINE_LENGTH);
+            writer.write("\r\n ");
+            lineStart += ICS_LINE_LENGTH;
+        }
+        writer.write(line, lineStart, line.length() - lineStart);
+        writer.write("\r\n");
+    }
+
+    private String toTypeName(Task task) {
+        if (task instanceof Deadline) {
+            return "deadline";
+        } else if (task instanceof Event) {
+            return "event";
+        } else {
+            return "todo";
+        }
+    }
+}
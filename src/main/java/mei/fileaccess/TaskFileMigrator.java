@@ -0,0 +1,79 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import mei.task.Task;
+
+/**
+ * Represents a utility that migrates task data between the text format and the binary task file format.
+ * The migration can also be run on its own from the command line, e.g.
+ * <pre>
+ *     java -cp mei.jar mei.fileaccess.TaskFileMigrator to-binary tasks.txt tasks.txt.bin
+ *     java -cp mei.jar mei.fileaccess.TaskFileMigrator to-text tasks.txt.bin tasks.txt
+ * </pre>
+ */
+public class TaskFileMigrator {
+
+    /**
+     * Migrates the command line arguments' source file to the target file.
+     *
+     * @param args The direction of the migration ("to-binary" or "to-text"), the source path and the target path.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: TaskFileMigrator (to-binary|to-text) <source path> <target path>");
+            return;
+        }
+
+        try {
+            switch (args[0]) {
+            case "to-binary":
+                convertTextToBinary(args[1], args[2]);
+                break;
+
+            case "to-text":
+                convertBinaryToText(args[1], args[2]);
+                break;
+
+            default:
+                System.out.println("Unknown migration direction: " + args[0]);
+            }
+        } catch (IOException e) {
+            System.out.println("Error migrating task data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converts the task data file at the given text file path into a binary task file.
+     *
+     * @param textFilePath The path of the task data file in the text format.
+     * @param binaryFilePath The path of the binary task file to write.
+     * @throws IOException if an error occurred while reading or writing.
+     */
+    public static void convertTextToBinary(String textFilePath, String binaryFilePath) throws IOException {
+        ArrayList<Task> tasks = new FileRead(textFilePath).readFromFile();
+        new BinaryTaskFile(Paths.get(binaryFilePath)).writeTasks(tasks);
+    }
+
+    /**
+     * Converts the binary task file at the given binary file path into a task data file in the text format.
+     *
+     * @param binaryFilePath The path of the binary task file.
+     * @param textFilePath The path of the task data file to write.
+     * @throws IOException if an error occurred while reading or writing.
+     */
+    public static void convertBinaryToText(String binaryFilePath, String textFilePath) throws IOException {
+        List<Task> tasks = new BinaryTaskFile(Paths.get(binaryFilePath)).readTasks(new ArrayList<>());
+        List<String> taskDatas = tasks.stream()
+                .map(Task::getTaskDataString)
+                .collect(Collectors.toList());
+
+        FileWrite fileWriter = new FileWrite(textFilePath);
+        fileWriter.writeTemporaryFile(taskDatas);
+        fileWriter.replaceWithTemporaryFile();
+    }
+}
@@ -0,0 +1,332 @@
+package mei.fileaccess;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import mei.exception.DateTimeConversionException;
+import mei.exception.DatesNotInOrderException;
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents a class that acts as a utility to import tasks from a CSV or iCalendar file.
+ * The file is streamed one record at a time, and the tasks are handed over in batches,
+ * so importing a file of any size only ever holds a single batch of tasks on top of the list of tasks itself.
+ * <p>
+ * A CSV file has one task per row, with the columns type (todo, deadline or event), description,
+ * the deadline or start date/time, the end date/time, and whether the task is done.
+ * A first row starting with "type" is taken as the header.
+ * An iCalendar (.ics) file has its events imported as events, and its to-dos imported as deadlines
+ * if they are due at some point or as to-dos otherwise.
+ * <p>
+ * Date/times are converted the same way as those typed into the add task commands.
+ * Rows that cannot be turned into a task are rejected and counted, together with the reason
+ * of the first few rejections, so that the user can be told how the import went.
+ */
+public class TaskImporter {
+    /** The number of imported tasks handed over at a time. **/
+    public static final int BATCH_SIZE = 1000;
+    /** The number of rejected rows whose reasons are kept to be shown to the user. **/
+    private static final int MAX_REPORTED_REJECTIONS = 5;
+
+    private final Consumer<List<Task>> batchConsumer;
+    private final List<Task> batch = new ArrayList<>(BATCH_SIZE);
+    private final List<String> rejectionReasons = new ArrayList<>();
+    private int totalAcceptedRows = 0;
+    private int totalRejectedRows = 0;
+
+    /**
+     * Initializes the importer with where every batch of imported tasks is handed over to.
+     *
+     * @param batchConsumer The consumer that adds each batch of imported tasks to the list of tasks.
+     */
+    public TaskImporter(Consumer<List<Task>> batchConsumer) {
+        this.batchConsumer = batchConsumer;
+    }
+
+    /**
+     * Imports every task from the given file.
+     * Files ending with .ics are read as iCalendar files, and every other file as a CSV file.
+     *
+     * @param path The path of the file to import.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public void importFile(Path path) throws IOException {
+        boolean isIcsFile = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".ics");
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (isIcsFile) {
+                importIcs(reader);
+            } else {
+                importCsv(reader);
+            }
+        }
+
+        handOverBatch();
+    }
+
+    public int getTotalAcceptedRows() {
+        return totalAcceptedRows;
+    }
+
+    public int getTotalRejectedRows() {
+        return totalRejectedRows;
+    }
+
+    /**
+     * Gets the reasons of the first few rejected rows, each prefixed with the row it belongs to.
+     *
+     * @return The reasons of the rejected rows.
+     */
+    public List<String> getRejectionReasons() {
+        return rejectionReasons;
+    }
+
+    private void importCsv(BufferedReader reader) throws IOException {
+        int rowNumber = 0;
+        List<String> fields;
+
+        while ((fields = readCsvRecord(reader)) != null) {
+            rowNumber++;
+            boolean isHeader = rowNumber == 1 && fields.get(0).trim().equalsIgnoreCase("type");
+            boolean isBlank = fields.size() == 1 && fields.get(0).isBlank();
+            if (isHeader || isBlank) {
+                continue;
+            }
+
+            String type = fields.get(0).trim().toLowerCase(Locale.ROOT);
+            String description = getField(fields, 1);
+            String firstDateTime = getField(fields, 2);
+            String secondDateTime = getField(fields, 3);
+            String doneField = getField(fields, 4).toLowerCase(Locale.ROOT);
+            boolean isDone = doneField.equals("true") || doneField.equals("yes")
+                    || doneField.equals("x") || doneField.equals("1");
+
+            acceptOrReject("Row " + rowNumber, type, description, firstDateTime, secondDateTime, isDone);
+        }
+    }
+
+    /**
+     * Reads a single record from the CSV file, following quoted fields across line breaks.
+     * Within a quoted field, a doubled quote stands for a single quote.
+     *
+     * @param reader The reader of the CSV file.
+     * @return The fields of the record, or null if there are no records left.
+     * @throws IOException if an error occurred while reading the CSV file.
+     */
+    private List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isInQuotes = false;
+        int i = 0;
+
+        while (true) {
+            if (i == line.length()) {
+                if (!isInQuotes) {
+                    break;
+                }
+
+                // A quoted field continues on the next line.
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char currentChar = line.charAt(i++);
+            if (isInQuotes && currentChar == '"') {
+                boolean isEscapedQuote = i < line.length() && line.charAt(i) == '"';
+                if (isEscapedQuote) {
+                    field.append('"');
+                    i++;
+                } else {
+                    isInQuotes = false;
+                }
+            } else if (isInQuotes) {
+                field.append(currentChar);
+            } else if (currentChar == '"') {
+                isInQuotes = true;
+            } else if (currentChar == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(currentChar);
+            }
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String getField(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    private void importIcs(BufferedReader reader) throws IOException {
+        Map<String, String> properties = new HashMap<>();
+        String component = null;
+        int componentNumber = 0;
+        String nextLine = reader.readLine();
+
+        while (nextLine != null) {
+            // A line starting with a space or tab continues the line before it.
+            StringBuilder line = new StringBuilder(nextLine);
+            while ((nextLine = reader.readLine()) != null
+                    && (nextLine.startsWith(" ") || nextLine.startsWith("\t"))) {
+                line.append(nextLine, 1, nextLine.length());
+            }
+            String unfoldedLine = line.toString();
+
+            int valueStart = unfoldedLine.indexOf(':');
+            if (valueStart == -1) {
+                continue;
+            }
+            String name = unfoldedLine.substring(0, valueStart).split(";", 2)[0].toUpperCase(Locale.ROOT);
+            String value = unfoldedLine.substring(valueStart + 1);
+
+            if (name.equals("BEGIN") && (value.equals("VEVENT") || value.equals("VTODO"))) {
+                component = value;
+                componentNumber++;
+                properties.clear();
+            } else if (name.equals("END") && value.equals(component)) {
+                acceptOrRejectIcsComponent("Entry " + componentNumber, component, properties);
+                component = null;
+            } else if (component != null) {
+                properties.put(name, value);
+            }
+        }
+    }
+
+    private void acceptOrRejectIcsComponent(String rowName, String component, Map<String, String> properties) {
+        String description = unescapeIcsText(properties.getOrDefault("SUMMARY", ""));
+        boolean isDone = "COMPLETED".equalsIgnoreCase(properties.get("STATUS"));
+
+        if (component.equals("VEVENT")) {
+            String endDateTime = properties.getOrDefault("DTEND", properties.getOrDefault("DTSTART", ""));
+            acceptOrReject(rowName, "event", description, toInputDateTime(properties.getOrDefault("DTSTART", "")),
+                    toInputDateTime(endDateTime), isDone);
+            return;
+        }
+
+        String dueDateTime = properties.get("DUE");
+        if (dueDateTime == null) {
+            acceptOrReject(rowName, "todo", description, "", "", isDone);
+        } else {
+            acceptOrReject(rowName, "deadline", description, toInputDateTime(dueDateTime), "", isDone);
+        }
+    }
+
+    /**
+     * Converts an iCalendar date or date/time, e.g. 20250102T160000Z or 20250102,
+     * into one of the date/time formats accepted by the add task commands.
+     * Time zones are not converted, so the date/time is taken as it is written.
+     *
+     * @param icsDateTime The iCalendar date or date/time.
+     * @return The date/time in the input format, or the original value if it is not an iCalendar date.
+     */
+    private String toInputDateTime(String icsDateTime) {
+        boolean isIcsDate = icsDateTime.length() >= 8
+                && icsDateTime.substring(0, 8).chars().allMatch(Character::isDigit);
+        if (!isIcsDate) {
+            return icsDateTime;
+        }
+
+        String date = icsDateTime.substring(0, 4)
+                + "-" + icsDateTime.substring(4, 6)
+                + "-" + icsDateTime.substring(6, 8);
+        boolean hasTime = icsDateTime.length() >= 13 && icsDateTime.charAt(8) == 'T';
+        String time = hasTime ? icsDateTime.substring(9, 13) : "0000";
+        return date + " " + time;
+    }
+
+    private String unescapeIcsText(String text) {
+        return text.replace("\\n", " ").replace("\\N", " ")
+                .replace("\\,", ",").replace("\\;", ";").replace("\\\\", "\\");
+    }
+
+    private void acceptOrReject(String rowName, String type, String multiLineDescription, String firstDateTime,
+            String secondDateTime, boolean isDone) {
+        // Every task is saved as a single line, so line breaks within a quoted field become spaces.
+        String description = multiLineDescription.replaceAll("\\R", " ");
+        if (description.isBlank()) {
+            reject(rowName, "no description");
+            return;
+        }
+        if (description.contains("|")) {
+            reject(rowName, "the description cannot contain |");
+            return;
+        }
+
+        try {
+            Task task;
+            switch (type) {
+            case "todo":
+                task = new ToDo(description);
+                break;
+
+            case "deadline":
+                task = new Deadline(description, firstDateTime);
+                break;
+
+            case "event":
+                task = new Event(description, firstDateTime, secondDateTime);
+                break;
+
+            default:
+                reject(rowName, "unknown task type " + type);
+                return;
+            }
+
+            if (isDone) {
+                task.completeTask();
+            }
+            accept(task);
+        } catch (DateTimeConversionException e) {
+            reject(rowName, "invalid date/time");
+        } catch (DatesNotInOrderException e) {
+            reject(rowName, "the start date/time is not before the end date/time");
+        }
+    }
+
+    private void accept(Task task) {
+        totalAcceptedRows++;
+        batch.add(task);
+        if (batch.size() == BATCH_SIZE) {
+            handOverBatch();
+        }
+    }
+
+    private void reject(String rowName, String reason) {
+        totalRejectedRows++;
+        if (rejectionReasons.size() < MAX_REPORTED_REJECTIONS) {
+            rejectionReasons.add(rowName + ": " + reason);
+        }
+    }
+
+    private void handOverBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchConsumer.accept(new ArrayList<>(batch));
+        batch.clear();
+    }
+}
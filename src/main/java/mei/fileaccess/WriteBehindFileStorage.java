@@ -0,0 +1,392 @@
+package mei.fileaccess;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import mei.task.Task;
+
+/**
+ * Represents the file storage that writes changes to the task data file on a background writer thread.
+ * Adding, overwriting and removing a task only queue the change, so none of them wait on the task data file.
+ * The writer thread takes every change that has piled up and writes them as a single batch:
+ * a batch of new tasks is appended in one go, while any other batch rewrites the task data file once,
+ * no matter how many changes it holds.
+ * <p>
+ * When the written task data is synced to the storage device is chosen through the mei.fsync system property:
+ * "always" (the default) syncs after every batch, a number of milliseconds syncs at most that often,
+ * and "exit" only syncs when the file storage is closed.
+ * Queued changes are always written and synced when the file storage is closed,
+ * which is also done by a shutdown hook in case the application exits without closing it.
+ * <p>
+ * A batch that fails to be written is kept and written again, ahead of any change queued after it.
+ * Once the file storage is closed, the batch is only tried a few more times before it is given up on.
+ */
+public class WriteBehindFileStorage extends FileStorage {
+    /** The sync interval standing for syncing after every batch. **/
+    public static final long SYNC_EVERY_BATCH = 0;
+    /** The sync interval standing for syncing only when the file storage is closed. **/
+    public static final long SYNC_ON_EXIT = -1;
+    /** The system property used to choose when task data is synced, e.g. -Dmei.fsync=500. **/
+    private static final String FSYNC_POLICY_PROPERTY = "mei.fsync";
+    /** The number of milliseconds to wait before writing a failed batch again. **/
+    private static final long RETRY_DELAY_MILLIS = 200;
+    /** The number of times a failed batch is written again once the file storage is closed. **/
+    private static final int MAX_RETRIES_ON_CLOSE = 5;
+
+    private final Path taskDataPath;
+    private final long syncIntervalMillis;
+    private final BlockingQueue<PendingChange> pendingChanges = new LinkedBlockingQueue<>();
+    private final AtomicBoolean isClosed = new AtomicBoolean();
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private boolean isUnsynced = false;
+    private long lastSyncTimeMillis = System.currentTimeMillis();
+
+    /**
+     * Initializes the file reader and writer with the given file store path,
+     * with the sync interval taken from the mei.fsync system property.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     */
+    public WriteBehindFileStorage(String fileStorePath) {
+        this(fileStorePath, readSyncIntervalMillis());
+    }
+
+    /**
+     * Initializes the file reader and writer with the given file store path and sync interval.
+     * Also starts the writer thread and registers the shutdown hook that closes this file storage.
+     *
+     * @param fileStorePath The path string to store the task data file.
+     * @param syncIntervalMillis The least number of milliseconds between syncs,
+     *         or either SYNC_EVERY_BATCH or SYNC_ON_EXIT.
+     */
+    public WriteBehindFileStorage(String fileStorePath, long syncIntervalMillis) {
+        super(fileStorePath);
+        this.taskDataPath = Paths.get(fileStorePath);
+        this.syncIntervalMillis = syncIntervalMillis;
+
+        this.writerThread = new Thread(this::runWriter, "mei-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        this.shutdownHook = new Thread(this::close, "mei-write-behind-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    private static long readSyncIntervalMillis() {
+        String fsyncPolicy = System.getProperty(FSYNC_POLICY_PROPERTY, "always");
+
+        switch (fsyncPolicy) {
+        case "always":
+            return SYNC_EVERY_BATCH;
+
+        case "exit":
+            return SYNC_ON_EXIT;
+
+        default:
+            try {
+                return Math.max(Long.parseLong(fsyncPolicy), SYNC_EVERY_BATCH);
+            } catch (NumberFormatException e) {
+                System.out.println("Unknown fsync policy " + fsyncPolicy + ", syncing after every batch instead.");
+                return SYNC_EVERY_BATCH;
+            }
+        }
+    }
+
+    /**
+     * Queues a new task to be appended to the task data file.
+     *
+     * @param task The new task to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTask(Task task) {
+        queueChange(new PendingChange(ChangeType.ADD, 0, task.getTaskDataString()));
+    }
+
+    /**
+     * Queues each of the given new tasks to be appended, one task at a time.
+     *
+     * @param tasks The new tasks to be added to the current list of tasks.
+     */
+    @Override
+    public void writeTasks(List<Task> tasks) {
+        writeTasksOneByOne(tasks);
+    }
+
+    /**
+     * Queues the new task data of an existing task to be written to the task data file.
+     *
+     * @param lineNumber The task index, or the line number that the overwritten task is currently located at.
+     * @param taskData The new task data to write.
+     */
+    @Override
+    public void overwriteTask(int lineNumber, String taskData) {
+        queueChange(new PendingChange(ChangeType.OVERWRITE, lineNumber, taskData));
+    }
+
+    /**
+     * Queues an existing task to be removed from the task data file.
+     *
+     * @param lineNumber The task index, or the line number that the task to be deleted is currently located at.
+     */
+    @Override
+    public void removeTask(int lineNumber) {
+        queueChange(new PendingChange(ChangeType.REMOVE, lineNumber, null));
+    }
+
+    /**
+     * Queues the new status of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the updated tasks, in ascending order.
+     * @param tasks The tasks whose status has changed, in the same order as the task indexes.
+     */
+    @Override
+    public void updateTasksStatus(int[] lineNumbers, List<Task> tasks) {
+        updateTasksStatusOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Queues the whole task data of each of the given tasks to be written, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the overwritten tasks, in ascending order.
+     * @param tasks The tasks to write, in the same order as the task indexes.
+     */
+    @Override
+    public void overwriteTasks(int[] lineNumbers, List<Task> tasks) {
+        overwriteTasksOneByOne(lineNumbers, tasks);
+    }
+
+    /**
+     * Queues the whole task data file to be replaced with the given list of tasks.
+     *
+     * @param tasks The whole list of tasks.
+     */
+    @Override
+    protected void rewriteTasks(List<Task> tasks) {
+        List<String> taskDatas = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            taskDatas.add(task.getTaskDataString());
+        }
+        queueChange(new PendingChange(ChangeType.REWRITE, 0, null, taskDatas));
+    }
+
+    /**
+     * Queues the removal of each of the given tasks, one task at a time.
+     *
+     * @param lineNumbers The task indexes of the tasks to be deleted, in ascending order.
+     */
+    @Override
+    public void removeTasks(int[] lineNumbers) {
+        removeTasksOneByOne(lineNumbers);
+    }
+
+    /**
+     * Writes every queued change and syncs the task data file, then stops the writer thread.
+     * Closing more than once does nothing.
+     */
+    @Override
+    public void close() {
+        if (!isClosed.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            pendingChanges.put(PendingChange.SHUTDOWN);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            System.out.println("Error closing write-behind writer in filestorage: " + e.getMessage());
+        }
+
+        if (Thread.currentThread() != shutdownHook) {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        }
+    }
+
+    private void queueChange(PendingChange pendingChange) {
+        if (isClosed.get()) {
+            System.out.println("Error queueing change in filestorage: the file storage has been closed.");
+            return;
+        }
+        pendingChanges.add(pendingChange);
+    }
+
+    private void runWriter() {
+        List<PendingChange> batch = new ArrayList<>();
+        boolean isShuttingDown = false;
+        int totalRetries = 0;
+
+        while (!isShuttingDown || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingChange firstChange = waitForChange();
+                    if (firstChange == null) {
+                        // Nothing else was changed within the sync interval, so the last batch is synced now.
+                        syncIfDue();
+                        continue;
+                    }
+                    batch.add(firstChange);
+                } else {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                }
+
+                // Changes queued since a failed batch are added after it, so every change is still written in order.
+                pendingChanges.drainTo(batch);
+                isShuttingDown |= batch.remove(PendingChange.SHUTDOWN);
+
+                writeBatch(batch);
+                batch.clear();
+                totalRetries = 0;
+                if (isShuttingDown) {
+                    sync();
+                } else {
+                    syncIfDue();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                System.out.println("Error writing task to file in filestorage: " + e.getMessage());
+                if (isShuttingDown && ++totalRetries > MAX_RETRIES_ON_CLOSE) {
+                    System.out.println("Error writing task to file in filestorage: gave up on "
+                            + batch.size() + " unwritten changes.");
+                    return;
+                }
+            }
+        }
+    }
+
+    private PendingChange waitForChange() throws InterruptedException {
+        if (!isUnsynced || syncIntervalMillis <= SYNC_EVERY_BATCH) {
+            return pendingChanges.take();
+        }
+
+        long millisUntilSync = lastSyncTimeMillis + syncIntervalMillis - System.currentTimeMillis();
+        return pendingChanges.poll(Math.max(millisUntilSync, 0), TimeUnit.MILLISECONDS);
+    }
+
+    private void writeBatch(List<PendingChange> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean isAppendOnly = batch.stream().allMatch(pendingChange -> pendingChange.changeType == ChangeType.ADD);
+        if (isAppendOnly) {
+            appendBatch(batch);
+        } else {
+            rewriteWithBatch(batch);
+        }
+        isUnsynced = true;
+    }
+
+    private void appendBatch(List<PendingChange> batch) throws IOException {
+        long originalSize = Files.exists(taskDataPath) ? Files.size(taskDataPath) : 0;
+
+        try (Writer writer = Files.newBufferedWriter(taskDataPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (PendingChange pendingChange : batch) {
+                writer.write(pendingChange.taskData + "\n");
+            }
+        } catch (IOException e) {
+            // The lines appended before the failure are cut off, so that writing the batch again never repeats them.
+            if (Files.exists(taskDataPath)) {
+                try (FileChannel channel = FileChannel.open(taskDataPath, StandardOpenOption.WRITE)) {
+                    channel.truncate(originalSize);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void rewriteWithBatch(List<PendingChange> batch) throws IOException {
+        List<String> taskDatas = fileReader.readTaskDataLines();
+
+        for (PendingChange pendingChange : batch) {
+            switch (pendingChange.changeType) {
+            case ADD:
+                taskDatas.add(pendingChange.taskData);
+                break;
+
+            case OVERWRITE:
+                taskDatas.set(pendingChange.lineNumber - 1, pendingChange.taskData);
+                break;
+
+            case REMOVE:
+                taskDatas.remove(pendingChange.lineNumber - 1);
+                break;
+
+            case REWRITE:
+                taskDatas.clear();
+                taskDatas.addAll(pendingChange.taskDatas);
+                break;
+
+            default:
+                break;
+            }
+        }
+
+        fileWriter.writeTemporaryFile(taskDatas);
+        fileWriter.replaceWithTemporaryFile();
+    }
+
+    private void syncIfDue() throws IOException {
+        if (syncIntervalMillis == SYNC_ON_EXIT) {
+            return;
+        }
+
+        boolean isSyncDue = System.currentTimeMillis() - lastSyncTimeMillis >= syncIntervalMillis;
+        if (isSyncDue) {
+            sync();
+        }
+    }
+
+    private void sync() throws IOException {
+        if (isUnsynced && Files.exists(taskDataPath)) {
+            try (FileChannel channel = FileChannel.open(taskDataPath, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+        isUnsynced = false;
+        lastSyncTimeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Represents the types of changes that can be queued for the writer thread.
+     */
+    private enum ChangeType {
+        ADD, OVERWRITE, REMOVE, REWRITE, SHUTDOWN
+    }
+
+    /**
+     * Represents a single change to the task data file that has not been written yet.
+     */
+    private static class PendingChange {
+        private static final PendingChange SHUTDOWN = new PendingChange(ChangeType.SHUTDOWN, 0, null);
+
+        private final ChangeType changeType;
+        private final int lineNumber;
+        private final String taskData;
+        private final List<String> taskDatas;
+
+        PendingChange(ChangeType changeType, int lineNumber, String taskData) {
+            this(changeType, lineNumber, taskData, null);
+        }
+
+        PendingChange(ChangeType changeType, int lineNumber, String taskData, List<String> taskDatas) {
+            this.changeType = changeType;
+            this.lineNumber = lineNumber;
+            this.taskData = taskData;
+            this.taskDatas = taskDatas;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package mei.index;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import mei.task.Deadline;
+import mei.task.Task;
+
+/**
+ * Represents an index of every deadline sorted by its deadline date/time.
+ * Any other type of task is left out of the index.
+ * Finding the deadlines within a range of date/times takes O(log n + k) for the k deadlines found,
+ * since the range is looked up once and then walked through in order.
+ */
+public class DeadlineIndex implements TaskIndex {
+    private final NavigableMap<LocalDateTime, TreeSet<Long>> idsByDeadline = new TreeMap<>();
+
+    @Override
+    public void addTask(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+
+        assert task.getId() != Task.NO_ID : "task added to the deadline index should have an id";
+        LocalDateTime deadlineDateTime = ((Deadline) task).getDeadlineDateTime();
+        idsByDeadline.computeIfAbsent(deadlineDateTime, newDeadline -> new TreeSet<>()).add(task.getId());
+    }
+
+    @Override
+    public void removeTask(Task task) {
+        if (!(task instanceof Deadline)) {
+            return;
+        }
+
+        LocalDateTime deadlineDateTime = ((Deadline) task).getDeadlineDateTime();
+        TreeSet<Long> ids = idsByDeadline.get(deadlineDateTime);
+        if (ids != null && ids.remove(task.getId()) && ids.isEmpty()) {
+            idsByDeadline.remove(deadlineDateTime);
+        }
+    }
+
+    /**
+     * Finds the ids of every deadline due before the given date/time.
+     *
+     * @param dateTime The date/time that the deadlines are due before.
+     * @return The ids of the deadlines, from the earliest deadline to the latest.
+     */
+    public long[] findIdsDueBefore(LocalDateTime dateTime) {
+        return toIds(idsByDeadline.headMap(dateTime, false).values());
+    }
+
+    /**
+     * Finds the ids of every deadline due between the given date/times, both inclusive.
+     *
+     * @param startDateTime The earliest date/time that the deadlines are due.
+     * @param endDateTime The latest date/time that the deadlines are due.
+     * @return The ids of the deadlines, from the earliest deadline to the latest.
+     */
+    public long[] findIdsDueBetween(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return toIds(idsByDeadline.subMap(startDateTime, true, endDateTime, true).values());
+    }
+
+    /**
+     * Finds the ids of every deadline due from the given start date/time, inclusive, to the given end date/time,
+     * exclusive.
+     *
+     * @param startDateTime The earliest date/time that the deadlines are due, or LocalDateTime.MIN for no limit.
+     * @param endDateTime The date/time that the deadlines are due before, or LocalDateTime.MAX for no limit.
+     * @return The ids of the deadlines, from the earliest deadline to the latest.
+     */
+    public long[] findIdsDueWithin(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (!startDateTime.isBefore(endDateTime)) {
+            return new long[0];
+        }
+        return toIds(idsByDeadline.subMap(startDateTime, true, endDateTime, false).values());
+    }
+
+    /**
+     * Counts the deadlines due from the given start date/time, inclusive, to the given end date/time, exclusive.
+     * Counting stops once the given limit is reached, so a wide range costs no more than the limit.
+     *
+     * @param startDateTime The earliest date/time that the deadlines are due, or LocalDateTime.MIN for no limit.
+     * @param endDateTime The date/time that the deadlines are due before, or LocalDateTime.MAX for no limit.
+     * @param limit The count to stop at.
+     * @return The number of deadlines, or the limit if there are at least that many.
+     */
+    public long countIdsDueWithin(LocalDateTime startDateTime, LocalDateTime endDateTime, long limit) {
+        if (!startDateTime.isBefore(endDateTime)) {
+            return 0;
+        }
+
+        long totalIds = 0;
+        for (TreeSet<Long> ids : idsByDeadline.subMap(startDateTime, true, endDateTime, false).values()) {
+            totalIds += ids.size();
+            if (totalIds >= limit) {
+                return limit;
+            }
+        }
+        return totalIds;
+    }
+
+    private long[] toIds(Collection<TreeSet<Long>> idsOfDeadlines) {
+        return idsOfDeadlines.stream()
+                .flatMap(TreeSet::stream)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,200 @@
+package mei.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import mei.task.Event;
+import mei.task.Task;
+
+/**
+ * Represents an interval tree of every event, which is a balanced (AVL) binary search tree of the events
+ * sorted by their start date/time, where every node also keeps the latest end date/time within its subtree.
+ * Any other type of task is left out of the tree.
+ * <p>
+ * Finding the events that overlap a range of date/times skips every subtree whose latest end date/time
+ * is before the range, and every subtree that starts after the range,
+ * so it takes O(log n + k) for the k events found in typical calendars.
+ */
+public class EventIntervalTree implements TaskIndex {
+    private Node root;
+
+    @Override
+    public void addTask(Task task) {
+        if (!(task instanceof Event)) {
+            return;
+        }
+
+        assert task.getId() != Task.NO_ID : "task added to the event interval tree should have an id";
+        Event event = (Event) task;
+        root = insert(root, new Node(event.getStartDateTime(), event.getEndDateTime(), event.getId()));
+    }
+
+    @Override
+    public void removeTask(Task task) {
+        if (!(task instanceof Event)) {
+            return;
+        }
+
+        root = delete(root, ((Event) task).getStartDateTime(), task.getId());
+    }
+
+    /**
+     * Finds the ids of every event that overlaps the given range of date/times,
+     * which is every event that starts no later than the range ends and ends no earlier than the range starts.
+     *
+     * @param startDateTime The start of the range.
+     * @param endDateTime The end of the range.
+     * @return The ids of the events, from the earliest start date/time to the latest.
+     */
+    public long[] findIdsOverlapping(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        List<Long> overlappingIds = new ArrayList<>();
+        collectOverlappingIds(root, startDateTime, endDateTime, overlappingIds);
+        return overlappingIds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void collectOverlappingIds(Node node, LocalDateTime startDateTime, LocalDateTime endDateTime,
+            List<Long> overlappingIds) {
+        // Every event in this subtree ends before the range starts.
+        if (node == null || node.latestEndDateTime.isBefore(startDateTime)) {
+            return;
+        }
+
+        collectOverlappingIds(node.left, startDateTime, endDateTime, overlappingIds);
+        // This event and every event to its right start after the range ends.
+        if (node.startDateTime.isAfter(endDateTime)) {
+            return;
+        }
+        if (!node.endDateTime.isBefore(startDateTime)) {
+            overlappingIds.add(node.id);
+        }
+        collectOverlappingIds(node.right, startDateTime, endDateTime, overlappingIds);
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+
+        int comparison = compare(newNode.startDateTime, newNode.id, node);
+        if (comparison < 0) {
+            node.left = insert(node.left, newNode);
+        } else if (comparison > 0) {
+            node.right = insert(node.right, newNode);
+        } else {
+            // The event is already in the tree.
+            return node;
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, LocalDateTime startDateTime, long id) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(startDateTime, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, startDateTime, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, startDateTime, id);
+        } else if (node.left == null || node.right == null) {
+            return node.left == null ? node.right : node.left;
+        } else {
+            // The deleted node is replaced by the earliest node to its right.
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteEarliest(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node deleteEarliest(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteEarliest(node.left);
+        return rebalance(node);
+    }
+
+    private int compare(LocalDateTime startDateTime, long id, Node node) {
+        int comparison = startDateTime.compareTo(node.startDateTime);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node newParent = node.left;
+        node.left = newParent.right;
+        newParent.right = node;
+        update(node);
+        update(newParent);
+        return newParent;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node newParent = node.right;
+        node.right = newParent.left;
+        newParent.left = node;
+        update(node);
+        update(newParent);
+        return newParent;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.latestEndDateTime = node.endDateTime;
+        if (node.left != null && node.left.latestEndDateTime.isAfter(node.latestEndDateTime)) {
+            node.latestEndDateTime = node.left.latestEndDateTime;
+        }
+        if (node.right != null && node.right.latestEndDateTime.isAfter(node.latestEndDateTime)) {
+            node.latestEndDateTime = node.right.latestEndDateTime;
+        }
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Represents a node of the tree holding a single event.
+     */
+    private static class Node {
+        private final LocalDateTime startDateTime;
+        private final LocalDateTime endDateTime;
+        private final long id;
+        private LocalDateTime latestEndDateTime;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(LocalDateTime startDateTime, LocalDateTime endDateTime, long id) {
+            this.startDateTime = startDateTime;
+            this.endDateTime = endDateTime;
+            this.id = id;
+            this.latestEndDateTime = endDateTime;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package mei.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import mei.task.Task;
+
+/**
+ * Represents a BK-tree of every word in the task descriptions, which finds the words within an edit distance
+ * of a misspelt word without measuring the distance to every word.
+ * Every child of a word is filed under its edit distance to that word, so by the triangle inequality,
+ * only the children filed within the allowed distance of the distance to their parent have to be visited.
+ * <p>
+ * A word is a run of letters and digits, and words are compared in lower case, since typos ignore case too.
+ * Every word keeps the ids of the tasks having it. A word is left in the tree once no task has it any more,
+ * since removing it would mean rebuilding the subtree below it, and is simply skipped when found.
+ */
+public class FuzzyWordIndex implements TaskIndex {
+    private final Map<String, Node> nodesByWord = new HashMap<>();
+    private Node root;
+
+    /**
+     * Splits the given text into its words in lower case, in the order that they appear.
+     *
+     * @param text The text to split.
+     * @return The words of the text, which is empty if the text has no letters or digits.
+     */
+    public static List<String> toWords(String text) {
+        List<String> words = new ArrayList<>();
+        int wordStart = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && wordStart == -1) {
+                wordStart = i;
+            } else if (!isWordChar && wordStart != -1) {
+                words.add(text.substring(wordStart, i).toLowerCase());
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Gets how many edits a word can be away from the given word to still be a match.
+     * Short words allow fewer edits, since a few edits can turn a short word into almost any other.
+     *
+     * @param word The word to match.
+     * @return The largest edit distance of a matching word.
+     */
+    public static int toMaxDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Adds the given task to the ids of every word in its description, putting new words into the tree.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        assert task.getId() != Task.NO_ID : "task added to the fuzzy word index should have an id";
+
+        for (String word : toWords(task.getDescription())) {
+            Node node = nodesByWord.get(word);
+            if (node == null) {
+                node = new Node(word);
+                nodesByWord.put(word, node);
+                insert(node);
+            }
+            node.ids.add(task.getId());
+        }
+    }
+
+    /**
+     * Removes the given task from the ids of every word in its description.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void removeTask(Task task) {
+        for (String word : toWords(task.getDescription())) {
+            Node node = nodesByWord.get(word);
+            if (node != null) {
+                node.ids.remove(task.getId());
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of every task having a word within the given edit distance of the given word.
+     *
+     * @param word The word to match, in lower case.
+     * @param maxDistance The largest edit distance of a matching word.
+     * @return The smallest edit distance of the matching words of every task, by the id of the task.
+     */
+    public Map<Long, Integer> findIdsWithinDistance(String word, int maxDistance) {
+        Map<Long, Integer> distancesById = new HashMap<>();
+        if (root == null) {
+            return distancesById;
+        }
+
+        Deque<Node> nodesToVisit = new ArrayDeque<>();
+        nodesToVisit.push(root);
+        while (!nodesToVisit.isEmpty()) {
+            Node node = nodesToVisit.pop();
+            int distance = toEditDistance(word, node.word);
+
+            if (distance <= maxDistance) {
+                for (long id : node.ids) {
+                    distancesById.merge(id, distance, Math::min);
+                }
+            }
+            for (int childDistance = distance - maxDistance; childDistance <= distance + maxDistance; childDistance++) {
+                Node child = node.children.get(childDistance);
+                if (child != null) {
+                    nodesToVisit.push(child);
+                }
+            }
+        }
+        return distancesById;
+    }
+
+    private void insert(Node newNode) {
+        if (root == null) {
+            root = newNode;
+            return;
+        }
+
+        Node node = root;
+        while (true) {
+            int distance = toEditDistance(newNode.word, node.word);
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, newNode);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Measures the Levenshtein distance between the given words,
+     * which is the fewest insertions, deletions and substitutions of characters that turn one into the other.
+     * Only two rows of the distance table are kept at a time.
+     */
+    private static int toEditDistance(String firstWord, String secondWord) {
+        int[] previousRow = new int[secondWord.length() + 1];
+        int[] currentRow = new int[secondWord.length() + 1];
+        for (int j = 0; j <= secondWord.length(); j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 1; i <= firstWord.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= secondWord.length(); j++) {
+                int substitutionCost = firstWord.charAt(i - 1) == secondWord.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + substitutionCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] swappedRow = previousRow;
+            previousRow = currentRow;
+            currentRow = swappedRow;
+        }
+        return previousRow[secondWord.length()];
+    }
+
+    /**
+     * Represents a word in the tree, with its children filed under their edit distance to this word.
+     */
+    private static class Node {
+        private final String word;
+        private final Set<Long> ids = new HashSet<>();
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
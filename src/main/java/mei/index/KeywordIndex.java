@@ -0,0 +1,158 @@
+package mei.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import mei.task.Task;
+
+/**
+ * Represents an inverted index from every word in the task descriptions to the ids of the tasks having that word.
+ * A word is a run of letters and digits, and words are compared case-sensitively, the same way find compares.
+ * <p>
+ * A keyword made up of only letters and digits can never reach past the word it appears in,
+ * so the tasks containing such a keyword are exactly the tasks having a word that contains it,
+ * e.g. "ok" is found in "read book" since the word "book" contains it.
+ * Finding them walks through the distinct words rather than every task,
+ * which narrows down the keywords too short to have a trigram for the trigram index.
+ * <p>
+ * Tasks are indexed by their ids rather than their task indexes,
+ * so deleting a task never moves the entries of the tasks after it.
+ */
+public class KeywordIndex implements TaskIndex {
+    private final Map<String, Postings> postingsByWord = new HashMap<>();
+
+    /**
+     * Splits the given text into its distinct words.
+     *
+     * @param text The text to split.
+     * @return The words of the text, which is empty if the text has no letters or digits.
+     */
+    public static Set<String> toWords(String text) {
+        Set<String> words = new HashSet<>();
+        int wordStart = -1;
+
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && wordStart == -1) {
+                wordStart = i;
+            } else if (!isWordChar && wordStart != -1) {
+                words.add(text.substring(wordStart, i));
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Checks whether the given keyword can be found through the words of the descriptions,
+     * which is when it is made up of only letters and digits.
+     *
+     * @param keyword The keyword to check.
+     * @return true or false depending on whether the keyword always lies within a single word.
+     */
+    public static boolean isKeywordIndexable(String keyword) {
+        return !keyword.isEmpty() && keyword.chars().allMatch(Character::isLetterOrDigit);
+    }
+
+    /**
+     * Adds the given task to the ids of every word in its description.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        assert task.getId() != Task.NO_ID : "task added to the keyword index should have an id";
+
+        for (String word : toWords(task.getDescription())) {
+            postingsByWord.computeIfAbsent(word, newWord -> new Postings()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes the given task from the ids of every word in its description.
+     * Words that no task has any more are removed from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void removeTask(Task task) {
+        for (String word : toWords(task.getDescription())) {
+            Postings postings = postingsByWord.get(word);
+            if (postings != null && postings.remove(task.getId()) && postings.size == 0) {
+                postingsByWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of every task whose description contains the given keyword.
+     * Unlike the trigram index, every id found is a task that contains the keyword.
+     *
+     * @param keyword The keyword to find, which must be indexable.
+     * @return The ids of the tasks containing the keyword, in ascending order.
+     */
+    public long[] findIdsContaining(String keyword) {
+        assert isKeywordIndexable(keyword) : "keyword to find should only have letters and digits";
+
+        List<Postings> matchingPostings = new ArrayList<>();
+        for (Map.Entry<String, Postings> wordPostings : postingsByWord.entrySet()) {
+            if (wordPostings.getKey().contains(keyword)) {
+                matchingPostings.add(wordPostings.getValue());
+            }
+        }
+
+        if (matchingPostings.size() == 1) {
+            Postings postings = matchingPostings.get(0);
+            return Arrays.copyOf(postings.ids, postings.size);
+        }
+        // A task having several words that contain the keyword is only found once.
+        return matchingPostings.stream()
+                .flatMapToLong(postings -> LongStream.of(postings.ids).limit(postings.size))
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Represents the ids of the tasks having a word, kept in ascending order in a growable array.
+     * Tasks are almost always added with a larger id than every task before them,
+     * so adding an id is usually just putting it at the end.
+     */
+    private static class Postings {
+        private long[] ids = new long[2];
+        private int size = 0;
+
+        void add(long id) {
+            int position = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+
+            int insertPosition = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertPosition, ids, insertPosition + 1, size - insertPosition);
+            ids[insertPosition] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+    }
+}
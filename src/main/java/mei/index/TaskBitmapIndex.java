@@ -0,0 +1,85 @@
+package mei.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import mei.task.Task;
+
+/**
+ * Represents bitmaps of the ids of the tasks of every task type, and of the ids of the tasks that are done.
+ * Tasks of a type and status are found by combining the bitmaps a word of 64 ids at a time,
+ * which is far cheaper than checking every task, and the number of ids found is known right away.
+ */
+public class TaskBitmapIndex implements TaskIndex {
+    private final Map<String, BitSet> idsByType = new HashMap<>();
+    private final BitSet doneIds = new BitSet();
+
+    /**
+     * Adds the given task to the bitmap of its task type, and to the bitmap of done tasks if it is done.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        assert task.getId() != Task.NO_ID : "task added to the task bitmap index should have an id";
+
+        int id = Math.toIntExact(task.getId());
+        idsByType.computeIfAbsent(task.toRunTimeClassString(), newType -> new BitSet()).set(id);
+        doneIds.set(id, task.isDone());
+    }
+
+    /**
+     * Removes the given task from every bitmap.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void removeTask(Task task) {
+        int id = Math.toIntExact(task.getId());
+        BitSet idsOfType = idsByType.get(task.toRunTimeClassString());
+        if (idsOfType != null) {
+            idsOfType.clear(id);
+        }
+        doneIds.clear(id);
+    }
+
+    /**
+     * Moves the given task in or out of the bitmap of done tasks.
+     *
+     * @param task The task that was marked or unmarked.
+     */
+    @Override
+    public void updateTaskStatus(Task task) {
+        doneIds.set(Math.toIntExact(task.getId()), task.isDone());
+    }
+
+    /**
+     * Finds the ids of every task of the given task type.
+     *
+     * @param type The task type, as the runtime class name of its tasks.
+     * @return A new bitmap of the ids.
+     */
+    public BitSet findIdsOfType(String type) {
+        BitSet idsOfType = idsByType.get(type);
+        return idsOfType == null ? new BitSet() : (BitSet) idsOfType.clone();
+    }
+
+    /**
+     * Finds the ids of every task that is done, or of every task that is not done.
+     *
+     * @param isDone Whether to find the done tasks rather than the tasks that are not done.
+     * @return A new bitmap of the ids.
+     */
+    public BitSet findIdsWithStatus(boolean isDone) {
+        if (isDone) {
+            return (BitSet) doneIds.clone();
+        }
+
+        BitSet notDoneIds = new BitSet();
+        idsByType.values().forEach(notDoneIds::or);
+        notDoneIds.andNot(doneIds);
+        return notDoneIds;
+    }
+}
@@ -0,0 +1,34 @@
+package mei.index;
+
+import mei.task.Task;
+
+/**
+ * Represents an index over the list of tasks that is kept up to date as tasks are added, deleted, marked and unmarked.
+ * Tasks are indexed by their ids, so the index is unaffected by tasks moving within the list.
+ */
+public interface TaskIndex {
+    /**
+     * Adds the given task to the index.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    void addTask(Task task);
+
+    /**
+     * Removes the given task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void removeTask(Task task);
+
+    /**
+     * Updates the index after the given task has been marked or unmarked.
+     * Only indexes over the status of tasks need to do anything here.
+     *
+     * @param task The task that was marked or unmarked.
+     */
+    default void updateTaskStatus(Task task) {
+        // Most indexes do not depend on whether a task is done.
+    }
+}
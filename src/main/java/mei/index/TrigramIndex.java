@@ -0,0 +1,202 @@
+package mei.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import mei.task.Task;
+
+/**
+ * Represents an index from every three consecutive characters (trigram) in the task descriptions
+ * to the ids of the tasks having that trigram.
+ * Every description containing a keyword also has every trigram of the keyword,
+ * so the tasks having all the trigrams of a keyword are the only ones that could contain it,
+ * and only those have to be checked for the keyword itself.
+ * <p>
+ * Tasks are indexed by their ids rather than their task indexes,
+ * so deleting a task never moves the entries of the tasks after it.
+ * The ids of every trigram are kept as a sorted array of ints,
+ * so the ids having several trigrams are found by intersecting the arrays from the shortest to the longest.
+ * The intersection stops early once only a few ids are left, since checking those few tasks for the keyword
+ * is cheaper than walking through the longer arrays.
+ */
+public class TrigramIndex implements TaskIndex {
+    /** The number of characters in a trigram, which is also the shortest keyword the index can narrow down. **/
+    public static final int TRIGRAM_LENGTH = 3;
+    /** The number of ids left at which the intersection stops, leaving the rest to the check for the keyword. **/
+    private static final int FEW_IDS = 16;
+
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+
+    /**
+     * Checks whether the given keyword is long enough to be narrowed down by the index.
+     * Shorter keywords have no trigram, so every task could contain them.
+     *
+     * @param keyword The keyword to check.
+     * @return true or false depending on whether the keyword has at least one trigram.
+     */
+    public static boolean isKeywordIndexable(String keyword) {
+        return keyword.length() >= TRIGRAM_LENGTH;
+    }
+
+    /**
+     * Adds the given task to the ids of every trigram in its description.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        assert task.getId() != Task.NO_ID : "task added to the trigram index should have an id";
+
+        int id = Math.toIntExact(task.getId());
+        for (long trigram : toTrigrams(task.getDescription())) {
+            postingsByTrigram.computeIfAbsent(trigram, newTrigram -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Removes the given task from the ids of every trigram in its description.
+     * Trigrams that no task has any more are removed from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void removeTask(Task task) {
+        int id = Math.toIntExact(task.getId());
+        for (long trigram : toTrigrams(task.getDescription())) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings != null && postings.remove(id) && postings.size == 0) {
+                postingsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Finds the ids of every task whose description has all the trigrams of the given keyword.
+     * These are the only tasks that could contain the keyword, but they still have to be checked for it.
+     *
+     * @param keyword The keyword to find, which must be indexable.
+     * @return The ids of the tasks possibly containing the keyword, in ascending order.
+     */
+    public int[] findIdsPossiblyContaining(String keyword) {
+        assert isKeywordIndexable(keyword) : "keyword to find should have at least one trigram";
+
+        List<Postings> keywordPostings = new ArrayList<>();
+        for (long trigram : toTrigrams(keyword)) {
+            Postings postings = postingsByTrigram.get(trigram);
+            if (postings == null) {
+                return new int[0];
+            }
+            keywordPostings.add(postings);
+        }
+        keywordPostings.sort(Comparator.comparingInt(postings -> postings.size));
+
+        Postings shortestPostings = keywordPostings.get(0);
+        int[] matchingIds = Arrays.copyOf(shortestPostings.ids, shortestPostings.size);
+        for (int i = 1; i < keywordPostings.size() && matchingIds.length > FEW_IDS; i++) {
+            matchingIds = keywordPostings.get(i).intersect(matchingIds);
+        }
+        return matchingIds;
+    }
+
+    /**
+     * Counts the ids of the rarest trigram of the given keyword without intersecting any of them,
+     * which is the most tasks that could contain the keyword.
+     *
+     * @param keyword The keyword to find, which must be indexable.
+     * @return The number of ids of the rarest trigram, or 0 if a trigram of the keyword is in no description.
+     */
+    public int countIdsPossiblyContaining(String keyword) {
+        assert isKeywordIndexable(keyword) : "keyword to count should have at least one trigram";
+
+        int fewestIds = Integer.MAX_VALUE;
+        for (long trigram : toTrigrams(keyword)) {
+            Postings postings = postingsByTrigram.get(trigram);
+            fewestIds = Math.min(fewestIds, postings == null ? 0 : postings.size);
+        }
+        return fewestIds;
+    }
+
+    /**
+     * Collects every distinct trigram of the given text, each packed into a single number.
+     */
+    private static Set<Long> toTrigrams(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Represents the ids of the tasks having a trigram, kept in ascending order in a growable array.
+     * Tasks are almost always added with a larger id than every task before them,
+     * so adding an id is usually just putting it at the end.
+     */
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size = 0;
+
+        void add(int id) {
+            int position = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+
+            int insertPosition = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1));
+            }
+            System.arraycopy(ids, insertPosition, ids, insertPosition + 1, size - insertPosition);
+            ids[insertPosition] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Keeps only the given ids that are also in these postings.
+         * Each id is looked up by binary search when there are far fewer of them than these postings,
+         * otherwise both are merged in a single walk.
+         */
+        int[] intersect(int[] otherIds) {
+            int[] commonIds = new int[otherIds.length];
+            int totalCommonIds = 0;
+
+            if (otherIds.length * 32 < size) {
+                for (int otherId : otherIds) {
+                    if (Arrays.binarySearch(ids, 0, size, otherId) >= 0) {
+                        commonIds[totalCommonIds++] = otherId;
+                    }
+                }
+                return Arrays.copyOf(commonIds, totalCommonIds);
+            }
+
+            int position = 0;
+            for (int otherId : otherIds) {
+                while (position < size && ids[position] < otherId) {
+                    position++;
+                }
+                if (position < size && ids[position] == otherId) {
+                    commonIds[totalCommonIds++] = otherId;
+                }
+            }
+            return Arrays.copyOf(commonIds, totalCommonIds);
+        }
+    }
+}
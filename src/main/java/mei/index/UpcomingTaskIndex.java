@@ -0,0 +1,107 @@
+package mei.index;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.Task;
+
+/**
+ * Represents an index of every deadline and event that is not done, sorted by its date/time,
+ * which is when a deadline is due and when an event starts.
+ * To-dos, and tasks once they are marked as done, are left out of the index.
+ * Finding the next k tasks from a date/time takes O(log n + k), since the date/time is looked up once
+ * and the tasks after it are then walked through in order until k of them are found.
+ */
+public class UpcomingTaskIndex implements TaskIndex {
+    private final NavigableMap<LocalDateTime, TreeSet<Long>> idsByDateTime = new TreeMap<>();
+
+    /**
+     * Adds the given task to the index if it is a deadline or an event that is not done.
+     * The task must already have its id.
+     *
+     * @param task The task to add.
+     */
+    @Override
+    public void addTask(Task task) {
+        LocalDateTime dateTime = toDateTime(task);
+        if (dateTime == null || task.isDone()) {
+            return;
+        }
+
+        assert task.getId() != Task.NO_ID : "task added to the upcoming task index should have an id";
+        idsByDateTime.computeIfAbsent(dateTime, newDateTime -> new TreeSet<>()).add(task.getId());
+    }
+
+    /**
+     * Removes the given task from the index.
+     *
+     * @param task The task to remove.
+     */
+    @Override
+    public void removeTask(Task task) {
+        LocalDateTime dateTime = toDateTime(task);
+        if (dateTime == null) {
+            return;
+        }
+
+        TreeSet<Long> ids = idsByDateTime.get(dateTime);
+        if (ids != null && ids.remove(task.getId()) && ids.isEmpty()) {
+            idsByDateTime.remove(dateTime);
+        }
+    }
+
+    /**
+     * Takes the given task out of the index once it is done, or puts it back once it is not done.
+     *
+     * @param task The task that was marked or unmarked.
+     */
+    @Override
+    public void updateTaskStatus(Task task) {
+        if (task.isDone()) {
+            removeTask(task);
+        } else {
+            addTask(task);
+        }
+    }
+
+    /**
+     * Finds the ids of the next tasks from the given date/time.
+     *
+     * @param dateTime The earliest date/time of the tasks, inclusive.
+     * @param totalIds The most ids to find.
+     * @return The ids of the tasks, from the earliest date/time to the latest.
+     */
+    public long[] findIdsUpcoming(LocalDateTime dateTime, int totalIds) {
+        List<Long> upcomingIds = new ArrayList<>();
+
+        for (TreeSet<Long> ids : idsByDateTime.tailMap(dateTime, true).values()) {
+            for (long id : ids) {
+                if (upcomingIds.size() == totalIds) {
+                    return toArray(upcomingIds);
+                }
+                upcomingIds.add(id);
+            }
+        }
+        return toArray(upcomingIds);
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static LocalDateTime toDateTime(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDeadlineDateTime();
+        }
+        if (task instanceof Event) {
+            return ((Event) task).getStartDateTime();
+        }
+        return null;
+    }
+}
@@ -32,4 +32,9 @@ public class Main extends Application {
         }
     }
 
+    @Override
+    public void stop() {
+        mei.close();
+    }
+
 }
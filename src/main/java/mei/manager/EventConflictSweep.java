@@ -0,0 +1,108 @@
+package mei.manager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import mei.task.Event;
+
+/**
+ * Represents a sweep line over the start and end date/times of events, which finds every pair of events that clash.
+ * The events are swept through from the earliest start date/time to the latest,
+ * while the events that have started but not ended yet are kept in a heap by their end date/time.
+ * Before an event is swept through, every event that has ended by its start is taken off the heap,
+ * so every event left on the heap clashes with it.
+ * Hence, finding the k clashing pairs of n events takes O(n log n + k).
+ * <p>
+ * Every pair is counted, but only the first few pairs are kept to be shown,
+ * since a few long events can clash with a great number of others.
+ */
+public class EventConflictSweep {
+    private final List<SweptEvent> sweptEvents = new ArrayList<>();
+    private final List<String> keptConflicts = new ArrayList<>();
+    private long totalConflicts = 0;
+
+    /**
+     * Adds the given event to be swept through.
+     *
+     * @param taskIndex The task index of the event.
+     * @param event The event.
+     */
+    public void addEvent(int taskIndex, Event event) {
+        sweptEvents.add(new SweptEvent(taskIndex, event));
+    }
+
+    /**
+     * Sweeps through every added event, counting every clashing pair and keeping the first of them to be shown.
+     * Pairs are kept in the order that the later of their events starts.
+     *
+     * @param maxKeptConflicts The most clashing pairs to keep.
+     */
+    public void sweep(int maxKeptConflicts) {
+        sweptEvents.sort(Comparator.comparing((SweptEvent sweptEvent) -> sweptEvent.startDateTime)
+                .thenComparingInt(sweptEvent -> sweptEvent.taskIndex));
+        PriorityQueue<SweptEvent> ongoingEvents = new PriorityQueue<>(
+                Comparator.comparing((SweptEvent sweptEvent) -> sweptEvent.endDateTime));
+
+        for (SweptEvent sweptEvent : sweptEvents) {
+            while (!ongoingEvents.isEmpty() && !ongoingEvents.peek().endDateTime.isAfter(sweptEvent.startDateTime)) {
+                ongoingEvents.poll();
+            }
+
+            totalConflicts += ongoingEvents.size();
+            if (keptConflicts.size() < maxKeptConflicts && !ongoingEvents.isEmpty()) {
+                keepConflicts(sweptEvent, ongoingEvents, maxKeptConflicts);
+            }
+            ongoingEvents.add(sweptEvent);
+        }
+    }
+
+    private void keepConflicts(SweptEvent sweptEvent, PriorityQueue<SweptEvent> ongoingEvents, int maxKeptConflicts) {
+        // The heap is not walked through in any order, so the clashing events are put in order of their task index.
+        List<SweptEvent> clashingEvents = new ArrayList<>(ongoingEvents);
+        clashingEvents.sort(Comparator.comparingInt(clashingEvent -> clashingEvent.taskIndex));
+
+        for (SweptEvent clashingEvent : clashingEvents) {
+            if (keptConflicts.size() == maxKeptConflicts) {
+                return;
+            }
+            keptConflicts.add(clashingEvent.toDisplayString() + " clashes with " + sweptEvent.toDisplayString());
+        }
+    }
+
+    /**
+     * Gets the clashing pairs that were kept, each in their displayed format.
+     *
+     * @return The kept clashing pairs.
+     */
+    public String[] getKeptConflicts() {
+        return keptConflicts.toArray(new String[0]);
+    }
+
+    public long getTotalConflicts() {
+        return totalConflicts;
+    }
+
+    /**
+     * Represents an event being swept through, along with its task index.
+     */
+    private static class SweptEvent {
+        private final int taskIndex;
+        private final String description;
+        private final LocalDateTime startDateTime;
+        private final LocalDateTime endDateTime;
+
+        SweptEvent(int taskIndex, Event event) {
+            this.taskIndex = taskIndex;
+            this.description = event.getDescription().trim();
+            this.startDateTime = event.getStartDateTime();
+            this.endDateTime = event.getEndDateTime();
+        }
+
+        String toDisplayString() {
+            return taskIndex + ". " + description;
+        }
+    }
+}
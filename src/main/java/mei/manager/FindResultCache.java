@@ -0,0 +1,79 @@
+package mei.manager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Represents a cache of the most recently used find results, kept by their keywords.
+ * Every result is stamped with the modification count of the list of tasks when it was found,
+ * and is only served again while the modification count is the same,
+ * so a result found before any task was added, marked, unmarked or deleted is found again instead.
+ * Once the cache is full, the least recently used result makes way for the new one.
+ *
+ * @param <T> The type of the find results.
+ */
+public class FindResultCache<T> {
+    private final Map<String, CachedResult<T>> resultsByKeyword;
+    private long totalHits = 0;
+    private long totalMisses = 0;
+
+    /**
+     * Initializes the cache to hold at most the given number of results.
+     *
+     * @param capacity The most results to keep.
+     */
+    public FindResultCache(int capacity) {
+        // An access-ordered map keeps the least recently used result first.
+        this.resultsByKeyword = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the result of the given keyword if it was found at the given modification count,
+     * otherwise finds it again and keeps the new result.
+     * The result is handed out as it is kept, so it must not be changed.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @param modificationCount The current modification count of the list of tasks.
+     * @param finder The finder of the tasks of a keyword, used when there is no up-to-date result.
+     * @return The found tasks.
+     */
+    public T getOrFind(String keyword, long modificationCount, Function<String, T> finder) {
+        CachedResult<T> cachedResult = resultsByKeyword.get(keyword);
+        if (cachedResult != null && cachedResult.modificationCount == modificationCount) {
+            totalHits++;
+            return cachedResult.foundTasks;
+        }
+
+        totalMisses++;
+        T foundTasks = finder.apply(keyword);
+        resultsByKeyword.put(keyword, new CachedResult<>(modificationCount, foundTasks));
+        return foundTasks;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public long getTotalMisses() {
+        return totalMisses;
+    }
+
+    /**
+     * Represents a find result along with the modification count of the list of tasks when it was found.
+     */
+    private static class CachedResult<T> {
+        private final long modificationCount;
+        private final T foundTasks;
+
+        CachedResult(long modificationCount, T foundTasks) {
+            this.modificationCount = modificationCount;
+            this.foundTasks = foundTasks;
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package mei.manager;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import mei.exception.DateRangeQueryException;
+import mei.exception.DatesNotInOrderException;
 import mei.exception.EmptyMostRecentReversedInputException;
 import mei.exception.EmptyTaskDescriptionException;
+import mei.exception.ExportFileException;
+import mei.exception.ImportFileException;
 import mei.exception.MeiException;
+import mei.exception.PageOutOfBoundsException;
 import mei.exception.TaskIndexOutOfBoundsException;
+import mei.exception.TaskQueryException;
 import mei.exception.UnknownTaskTypeException;
 import mei.exception.UnknownUserInputException;
+import mei.exception.UpcomingCountException;
+import mei.fileaccess.TaskExporter;
+import mei.fileaccess.TaskImporter;
+import mei.query.TaskQuery;
+import mei.task.Event;
 import mei.task.Task;
+import mei.task.TimedTask;
 
 /**
  *  Represents the manager for all user inputs towards the interaction with Mei.
@@ -18,9 +39,20 @@ import mei.task.Task;
  *  This manager also maintains a list of undo commands that the user can call undo on.
  */
 public class InputManager {
+    /** The pattern of a task id within an undo command, e.g. #12. **/
+    private static final Pattern TASK_ID_PATTERN = Pattern.compile("#(\\d+)");
+    /** The number of upcoming tasks shown when the user does not say how many. **/
+    private static final int DEFAULT_UPCOMING_TASKS = 5;
+    /** The pattern of a find keyword followed by the page to show, e.g. book /page 2. **/
+    private static final Pattern PAGED_KEYWORD_PATTERN = Pattern.compile("(.*\\S)\\s+/page\\s+(.*)");
+    /** The system property used to choose how many tasks are shown on a page, e.g. -Dmei.pageSize=100. **/
+    private static final String PAGE_SIZE_PROPERTY = "mei.pageSize";
+    /** The number of tasks shown on a page, unless chosen otherwise. **/
+    private static final int DEFAULT_PAGE_SIZE = 50;
     private static List<String> mostRecentUndoCommands = new ArrayList<>();
     private final TaskManager taskManager;
     private final ResponseManager responseManager;
+    private final int pageSize;
 
     /**
      * Initializes the input manager.
@@ -32,6 +64,7 @@ public class InputManager {
     public InputManager(TaskManager taskManager, ResponseManager responseManager) {
         this.taskManager = taskManager;
         this.responseManager = responseManager;
+        this.pageSize = Math.max(1, Integer.getInteger(PAGE_SIZE_PROPERTY, DEFAULT_PAGE_SIZE));
     }
 
     /**
@@ -53,18 +86,27 @@ public class InputManager {
 
         switch (keyword) {
         case "list":
-            redirectToListTasks();
+            redirectToListTasks(splitInput);
             break;
 
         case "mark":
-            shouldUpdateMostRecentUndoCommand = isSuccessRedirectToMarkTaskOfIndex(splitInput[1]);
+            shouldUpdateMostRecentUndoCommand = isManyTaskIndexes(splitInput[1])
+                    ? isSuccessRedirectToMarkTasksOfIndexes(splitInput[1])
+                    : isSuccessRedirectToMarkTaskOfIndex(splitInput[1]);
             break;
 
         case "unmark":
-            shouldUpdateMostRecentUndoCommand = isSuccessRedirectToUnMarkTaskOfIndex(splitInput[1]);
+            shouldUpdateMostRecentUndoCommand = isManyTaskIndexes(splitInput[1])
+                    ? isSuccessRedirectToUnmarkTasksOfIndexes(splitInput[1])
+                    : isSuccessRedirectToUnMarkTaskOfIndex(splitInput[1]);
             break;
 
         case "delete":
+            if (isManyTaskIndexes(splitInput[1])) {
+                // The undo command adds back every deleted task, so it is pushed by the redirect itself.
+                redirectToDeleteTasksOfIndexes(splitInput[1]);
+                break;
+            }
             shouldUpdateMostRecentUndoCommand = isSuccessRedirectToDeleteTaskOfIndex(splitInput[1]);
             break;
 
@@ -72,17 +114,55 @@ public class InputManager {
             redirectToFindTasks(splitInput);
             break;
 
+        case "cache":
+            responseManager.makeFindCacheResponse(taskManager.getTotalFindCacheHits(),
+                    taskManager.getTotalFindCacheMisses());
+            break;
+
+        case "find~":
+            redirectToFindTasksFuzzily(splitInput);
+            break;
+
+        case "conflicts":
+            EventConflictSweep eventConflictSweep = taskManager.sweepEventConflicts(pageSize);
+            responseManager.makeConflictsResponse(eventConflictSweep.getKeptConflicts(),
+                    eventConflictSweep.getTotalConflicts());
+            break;
+
+        case "upcoming":
+            redirectToFindUpcomingTasks(splitInput);
+            break;
+
+        case "query":
+            redirectToQueryTasks(splitInput);
+            break;
+
+        case "due":
+            redirectToFindDeadlinesDue(splitInput);
+            break;
+
+        case "events":
+            redirectToFindEventsDuring(splitInput);
+            break;
+
         case "undo":
             redirectToUndo();
             break;
 
+        case "import":
+            redirectToImportTasks(splitInput);
+            break;
+
+        case "export":
+            redirectToExportTasks(splitInput);
+            break;
+
         default:
             shouldUpdateMostRecentUndoCommand = isSuccessRedirectToAddTask(splitInput);
         }
 
-        // Pop the most recent reversed input if undo-ing.
+        // The most recent reversed input is popped by the undo itself once all of it has been redirected.
         if (isUndoCommand) {
-            popMostRecentUndoCommand();
             return;
         }
 
@@ -110,9 +190,21 @@ public class InputManager {
         return false;
     }
 
-    private void redirectToListTasks() {
-        String[] tasksToBeListed = taskManager.getTaskStringsToDisplay();
-        responseManager.makeListTasksResponse(tasksToBeListed);
+    private void redirectToListTasks(String[] splitInput) {
+        try {
+            int page = splitInput.length == 1 ? 1 : parsePage(splitInput[1].trim());
+            int totalPages = toTotalPages(taskManager.getTotalTasks());
+            if (page > totalPages) {
+                throw new PageOutOfBoundsException();
+            }
+
+            String[] tasksToBeListed = taskManager.getTaskStringsOfPageToDisplay(page, pageSize);
+            String nextPageCommand = page < totalPages ? "list " + (page + 1) : null;
+            responseManager.makeListTasksResponse(tasksToBeListed, nextPageCommand);
+
+        } catch (PageOutOfBoundsException e) {
+            e.echoErrorResponse();
+        }
     }
 
     private boolean isSuccessRedirectToMarkTaskOfIndex(String taskIndexString) {
@@ -148,12 +240,93 @@ public class InputManager {
         return true;
     }
 
+    private boolean isSuccessRedirectToMarkTasksOfIndexes(String taskIndexesString) {
+        int[] taskIndexesToMark = parseInputToTaskIndexes(taskIndexesString);
+        if (taskIndexesToMark == null) {
+            return false;
+        }
+
+        List<Task> markedTasks = taskManager.markTasks(taskIndexesToMark);
+        responseManager.makeMarkTasksResponse(markedTasks);
+        return true;
+    }
+
+    private boolean isSuccessRedirectToUnmarkTasksOfIndexes(String taskIndexesString) {
+        int[] taskIndexesToUnmark = parseInputToTaskIndexes(taskIndexesString);
+        if (taskIndexesToUnmark == null) {
+            return false;
+        }
+
+        List<Task> unmarkedTasks = taskManager.unmarkTasks(taskIndexesToUnmark);
+        responseManager.makeUnmarkTasksResponse(unmarkedTasks);
+        return true;
+    }
+
+    private void redirectToDeleteTasksOfIndexes(String taskIndexesString) {
+        int[] taskIndexesToDelete = parseInputToTaskIndexes(taskIndexesString);
+        if (taskIndexesToDelete == null) {
+            return;
+        }
+
+        List<Task> deletedTasks = taskManager.deleteTasks(taskIndexesToDelete);
+        responseManager.makeDeleteTasksResponse(deletedTasks);
+
+        // A single undo adds back every deleted task in their original order, one add task command per line.
+        mostRecentUndoCommands.add(deletedTasks.stream()
+                .map(Task::getAddTaskCommand)
+                .collect(Collectors.joining("\n")));
+    }
+
     private void redirectToFindTasks(String[] splitInput) {
         try {
             if (splitInput.length == 1) {
                 throw new EmptyTaskDescriptionException();
             }
-            String[] foundTasksAsStrings = taskManager.findTasksToDisplay(splitInput[1]);
+
+            String keyword = splitInput[1];
+            int page = 1;
+            Matcher pagedKeywordMatcher = PAGED_KEYWORD_PATTERN.matcher(keyword);
+            if (pagedKeywordMatcher.matches()) {
+                keyword = pagedKeywordMatcher.group(1);
+                page = parsePage(pagedKeywordMatcher.group(2).trim());
+            }
+
+            String[] foundTasksOnPage = taskManager.findTasksOfPageToDisplay(keyword, page, pageSize);
+            int totalPages = toTotalPages(taskManager.getTotalTasksOfLastFind());
+            if (page > totalPages) {
+                throw new PageOutOfBoundsException();
+            }
+
+            String nextPageCommand = page < totalPages ? "find " + keyword + " /page " + (page + 1) : null;
+            responseManager.makeFindTasksResponse(foundTasksOnPage, nextPageCommand);
+
+        } catch (EmptyTaskDescriptionException | PageOutOfBoundsException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    private int parsePage(String input) throws PageOutOfBoundsException {
+        int page = parseInputToInteger(input);
+        if (page < 1) {
+            throw new PageOutOfBoundsException();
+        }
+        return page;
+    }
+
+    /**
+     * Counts the pages needed to show the given number of rows, which is at least 1 even when there are no rows
+     * so that the first page can always tell the user that there is nothing to show.
+     */
+    private int toTotalPages(int totalRows) {
+        return Math.max(1, (int) (((long) totalRows + pageSize - 1) / pageSize));
+    }
+
+    private void redirectToFindTasksFuzzily(String[] splitInput) {
+        try {
+            if (splitInput.length == 1) {
+                throw new EmptyTaskDescriptionException();
+            }
+            String[] foundTasksAsStrings = taskManager.findTasksFuzzilyToDisplay(splitInput[1]);
             responseManager.makeFindTasksResponse(foundTasksAsStrings);
 
         } catch (EmptyTaskDescriptionException e) {
@@ -161,6 +334,146 @@ public class InputManager {
         }
     }
 
+    private void redirectToFindUpcomingTasks(String[] splitInput) {
+        try {
+            int totalTasks = splitInput.length == 1 ? DEFAULT_UPCOMING_TASKS : parseUpcomingCount(splitInput[1]);
+            String[] foundTasksAsStrings = taskManager.findUpcomingTasksToDisplay(LocalDateTime.now(), totalTasks);
+            responseManager.makeFindTasksResponse(foundTasksAsStrings);
+
+        } catch (UpcomingCountException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    private int parseUpcomingCount(String input) throws UpcomingCountException {
+        try {
+            int totalTasks = Integer.parseInt(input.trim());
+            if (totalTasks < 1) {
+                throw new UpcomingCountException();
+            }
+            return totalTasks;
+        } catch (NumberFormatException e) {
+            throw new UpcomingCountException();
+        }
+    }
+
+    private void redirectToQueryTasks(String[] splitInput) {
+        try {
+            if (splitInput.length == 1) {
+                throw new TaskQueryException();
+            }
+            TaskQuery query = TaskQuery.parse(splitInput[1]);
+            String[] foundTasksAsStrings = taskManager.findTasksMatchingQueryToDisplay(query);
+            responseManager.makeFindTasksResponse(foundTasksAsStrings);
+
+        } catch (TaskQueryException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    private void redirectToFindDeadlinesDue(String[] splitInput) {
+        try {
+            String[] queryAndDateTimes = splitInput.length == 1 ? new String[0] : splitInput[1].trim().split(" ", 2);
+            if (queryAndDateTimes.length < 2) {
+                throw new DateRangeQueryException();
+            }
+
+            String[] foundTasksAsStrings;
+            switch (queryAndDateTimes[0]) {
+            case "before":
+                LocalDateTime dateTime = TimedTask.convertDateTimeFormat(queryAndDateTimes[1]);
+                foundTasksAsStrings = taskManager.findDeadlinesDueBeforeToDisplay(dateTime);
+                break;
+
+            case "between":
+                LocalDateTime[] dateTimeRange = parseInputToDateTimeRange(queryAndDateTimes[1]);
+                foundTasksAsStrings = taskManager.findDeadlinesDueBetweenToDisplay(dateTimeRange[0], dateTimeRange[1]);
+                break;
+
+            default:
+                throw new DateRangeQueryException();
+            }
+            responseManager.makeFindTasksResponse(foundTasksAsStrings);
+
+        } catch (MeiException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    private void redirectToFindEventsDuring(String[] splitInput) {
+        try {
+            String[] queryAndDateTimes = splitInput.length == 1 ? new String[0] : splitInput[1].trim().split(" ", 2);
+            if (queryAndDateTimes.length < 2 || !queryAndDateTimes[0].equals("during")) {
+                throw new DateRangeQueryException();
+            }
+
+            LocalDateTime[] dateTimeRange = parseInputToDateTimeRange(queryAndDateTimes[1]);
+            String[] foundTasksAsStrings = taskManager.findEventsDuringToDisplay(dateTimeRange[0], dateTimeRange[1]);
+            responseManager.makeFindTasksResponse(foundTasksAsStrings);
+
+        } catch (MeiException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    /**
+     * Parses the given start and end date/times of a range, e.g. 2/12/2019 0000 8/12/2019 2359,
+     * where each date/time is in one of the input formats of timed tasks.
+     *
+     * @param input The input to parse.
+     * @return The start and end date/times of the range.
+     * @throws MeiException if the input is not two date/times, or the end date/time is before the start.
+     */
+    private LocalDateTime[] parseInputToDateTimeRange(String input) throws MeiException {
+        // Every date/time is made up of a date and a time separated by a space.
+        String[] dateTimeParts = input.trim().split("\\s+");
+        if (dateTimeParts.length != 4) {
+            throw new DateRangeQueryException();
+        }
+
+        LocalDateTime startDateTime = TimedTask.convertDateTimeFormat(dateTimeParts[0] + " " + dateTimeParts[1]);
+        LocalDateTime endDateTime = TimedTask.convertDateTimeFormat(dateTimeParts[2] + " " + dateTimeParts[3]);
+        if (endDateTime.isBefore(startDateTime)) {
+            throw new DatesNotInOrderException();
+        }
+        return new LocalDateTime[] {startDateTime, endDateTime};
+    }
+
+    private void redirectToImportTasks(String[] splitInput) {
+        try {
+            if (splitInput.length == 1 || splitInput[1].isBlank()) {
+                throw new ImportFileException();
+            }
+
+            TaskImporter taskImporter = taskManager.importTasks(Paths.get(splitInput[1].trim()));
+            responseManager.makeImportTasksResponse(taskImporter.getTotalAcceptedRows(),
+                    taskImporter.getTotalRejectedRows(), taskImporter.getRejectionReasons());
+
+        } catch (IOException | InvalidPathException e) {
+            new ImportFileException().echoErrorResponse();
+        } catch (ImportFileException e) {
+            e.echoErrorResponse();
+        }
+    }
+
+    private void redirectToExportTasks(String[] splitInput) {
+        try {
+            String[] formatAndPath = splitInput.length == 1 ? new String[0] : splitInput[1].trim().split(" ", 2);
+            boolean isFormatAndPathGiven = formatAndPath.length == 2 && !formatAndPath[1].isBlank();
+            if (!isFormatAndPathGiven || !TaskExporter.isFormatSupported(formatAndPath[0])) {
+                throw new ExportFileException();
+            }
+
+            int totalExportedTasks = taskManager.exportTasks(formatAndPath[0], Paths.get(formatAndPath[1].trim()));
+            responseManager.makeExportTasksResponse(totalExportedTasks);
+
+        } catch (IOException | InvalidPathException e) {
+            new ExportFileException().echoErrorResponse();
+        } catch (ExportFileException e) {
+            e.echoErrorResponse();
+        }
+    }
+
     private boolean isSuccessRedirectToAddTask(String[] splitInput) {
         try {
             String taskType = splitInput[0];
@@ -176,12 +489,16 @@ public class InputManager {
             }
 
             String description = splitInput[1];
-            Task addedTask = taskManager.processAddTask(String.join(" ", splitInput), taskType, description);
+            Task addedTask = taskManager.processAddTask(taskType, description);
 
             // No new task is created, which means task type is unknown
             // or task description does not contain enough information to create a new task.
             if (addedTask == null) {
                 throw new UnknownTaskTypeException();
+            } else if (addedTask instanceof Event) {
+                String[] clashingEvents = taskManager.findEventsClashingWithToDisplay((Event) addedTask);
+                responseManager.makeNewAddTaskResponse(addedTask, clashingEvents);
+                return true;
             } else {
                 responseManager.makeNewAddTaskResponse(addedTask);
                 return true;
@@ -200,19 +517,37 @@ public class InputManager {
                 throw new EmptyMostRecentReversedInputException();
             }
 
-            String mostRecentUndoCommand = getMostRecentUndoCommand();
-            redirectInput(mostRecentUndoCommand, true);
+            // An undo command made up of several lines, e.g. adding back a range of deleted tasks,
+            // is redirected one line at a time.
+            for (String mostRecentUndoCommand : getMostRecentUndoCommand().split("\n")) {
+                redirectInput(resolveTaskIds(mostRecentUndoCommand), true);
+            }
+            popMostRecentUndoCommand();
 
         } catch (EmptyMostRecentReversedInputException e) {
             e.echoErrorResponse();
         }
     }
 
+    /**
+     * Replaces every task id in the given undo command, written as #id, with the current index of that task.
+     * A task that no longer exists is replaced with an invalid task index, which is prompted as such.
+     *
+     * @param undoCommand The undo command to resolve.
+     * @return The undo command with task indexes instead of task ids.
+     */
+    private String resolveTaskIds(String undoCommand) {
+        Matcher taskIdMatcher = TASK_ID_PATTERN.matcher(undoCommand);
+        return taskIdMatcher.replaceAll(taskIdMatch ->
+                String.valueOf(taskManager.getTaskIndexOfId(Long.parseLong(taskIdMatch.group(1)))));
+    }
+
     /**
      * Reverses the input to the opposite command.
      * e.g. add -> delete, mark -> unmark and vice versa.
      * This method assumes that only reversible inputs are passed in.
-     * The input is also mutated here.
+     * The reversed command refers to tasks by their ids rather than their indexes,
+     * since the task indexes may have shifted by the time it is undone.
      *
      * @param splitInput The split input to reverse.
      * @return The reversed input command.
@@ -244,8 +579,8 @@ public class InputManager {
 
     private String convertToDeleteCommand(String[] splitInput) {
         String deleteCommand = "delete";
-        String taskIndexToDelete = String.valueOf(taskManager.getTotalTasks());
-        return deleteCommand + " " + taskIndexToDelete;
+        String taskIdToDelete = "#" + taskManager.getMostRecentAddedTaskId();
+        return deleteCommand + " " + taskIdToDelete;
     }
 
     private String convertToAddCommand(String[] splitInput) {
@@ -254,12 +589,22 @@ public class InputManager {
 
     private String convertToMarkCommand(String taskIndexString) {
         String markCommand = "mark";
-        return markCommand + " " + taskIndexString;
+        return markCommand + " " + convertToTaskIds(taskIndexString);
     }
 
     private String convertToUnmarkCommand(String taskIndexString) {
         String unmarkCommand = "unmark";
-        return unmarkCommand + " " + taskIndexString;
+        return unmarkCommand + " " + convertToTaskIds(taskIndexString);
+    }
+
+    private String convertToTaskIds(String taskIndexString) {
+        int[] taskIndexes = isManyTaskIndexes(taskIndexString)
+                ? parseInputToTaskIndexes(taskIndexString)
+                : new int[] {parseInputToInteger(taskIndexString)};
+
+        return Arrays.stream(taskIndexes)
+                .mapToObj(taskIndex -> "#" + taskManager.getTaskIdOfIndex(taskIndex))
+                .collect(Collectors.joining(","));
     }
 
     private String getMostRecentUndoCommand() {
@@ -270,6 +615,46 @@ public class InputManager {
         mostRecentUndoCommands.remove(mostRecentUndoCommands.size() - 1);
     }
 
+    private boolean isManyTaskIndexes(String input) {
+        return input.contains(",") || input.contains("-");
+    }
+
+    /**
+     * Parses the given comma-separated list of task indexes and task index ranges, e.g. 3,7,10-500,
+     * into the task indexes it covers, in ascending order and without duplicates.
+     * The error is prompted to the user if any of the task indexes is invalid or any range is backwards.
+     *
+     * @param input The input to parse.
+     * @return The task indexes covered by the input, or null if the input is problematic.
+     */
+    private int[] parseInputToTaskIndexes(String input) {
+        BitSet taskIndexes = new BitSet();
+
+        try {
+            for (String indexOrRange : input.split(",")) {
+                String[] rangeBounds = indexOrRange.split("-", 2);
+                int firstTaskIndex = parseInputToInteger(rangeBounds[0].trim());
+                int lastTaskIndex = rangeBounds.length == 1
+                        ? firstTaskIndex
+                        : parseInputToInteger(rangeBounds[1].trim());
+
+                boolean isRangeValid = taskManager.isTaskIndexValid(firstTaskIndex)
+                        && taskManager.isTaskIndexValid(lastTaskIndex)
+                        && firstTaskIndex <= lastTaskIndex;
+                if (!isRangeValid) {
+                    throw new TaskIndexOutOfBoundsException();
+                }
+
+                taskIndexes.set(firstTaskIndex, lastTaskIndex + 1);
+            }
+        } catch (TaskIndexOutOfBoundsException e) {
+            e.echoErrorResponse();
+            return null;
+        }
+
+        return taskIndexes.stream().toArray();
+    }
+
     /**
      * Parses the given string input into its int type and returns it.
      * There is no assumption that the input must be a number as a string,
@@ -0,0 +1,187 @@
+package mei.manager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import mei.task.Task;
+
+/**
+ * Represents a class that acts as a utility to filter and render a large number of tasks in parallel.
+ * The tasks are split into ranges that are each filtered on the common ForkJoin pool.
+ * Once every range is filtered, the number of the first task kept in every range is known
+ * from the number of tasks kept in the ranges before it, so every range is then rendered in parallel too,
+ * straight into its own part of the resulting array.
+ * Hence, the tasks are numbered exactly the same way as when they are filtered and rendered one after another.
+ * The positions of the tasks passing the filter can also be found on their own, leaving the rendering to the caller.
+ * <p>
+ * This class should not be interacted with directly but rather is used by the TaskManager class
+ * for lists of tasks that are large enough.
+ */
+public class ParallelTaskRender {
+    /** The smallest range of tasks worth handing to another thread. **/
+    private static final int MIN_RANGE_SIZE = 1 << 12;
+    /** The number of ranges per thread, so that threads that finish early can pick up more work. **/
+    private static final int RANGES_PER_THREAD = 4;
+
+    private ParallelTaskRender() {
+        // This class only holds static methods.
+    }
+
+    /**
+     * Keeps the tasks passing the given filter and renders them with their numbers, which start from 1.
+     * The tasks are got from different threads at once, so getting a task must not change any shared state.
+     *
+     * @param totalTasks The number of tasks to filter.
+     * @param taskGetter The getter of the task at every position from 0 to the number of tasks.
+     * @param filter The filter that the tasks to keep pass.
+     * @param renderer The renderer of every kept task along with its number.
+     * @return The rendered tasks, in the order of their positions.
+     */
+    public static String[] filterThenRender(int totalTasks, IntFunction<Task> taskGetter, Predicate<Task> filter,
+            BiFunction<Integer, Task, String> renderer) {
+        List<RangeFilterAction> rangeFilterActions = filterRanges(totalTasks, taskGetter, filter, true);
+
+        int totalKeptTasks = rangeFilterActions.stream().mapToInt(range -> range.keptTasks.size()).sum();
+        String[] renderedTasks = new String[totalKeptTasks];
+
+        List<RangeRenderAction> rangeRenderActions = new ArrayList<>();
+        int firstRangeResult = 0;
+        for (RangeFilterAction rangeFilterAction : rangeFilterActions) {
+            List<Task> keptTasks = rangeFilterAction.keptTasks;
+            rangeRenderActions.add(new RangeRenderAction(keptTasks, firstRangeResult, renderedTasks, renderer));
+            firstRangeResult += keptTasks.size();
+        }
+        invokeAll(rangeRenderActions);
+        return renderedTasks;
+    }
+
+    /**
+     * Finds the positions of the tasks passing the given filter.
+     * The tasks are got from different threads at once, so getting a task must not change any shared state.
+     *
+     * @param totalTasks The number of tasks to filter.
+     * @param taskGetter The getter of the task at every position from 0 to the number of tasks.
+     * @param filter The filter that the tasks to keep pass.
+     * @return The positions of the kept tasks, in ascending order.
+     */
+    public static int[] filterPositions(int totalTasks, IntFunction<Task> taskGetter, Predicate<Task> filter) {
+        List<RangeFilterAction> rangeFilterActions = filterRanges(totalTasks, taskGetter, filter, false);
+
+        int totalKeptTasks = rangeFilterActions.stream().mapToInt(range -> range.totalKeptPositions).sum();
+        int[] keptPositions = new int[totalKeptTasks];
+        int firstRangeResult = 0;
+        for (RangeFilterAction rangeFilterAction : rangeFilterActions) {
+            System.arraycopy(rangeFilterAction.keptPositions, 0, keptPositions, firstRangeResult,
+                    rangeFilterAction.totalKeptPositions);
+            firstRangeResult += rangeFilterAction.totalKeptPositions;
+        }
+        return keptPositions;
+    }
+
+    private static List<RangeFilterAction> filterRanges(int totalTasks, IntFunction<Task> taskGetter,
+            Predicate<Task> filter, boolean isKeepingTasks) {
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        int rangeSize = Math.max(MIN_RANGE_SIZE, totalTasks / (parallelism * RANGES_PER_THREAD));
+
+        List<RangeFilterAction> rangeFilterActions = new ArrayList<>();
+        for (int rangeStart = 0; rangeStart < totalTasks; rangeStart += rangeSize) {
+            int rangeEnd = Math.min(rangeStart + rangeSize, totalTasks);
+            rangeFilterActions.add(new RangeFilterAction(rangeStart, rangeEnd, taskGetter, filter, isKeepingTasks));
+        }
+        invokeAll(rangeFilterActions);
+        return rangeFilterActions;
+    }
+
+    private static void invokeAll(List<? extends RecursiveAction> actions) {
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(actions);
+            }
+        });
+    }
+
+    /**
+     * Represents the action of keeping the tasks passing the filter within a single range of positions.
+     * Either the kept tasks themselves or only their positions are kept.
+     */
+    private static class RangeFilterAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int rangeStart;
+        private final int rangeEnd;
+        private final IntFunction<Task> taskGetter;
+        private final Predicate<Task> filter;
+        private final boolean isKeepingTasks;
+        private final List<Task> keptTasks = new ArrayList<>();
+        private int[] keptPositions = new int[0];
+        private int totalKeptPositions = 0;
+
+        RangeFilterAction(int rangeStart, int rangeEnd, IntFunction<Task> taskGetter, Predicate<Task> filter,
+                boolean isKeepingTasks) {
+            this.rangeStart = rangeStart;
+            this.rangeEnd = rangeEnd;
+            this.taskGetter = taskGetter;
+            this.filter = filter;
+            this.isKeepingTasks = isKeepingTasks;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                Task task = taskGetter.apply(i);
+                if (!filter.test(task)) {
+                    continue;
+                }
+
+                if (isKeepingTasks) {
+                    keptTasks.add(task);
+                } else {
+                    keepPosition(i);
+                }
+            }
+        }
+
+        private void keepPosition(int position) {
+            if (totalKeptPositions == keptPositions.length) {
+                keptPositions = Arrays.copyOf(keptPositions, Math.max(16, totalKeptPositions * 2));
+            }
+            keptPositions[totalKeptPositions++] = position;
+        }
+    }
+
+    /**
+     * Represents the action of rendering the kept tasks of a single range into their part of the resulting array.
+     */
+    private static class RangeRenderAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Task> keptTasks;
+        private final int firstResult;
+        private final String[] renderedTasks;
+        private final BiFunction<Integer, Task, String> renderer;
+
+        RangeRenderAction(List<Task> keptTasks, int firstResult, String[] renderedTasks,
+                BiFunction<Integer, Task, String> renderer) {
+            this.keptTasks = keptTasks;
+            this.firstResult = firstResult;
+            this.renderedTasks = renderedTasks;
+            this.renderer = renderer;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < keptTasks.size(); i++) {
+                int result = firstResult + i;
+                renderedTasks[result] = renderer.apply(result + 1, keptTasks.get(i));
+            }
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package mei.manager;
 
+import java.util.List;
+
 import mei.response.AddTaskResponse;
+import mei.response.ConflictsResponse;
 import mei.response.DeleteTaskResponse;
+import mei.response.DeleteTasksResponse;
+import mei.response.ExportTasksResponse;
+import mei.response.FindCacheResponse;
 import mei.response.FindTasksResponse;
+import mei.response.ImportTasksResponse;
 import mei.response.ListTasksResponse;
 import mei.response.MarkTaskResponse;
+import mei.response.MarkTasksResponse;
 import mei.response.UnmarkTaskResponse;
+import mei.response.UnmarkTasksResponse;
 import mei.task.Task;
 
 /**
@@ -38,6 +47,23 @@ public class ResponseManager {
         addTaskResponse.formResponsesAndSet();
     }
 
+    /**
+     * Makes a new add task response object for an added event
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     * The response also warns the user about the other events that the added event clashes with.
+     *
+     * @param task The added event.
+     * @param clashingEvents The other events that the added event clashes with, in their displayed format.
+     */
+    public void makeNewAddTaskResponse(Task task, String[] clashingEvents) {
+        int totalTasks = taskManager.getTotalTasks();
+        assert totalTasks >= 1 : "total tasks after adding a new task should be at least 1";
+
+        AddTaskResponse addTaskResponse = new AddTaskResponse(task, totalTasks, clashingEvents);
+        addTaskResponse.formResponsesAndSet();
+    }
+
     /**
      * Makes a new delete task response object.
      * and does all the necessary processing before setting it as the application response
@@ -52,6 +78,20 @@ public class ResponseManager {
         deleteTaskResponse.formResponsesAndSet();
     }
 
+    /**
+     * Makes a new delete tasks response object for several tasks deleted at once
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param deletedTasks The deleted tasks.
+     */
+    public void makeDeleteTasksResponse(List<Task> deletedTasks) {
+        int totalTasks = taskManager.getTotalTasks();
+
+        DeleteTasksResponse deleteTasksResponse = new DeleteTasksResponse(deletedTasks, totalTasks);
+        deleteTasksResponse.formResponsesAndSet();
+    }
+
     /**
      * Makes a new list tasks response object.
      * and does all the necessary processing before setting it as the application response
@@ -65,6 +105,19 @@ public class ResponseManager {
         listTasksResponse.formResponsesAndSet();
     }
 
+    /**
+     * Makes a new list tasks response object for a single page of tasks
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param tasksToBeDisplayed The tasks on the page to be displayed to the user.
+     * @param nextPageCommand The command showing the next page, or null if this is the last page.
+     */
+    public void makeListTasksResponse(String[] tasksToBeDisplayed, String nextPageCommand) {
+        ListTasksResponse listTasksResponse = new ListTasksResponse(tasksToBeDisplayed, nextPageCommand);
+        listTasksResponse.formResponsesAndSet();
+    }
+
     /**
      * Makes a new mark task response object
      * and does all the necessary processing before setting it as the application response
@@ -89,6 +142,30 @@ public class ResponseManager {
         unmarkTaskResponse.formResponsesAndSet();
     }
 
+    /**
+     * Makes a new mark tasks response object for several tasks marked at once
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param markedTasks The tasks marked as completed.
+     */
+    public void makeMarkTasksResponse(List<Task> markedTasks) {
+        MarkTasksResponse markTasksResponse = new MarkTasksResponse(markedTasks);
+        markTasksResponse.formResponsesAndSet();
+    }
+
+    /**
+     * Makes a new unmark tasks response object for several tasks unmarked at once
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param unmarkedTasks The tasks marked as incomplete.
+     */
+    public void makeUnmarkTasksResponse(List<Task> unmarkedTasks) {
+        UnmarkTasksResponse unmarkTasksResponse = new UnmarkTasksResponse(unmarkedTasks);
+        unmarkTasksResponse.formResponsesAndSet();
+    }
+
     /**
      * Makes a new find task response object
      * and does all the necessary processing before setting it as the application response
@@ -102,4 +179,72 @@ public class ResponseManager {
         findTasksResponse.formResponsesAndSet();
     }
 
+    /**
+     * Makes a new find task response object for a single page of found tasks
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param foundTasks The found tasks on the page to be displayed to the user.
+     * @param nextPageCommand The command showing the next page, or null if this is the last page.
+     */
+    public void makeFindTasksResponse(String[] foundTasks, String nextPageCommand) {
+        FindTasksResponse findTasksResponse = new FindTasksResponse(foundTasks, nextPageCommand);
+        findTasksResponse.formResponsesAndSet();
+    }
+
+    /**
+     * Makes a new import tasks response object
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param totalAcceptedRows The number of rows that were imported as tasks.
+     * @param totalRejectedRows The number of rows that could not be imported.
+     * @param rejectionReasons The reasons of the first few rejected rows.
+     */
+    public void makeImportTasksResponse(int totalAcceptedRows, int totalRejectedRows,
+            List<String> rejectionReasons) {
+        ImportTasksResponse importTasksResponse = new ImportTasksResponse(totalAcceptedRows, totalRejectedRows,
+                rejectionReasons);
+        importTasksResponse.formResponsesAndSet();
+    }
+
+    /**
+     * Makes a new export tasks response object
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param totalExportedTasks The number of tasks that were exported.
+     */
+    public void makeExportTasksResponse(int totalExportedTasks) {
+        ExportTasksResponse exportTasksResponse = new ExportTasksResponse(totalExportedTasks);
+        exportTasksResponse.formResponsesAndSet();
+    }
+
+    /**
+     * Makes a new find cache response object
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     *
+     * @param totalHits The number of finds served from the find cache.
+     * @param totalMisses The number of finds that had to be looked up.
+     */
+    public void makeFindCacheResponse(long totalHits, long totalMisses) {
+        FindCacheResponse findCacheResponse = new FindCacheResponse(totalHits, totalMisses);
+        findCacheResponse.formResponsesAndSet();
+    }
+
+    /**
+     * Makes a new conflicts response object
+     * and does all the necessary processing before setting it as the application response
+     * to prompt back to the user.
+     * This considers the case where no events clash.
+     *
+     * @param conflicts The clashing pairs of events to be displayed to the user.
+     * @param totalConflicts The number of all clashing pairs, including those not displayed.
+     */
+    public void makeConflictsResponse(String[] conflicts, long totalConflicts) {
+        ConflictsResponse conflictsResponse = new ConflictsResponse(conflicts, totalConflicts);
+        conflictsResponse.formResponsesAndSet();
+    }
+
 }
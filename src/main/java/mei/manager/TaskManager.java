@@ -1,10 +1,24 @@
 package mei.manager;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import mei.exception.DateTimeConversionException;
 import mei.exception.DatesNotInOrderException;
@@ -12,9 +26,23 @@ import mei.exception.DeadlineNotEnoughInfoException;
 import mei.exception.EventNotEnoughInfoException;
 import mei.exception.MeiException;
 import mei.fileaccess.FileStorage;
+import mei.fileaccess.LazyTaskList;
+import mei.fileaccess.TaskExporter;
+import mei.fileaccess.TaskImporter;
+import mei.index.DeadlineIndex;
+import mei.index.EventIntervalTree;
+import mei.index.FuzzyWordIndex;
+import mei.index.KeywordIndex;
+import mei.index.TaskBitmapIndex;
+import mei.index.TaskIndex;
+import mei.index.TrigramIndex;
+import mei.index.UpcomingTaskIndex;
+import mei.query.QueryPlanner;
+import mei.query.TaskQuery;
 import mei.task.Deadline;
 import mei.task.Event;
 import mei.task.Task;
+import mei.task.TaskStore;
 import mei.task.ToDo;
 
 /**
@@ -26,10 +54,34 @@ import mei.task.ToDo;
 public class TaskManager {
     /** The set of task types that are valid, be sure to update this when new task types are added. **/
     private static final HashSet<String> TASK_TYPES = new HashSet<>();
+    /** The system property used to choose from how many tasks they are found or listed in parallel. **/
+    private static final String PARALLEL_THRESHOLD_PROPERTY = "mei.parallel";
+    /** The number of tasks from which they are found or listed in parallel, unless chosen otherwise. **/
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    /** The most find results kept in the find cache. **/
+    private static final int FIND_CACHE_CAPACITY = 32;
     private static Task mostRecentDeletedTask;
 
     private final List<Task> tasks;
     private final FileStorage fileStorage;
+    private final int parallelThreshold;
+    private final FindResultCache<int[]> findResultCache = new FindResultCache<>(FIND_CACHE_CAPACITY);
+    /** The number of times tasks have been added, marked, unmarked or deleted, which stamps every cached result. **/
+    private long modificationCount = 0;
+    private int totalTasksOfLastFind = 0;
+    private final Map<Long, Integer> taskIndexesById = new HashMap<>();
+    private boolean isTaskIdIndexBuilt = false;
+    private long nextTaskId = Task.NO_ID;
+    private long mostRecentAddedTaskId = Task.NO_ID;
+    /** Every index that has been built, each of which is only built once it is first needed. **/
+    private final List<TaskIndex> builtIndexes = new ArrayList<>();
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private DeadlineIndex deadlineIndex;
+    private EventIntervalTree eventIntervalTree;
+    private FuzzyWordIndex fuzzyWordIndex;
+    private TaskBitmapIndex taskBitmapIndex;
+    private UpcomingTaskIndex upcomingTaskIndex;
 
     /**
      * Initializes the valid task types and adds them to the set of task types.
@@ -47,42 +99,42 @@ public class TaskManager {
 
         this.tasks = tasks;
         this.fileStorage = fileStorage;
+        this.parallelThreshold = Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD);
     }
 
     /**
      * Processes new added tasks before returning them to the response manager to prompt the user.
      * Assumes that there are only 3 types of tasks to be considered: todo, deadline and event.
      *
-     * @param addTaskCommand The original command used when the task to process is added.
      * @param taskType The type of the task.
      * @param taskDescriptionAsCommand The description of the task as a command.
      * @return The processed task itself, or null if the task type does not match any of the valid types.
      */
-    public Task processAddTask(String addTaskCommand, String taskType, String taskDescriptionAsCommand)
+    public Task processAddTask(String taskType, String taskDescriptionAsCommand)
             throws MeiException {
         switch (taskType) {
         case "todo":
-            return addTodoTaskAndReturn(addTaskCommand, taskDescriptionAsCommand);
+            return addTodoTaskAndReturn(taskDescriptionAsCommand);
 
         case "deadline":
-            return addDeadlineTaskAndReturn(addTaskCommand, taskDescriptionAsCommand);
+            return addDeadlineTaskAndReturn(taskDescriptionAsCommand);
 
         case "event":
-            return addEventTaskAndReturn(addTaskCommand, taskDescriptionAsCommand);
+            return addEventTaskAndReturn(taskDescriptionAsCommand);
 
         default:
             return null;
         }
     }
 
-    private Task addTodoTaskAndReturn(String addTaskCommand, String description) {
+    private Task addTodoTaskAndReturn(String description) {
 
-        ToDo newTask = new ToDo(description, addTaskCommand);
+        ToDo newTask = new ToDo(description);
         addTask(newTask);
         return newTask;
     }
 
-    private Task addDeadlineTaskAndReturn(String addTaskCommand, String taskDescriptionAsCommand)
+    private Task addDeadlineTaskAndReturn(String taskDescriptionAsCommand)
             throws DeadlineNotEnoughInfoException, DateTimeConversionException {
         String taskStringSplitRegex = "/by";
         String[] taskDescriptionSplit = taskDescriptionAsCommand.split(taskStringSplitRegex, 2);
@@ -95,13 +147,13 @@ public class TaskManager {
         String deadlineDateTime = taskDescriptionSplit[1];
 
         // A date/time conversion exception may be thrown here.
-        Deadline newTask = new Deadline(description, deadlineDateTime, addTaskCommand);
+        Deadline newTask = new Deadline(description, deadlineDateTime);
         addTask(newTask);
 
         return newTask;
     }
 
-    private Task addEventTaskAndReturn(String addTaskCommand, String taskDescriptionAsCommand)
+    private Task addEventTaskAndReturn(String taskDescriptionAsCommand)
             throws EventNotEnoughInfoException, DateTimeConversionException, DatesNotInOrderException {
         String taskStringSplitRegex = "(/from|/to)";
         String[] taskDescriptionSplit = taskDescriptionAsCommand.split(taskStringSplitRegex, 3);
@@ -115,7 +167,7 @@ public class TaskManager {
         String endDateTime = taskDescriptionSplit[2];
 
         // A date/time conversion exception may be thrown here.
-        Event newTask = new Event(description, startDateTime, endDateTime, addTaskCommand);
+        Event newTask = new Event(description, startDateTime, endDateTime);
         addTask(newTask);
 
         return newTask;
@@ -129,10 +181,99 @@ public class TaskManager {
      */
     public void addTask(Task task) {
         assert task != null : "task added should never be null";
+        giveNextTaskId(task);
+        mostRecentAddedTaskId = task.getId();
         tasks.add(task);
+        modificationCount++;
+        indexAddedTasks(List.of(task));
         fileStorage.writeTask(task);
     }
 
+    /**
+     * Adds several new tasks to the list of tasks at once.
+     * The file storage is told to write all of them together.
+     *
+     * @param newTasks The new tasks to be added.
+     */
+    public void addTasks(List<Task> newTasks) {
+        newTasks.forEach(this::giveNextTaskId);
+        tasks.addAll(newTasks);
+        modificationCount++;
+        indexAddedTasks(newTasks);
+        fileStorage.writeTasks(newTasks);
+    }
+
+    private void giveNextTaskId(Task task) {
+        // The next id is only known once every saved id has been read, which is left until a task is added.
+        buildTaskIdIndexIfAbsent();
+        task.setId(nextTaskId++);
+    }
+
+    private void indexAddedTasks(List<Task> addedTasks) {
+        for (TaskIndex builtIndex : builtIndexes) {
+            addedTasks.forEach(builtIndex::addTask);
+        }
+        if (!isTaskIdIndexBuilt) {
+            return;
+        }
+
+        int firstAddedTaskIndex = tasks.size() - addedTasks.size();
+        for (int i = 0; i < addedTasks.size(); i++) {
+            taskIndexesById.put(addedTasks.get(i).getId(), firstAddedTaskIndex + i);
+        }
+    }
+
+    private void unindexDeletedTasks(List<Task> deletedTasks, int[] deletedTaskIndexes) {
+        for (TaskIndex builtIndex : builtIndexes) {
+            deletedTasks.forEach(builtIndex::removeTask);
+        }
+        if (!isTaskIdIndexBuilt) {
+            return;
+        }
+
+        deletedTasks.forEach(task -> taskIndexesById.remove(task.getId()));
+        // Every task after a deleted one has moved up by the number of deleted tasks before it.
+        taskIndexesById.replaceAll((id, slot) -> slot + Arrays.binarySearch(deletedTaskIndexes, slot + 1) + 1);
+    }
+
+    private void reindexStatusOfTasks(List<Task> changedTasks) {
+        for (TaskIndex builtIndex : builtIndexes) {
+            changedTasks.forEach(builtIndex::updateTaskStatus);
+        }
+    }
+
+    /**
+     * Imports every task from the given CSV or iCalendar file.
+     * The file is streamed and the imported tasks are added in batches.
+     *
+     * @param path The path of the file to import.
+     * @return The importer holding the summary of the accepted and rejected rows.
+     * @throws IOException if an error occurred while reading the file.
+     */
+    public TaskImporter importTasks(Path path) throws IOException {
+        TaskImporter taskImporter = new TaskImporter(this::addTasks);
+        taskImporter.importFile(path);
+        return taskImporter;
+    }
+
+    /**
+     * Exports every task to the given file in the given format.
+     * The tasks are written one at a time as the list of tasks is walked through.
+     *
+     * @param format The format to export to, which must be one of TaskExporter.FORMATS.
+     * @param path The path of the file to export to.
+     * @return The number of exported tasks.
+     * @throws IOException if an error occurred while writing the file.
+     */
+    public int exportTasks(String format, Path path) throws IOException {
+        try (TaskExporter taskExporter = new TaskExporter(format, path)) {
+            forEachTask(taskExporter::exportTask);
+            return taskExporter.getTotalExportedTasks();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Marks the given task as completed.
      *
@@ -144,8 +285,12 @@ public class TaskManager {
 
         Task taskToBeMarked = tasks.get(taskIndex - 1);
         taskToBeMarked.completeTask();
+        // A task store only hands out views of its tasks, so the change is set back into the list.
+        tasks.set(taskIndex - 1, taskToBeMarked);
+        modificationCount++;
+        reindexStatusOfTasks(List.of(taskToBeMarked));
 
-        fileStorage.overwriteTask(taskIndex, taskToBeMarked.getTaskDataString());
+        fileStorage.updateTaskStatus(taskIndex, taskToBeMarked);
 
         return taskToBeMarked;
     }
@@ -162,8 +307,11 @@ public class TaskManager {
 
         Task taskToBeUnmarked = tasks.get(taskIndex - 1);
         taskToBeUnmarked.uncheckTask();
+        tasks.set(taskIndex - 1, taskToBeUnmarked);
+        modificationCount++;
+        reindexStatusOfTasks(List.of(taskToBeUnmarked));
 
-        fileStorage.overwriteTask(taskIndex, taskToBeUnmarked.getTaskDataString());
+        fileStorage.updateTaskStatus(taskIndex, taskToBeUnmarked);
 
         return taskToBeUnmarked;
     }
@@ -179,34 +327,527 @@ public class TaskManager {
     public Task deleteTask(int taskIndex) {
         assert isTaskIndexValid(taskIndex) : "task index to be deleted should be valid";
 
-        Task taskToBeDeleted = tasks.get(taskIndex - 1);
-        tasks.remove(taskToBeDeleted);
+        Task taskToBeDeleted = tasks.remove(taskIndex - 1);
         mostRecentDeletedTask = taskToBeDeleted;
+        modificationCount++;
+        unindexDeletedTasks(List.of(taskToBeDeleted), new int[] {taskIndex});
 
         fileStorage.removeTask(taskIndex);
 
         return taskToBeDeleted;
     }
 
+    /**
+     * Marks every task at the given task indexes as completed.
+     * The file storage is told to write all of them at once.
+     *
+     * @param taskIndexes The indexes of the tasks to be marked as completed, in ascending order.
+     * @return The completed tasks themselves.
+     */
+    public List<Task> markTasks(int[] taskIndexes) {
+        List<Task> tasksToBeMarked = getTasksOfIndexes(taskIndexes);
+        tasksToBeMarked.forEach(Task::completeTask);
+        setTasksOfIndexes(taskIndexes, tasksToBeMarked);
+        modificationCount++;
+        reindexStatusOfTasks(tasksToBeMarked);
+
+        fileStorage.updateTasksStatus(taskIndexes, tasksToBeMarked);
+
+        return tasksToBeMarked;
+    }
+
+    /**
+     * Marks every task at the given task indexes as incomplete.
+     * The file storage is told to write all of them at once.
+     *
+     * @param taskIndexes The indexes of the tasks to be marked as incomplete, in ascending order.
+     * @return The unmarked tasks themselves to be prompted to the user.
+     */
+    public List<Task> unmarkTasks(int[] taskIndexes) {
+        List<Task> tasksToBeUnmarked = getTasksOfIndexes(taskIndexes);
+        tasksToBeUnmarked.forEach(Task::uncheckTask);
+        setTasksOfIndexes(taskIndexes, tasksToBeUnmarked);
+        modificationCount++;
+        reindexStatusOfTasks(tasksToBeUnmarked);
+
+        fileStorage.updateTasksStatus(taskIndexes, tasksToBeUnmarked);
+
+        return tasksToBeUnmarked;
+    }
+
+    /**
+     * Deletes every task at the given task indexes.
+     * The remaining tasks are moved up in a single pass over the list of tasks,
+     * and the file storage is told to remove all of them at once.
+     *
+     * @param taskIndexes The indexes of the tasks to be deleted, in ascending order.
+     * @return The deleted tasks themselves to be prompted to the user.
+     */
+    public List<Task> deleteTasks(int[] taskIndexes) {
+        List<Task> tasksToBeDeleted = getTasksOfIndexes(taskIndexes);
+
+        // Tasks are matched by their position, since a task store hands out a new view on every retrieval.
+        BitSet deletedIndexes = new BitSet();
+        for (int taskIndex : taskIndexes) {
+            deletedIndexes.set(taskIndex - 1);
+        }
+        removeTasksOfIndexes(deletedIndexes);
+        modificationCount++;
+        unindexDeletedTasks(tasksToBeDeleted, taskIndexes);
+
+        fileStorage.removeTasks(taskIndexes);
+
+        return tasksToBeDeleted;
+    }
+
+    private void removeTasksOfIndexes(BitSet deletedIndexes) {
+        // A lazy task list can move its lines up without processing the tasks that have not been read yet.
+        if (tasks instanceof LazyTaskList) {
+            ((LazyTaskList) tasks).removeIndexes(deletedIndexes);
+            return;
+        }
+        // A task store can move its columns up without creating a task for every one of them.
+        if (tasks instanceof TaskStore) {
+            ((TaskStore) tasks).removeIndexes(deletedIndexes);
+            return;
+        }
+
+        AtomicInteger currentIndex = new AtomicInteger();
+        tasks.removeIf(task -> deletedIndexes.get(currentIndex.getAndIncrement()));
+    }
+
+    private List<Task> getTasksOfIndexes(int[] taskIndexes) {
+        List<Task> tasksOfIndexes = new ArrayList<>(taskIndexes.length);
+        for (int taskIndex : taskIndexes) {
+            assert isTaskIndexValid(taskIndex) : "task indexes to be processed should be valid";
+            tasksOfIndexes.add(tasks.get(taskIndex - 1));
+        }
+        return tasksOfIndexes;
+    }
+
+    private void setTasksOfIndexes(int[] taskIndexes, List<Task> tasksOfIndexes) {
+        for (int i = 0; i < taskIndexes.length; i++) {
+            tasks.set(taskIndexes[i] - 1, tasksOfIndexes.get(i));
+        }
+    }
+
     /**
      * Finds the tasks based on the given keyword.
      * The keyword check is only done to the task description.
      * These tasks are converted into the desired display format and collected into an array.
+     * <p>
+     * The tasks having every trigram of the keyword are looked up in the trigram index,
+     * and only those are checked for the keyword itself.
+     * A keyword too short to have a trigram is looked up through the words containing it in the keyword index
+     * if it is made up of only letters and digits, and is checked against every task otherwise.
+     * Tasks are checked and converted in parallel once there are enough of them to check.
+     * <p>
+     * The task indexes of the tasks found for recently used keywords are kept, and served again as long as
+     * no task has been added, marked, unmarked or deleted since.
      *
      * @param keyword The keyword used to find tasks.
      * @return The array of tasks in their displayed format.
      */
     public String[] findTasksToDisplay(String keyword) {
+        int[] foundTaskIndexes = findTaskIndexesContaining(keyword);
+        totalTasksOfLastFind = foundTaskIndexes.length;
+        if (isParallelWorthwhile(foundTaskIndexes.length)) {
+            return ParallelTaskRender.filterThenRender(foundTaskIndexes.length,
+                    i -> tasks.get(foundTaskIndexes[i] - 1), Objects::nonNull, this::getTaskDisplayString);
+        }
+        return toFoundTaskStrings(foundTaskIndexes, 0, foundTaskIndexes.length);
+    }
+
+    /**
+     * Finds the tasks based on the given keyword the same way as findTasksToDisplay,
+     * but only converts the tasks on the given page into the desired display format.
+     * The tasks are numbered by their order among all the found tasks.
+     * The number of all the found tasks can be got from getTotalTasksOfLastFind afterwards.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @param page The page to format, starting from 1.
+     * @param pageSize The most tasks on a page.
+     * @return The found tasks on the page in their displayed format.
+     */
+    public String[] findTasksOfPageToDisplay(String keyword, int page, int pageSize) {
+        int[] foundTaskIndexes = findTaskIndexesContaining(keyword);
+        totalTasksOfLastFind = foundTaskIndexes.length;
+
+        int firstFoundTask = (int) Math.min((long) (page - 1) * pageSize, foundTaskIndexes.length);
+        int lastFoundTask = (int) Math.min((long) page * pageSize, foundTaskIndexes.length);
+        return toFoundTaskStrings(foundTaskIndexes, firstFoundTask, lastFoundTask);
+    }
+
+    private String[] toFoundTaskStrings(int[] foundTaskIndexes, int firstFoundTask, int lastFoundTask) {
+        String[] foundTaskStrings = new String[lastFoundTask - firstFoundTask];
+        for (int i = 0; i < foundTaskStrings.length; i++) {
+            int foundTask = firstFoundTask + i;
+            foundTaskStrings[i] = getTaskDisplayString(foundTask + 1, tasks.get(foundTaskIndexes[foundTask] - 1));
+        }
+        return foundTaskStrings;
+    }
+
+    private int[] findTaskIndexesContaining(String keyword) {
+        return findResultCache.getOrFind(keyword, modificationCount, this::findTaskIndexesContainingUncached);
+    }
+
+    private int[] findTaskIndexesContainingUncached(String keyword) {
+        if (!TrigramIndex.isKeywordIndexable(keyword) && KeywordIndex.isKeywordIndexable(keyword)) {
+            return findTaskIndexesHavingWordsContaining(keyword);
+        }
+        // A task store checks the descriptions without creating a task for every one of them.
+        if (tasks instanceof TaskStore && !TrigramIndex.isKeywordIndexable(keyword)) {
+            return toTaskIndexes(((TaskStore) tasks).findIndexesContaining(keyword));
+        }
+
+        Predicate<Task> isContainingKeyword = task -> task.isDescriptionContainsKeyword(keyword);
+        int[] candidateTaskIndexes = TrigramIndex.isKeywordIndexable(keyword)
+                ? findTaskIndexesHavingTrigramsOf(keyword)
+                : findTaskIndexesPossiblyContaining(keyword);
+        if (isParallelWorthwhile(candidateTaskIndexes.length)) {
+            int[] keptCandidates = ParallelTaskRender.filterPositions(candidateTaskIndexes.length,
+                    i -> tasks.get(candidateTaskIndexes[i] - 1), isContainingKeyword);
+            return Arrays.stream(keptCandidates).map(i -> candidateTaskIndexes[i]).toArray();
+        }
+        return Arrays.stream(candidateTaskIndexes)
+                .filter(taskIndex -> isContainingKeyword.test(tasks.get(taskIndex - 1)))
+                .toArray();
+    }
+
+    private int[] findTaskIndexesHavingWordsContaining(String keyword) {
+        if (keywordIndex == null) {
+            keywordIndex = buildIndex(new KeywordIndex());
+        }
+        return Arrays.stream(keywordIndex.findIdsContaining(keyword))
+                .mapToInt(this::getTaskIndexOfId)
+                .sorted()
+                .toArray();
+    }
+
+    private int[] findTaskIndexesPossiblyContaining(String keyword) {
+        // A lazy task list can rule out most tasks from their raw task data without processing them.
+        if (tasks instanceof LazyTaskList) {
+            return toTaskIndexes(((LazyTaskList) tasks).findIndexesPossiblyContaining(keyword));
+        }
+        return IntStream.rangeClosed(1, tasks.size()).toArray();
+    }
+
+    private static int[] toTaskIndexes(int[] listIndexes) {
+        return Arrays.stream(listIndexes).map(i -> i + 1).toArray();
+    }
+
+    private int[] findTaskIndexesHavingTrigramsOf(String keyword) {
+        if (trigramIndex == null) {
+            trigramIndex = buildIndex(new TrigramIndex());
+        }
+        int[] matchingIds = trigramIndex.findIdsPossiblyContaining(keyword);
+        // Ids grow from the first task to the last, but sorting keeps the tasks in order regardless.
+        return Arrays.stream(matchingIds)
+                .map(this::getTaskIndexOfId)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Checks whether the given number of tasks is enough to be worth checking and converting in parallel.
+     * A lazy task list reads its tasks as they are first got, so its tasks are never got from several threads.
+     */
+    private boolean isParallelWorthwhile(int totalTasks) {
+        return totalTasks >= parallelThreshold && tasks instanceof RandomAccess && !(tasks instanceof LazyTaskList);
+    }
+
+    /**
+     * Finds the tasks whose description has a word close to every word of the given keyword,
+     * so that misspelt keywords still find their tasks.
+     * These tasks are ranked from the fewest total edits to the most, then by their order in the list,
+     * and converted into the desired display format and collected into an array.
+     * <p>
+     * The words within the allowed edit distance of each keyword word are looked up in the fuzzy word index,
+     * and words of at most two characters have to match exactly.
+     *
+     * @param keyword The possibly misspelt keyword used to find tasks.
+     * @return The array of tasks in their displayed format.
+     */
+    public String[] findTasksFuzzilyToDisplay(String keyword) {
+        List<String> keywordWords = FuzzyWordIndex.toWords(keyword);
+        if (keywordWords.isEmpty()) {
+            return new String[0];
+        }
+
+        if (fuzzyWordIndex == null) {
+            fuzzyWordIndex = buildIndex(new FuzzyWordIndex());
+        }
+        Map<Long, Integer> totalDistancesById = null;
+        for (String keywordWord : keywordWords) {
+            Map<Long, Integer> distancesById = fuzzyWordIndex.findIdsWithinDistance(keywordWord,
+                    FuzzyWordIndex.toMaxDistance(keywordWord));
+            if (totalDistancesById == null) {
+                totalDistancesById = distancesById;
+            } else {
+                totalDistancesById.keySet().retainAll(distancesById.keySet());
+                totalDistancesById.replaceAll((id, totalDistance) -> totalDistance + distancesById.get(id));
+            }
+        }
+
+        Map<Long, Integer> rankedDistancesById = totalDistancesById;
+        Stream<Task> foundTasks = rankedDistancesById.keySet().stream()
+                .sorted(Comparator.<Long>comparingInt(rankedDistancesById::get)
+                        .thenComparingInt(this::getTaskIndexOfId))
+                .map(id -> tasks.get(getTaskIndexOfId(id) - 1));
+        return toNumberedDisplayStrings(foundTasks);
+    }
+
+    /**
+     * Finds the deadlines due before the given date/time, from the earliest deadline to the latest.
+     * These tasks are converted into the desired display format and collected into an array.
+     *
+     * @param dateTime The date/time that the deadlines are due before.
+     * @return The array of deadlines in their displayed format.
+     */
+    public String[] findDeadlinesDueBeforeToDisplay(LocalDateTime dateTime) {
+        if (deadlineIndex == null) {
+            deadlineIndex = buildIndex(new DeadlineIndex());
+        }
+        return toNumberedDisplayStrings(streamTasksOfIds(deadlineIndex.findIdsDueBefore(dateTime)));
+    }
+
+    /**
+     * Finds the deadlines due between the given date/times, both inclusive, from the earliest deadline to the latest.
+     * These tasks are converted into the desired display format and collected into an array.
+     *
+     * @param startDateTime The earliest date/time that the deadlines are due.
+     * @param endDateTime The latest date/time that the deadlines are due.
+     * @return The array of deadlines in their displayed format.
+     */
+    public String[] findDeadlinesDueBetweenToDisplay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (deadlineIndex == null) {
+            deadlineIndex = buildIndex(new DeadlineIndex());
+        }
+        long[] dueIds = deadlineIndex.findIdsDueBetween(startDateTime, endDateTime);
+        return toNumberedDisplayStrings(streamTasksOfIds(dueIds));
+    }
+
+    /**
+     * Finds the events that overlap the given range of date/times, from the earliest start date/time to the latest.
+     * These tasks are converted into the desired display format and collected into an array.
+     *
+     * @param startDateTime The start of the range.
+     * @param endDateTime The end of the range.
+     * @return The array of events in their displayed format.
+     */
+    public String[] findEventsDuringToDisplay(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (eventIntervalTree == null) {
+            eventIntervalTree = buildIndex(new EventIntervalTree());
+        }
+        long[] overlappingIds = eventIntervalTree.findIdsOverlapping(startDateTime, endDateTime);
+        return toNumberedDisplayStrings(streamTasksOfIds(overlappingIds));
+    }
+
+    /**
+     * Finds the next deadlines and events that are not done from the given date/time,
+     * ordered by when they are due or when they start.
+     * These tasks are converted into the desired display format and collected into an array.
+     * <p>
+     * The upcoming task index is kept up to date as tasks are added, deleted, marked and unmarked,
+     * so only the tasks that are shown are walked through.
+     *
+     * @param dateTime The date/time to find the tasks from, inclusive.
+     * @param totalTasks The most tasks to find.
+     * @return The array of tasks in their displayed format.
+     */
+    public String[] findUpcomingTasksToDisplay(LocalDateTime dateTime, int totalTasks) {
+        if (upcomingTaskIndex == null) {
+            upcomingTaskIndex = buildIndex(new UpcomingTaskIndex());
+        }
+        return toNumberedDisplayStrings(streamTasksOfIds(upcomingTaskIndex.findIdsUpcoming(dateTime, totalTasks)));
+    }
+
+    /**
+     * Finds the other events that clash with the given event, from the earliest start date/time to the latest.
+     * These events are converted into the desired display format, numbered by their task indexes,
+     * and collected into an array.
+     * <p>
+     * The events overlapping the given event are looked up in the event interval tree,
+     * leaving out the events that only end right when it starts or start right when it ends.
+     *
+     * @param event The event to check, which may already be in the list.
+     * @return The array of clashing events in their displayed format.
+     */
+    public String[] findEventsClashingWithToDisplay(Event event) {
+        if (eventIntervalTree == null) {
+            eventIntervalTree = buildIndex(new EventIntervalTree());
+        }
+        long[] overlappingIds = eventIntervalTree.findIdsOverlapping(event.getStartDateTime(), event.getEndDateTime());
+        return Arrays.stream(overlappingIds)
+                .filter(id -> id != event.getId())
+                .mapToInt(this::getTaskIndexOfId)
+                .filter(taskIndex -> event.isClashingWith((Event) tasks.get(taskIndex - 1)))
+                .mapToObj(taskIndex -> getTaskDisplayString(taskIndex, tasks.get(taskIndex - 1)))
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Finds every pair of events that clash by sweeping through all the events once.
+     *
+     * @param maxKeptConflicts The most clashing pairs to keep to be shown, while every pair is still counted.
+     * @return The sweep holding the kept clashing pairs and the number of all of them.
+     */
+    public EventConflictSweep sweepEventConflicts(int maxKeptConflicts) {
+        EventConflictSweep eventConflictSweep = new EventConflictSweep();
+        AtomicInteger currentIndex = new AtomicInteger();
+        forEachTask(task -> {
+            int taskIndex = currentIndex.incrementAndGet();
+            if (task instanceof Event) {
+                eventConflictSweep.addEvent(taskIndex, (Event) task);
+            }
+        });
+
+        eventConflictSweep.sweep(maxKeptConflicts);
+        return eventConflictSweep;
+    }
+
+    /**
+     * Finds the tasks passing every filter of the given query, in their order in the list.
+     * These tasks are converted into the desired display format and collected into an array.
+     * <p>
+     * Every index that can narrow the query down offers the planner the number of ids it would hand out:
+     * the type and status bitmaps, the trigram index for every description keyword, and the deadline index.
+     * Only the tasks of the index handing out the fewest ids are checked against the whole query,
+     * and every task is walked through instead if none of the indexes narrows the query down enough.
+     *
+     * @param query The query to match.
+     * @return The array of tasks in their displayed format.
+     */
+    public String[] findTasksMatchingQueryToDisplay(TaskQuery query) {
+        QueryPlanner queryPlanner = new QueryPlanner(tasks.size());
+        offerTaskBitmapAccessPath(query, queryPlanner);
+        offerTrigramAccessPaths(query, queryPlanner);
+        offerDeadlineAccessPath(query, queryPlanner);
+
+        Stream<Task> candidateTasks;
+        if (!queryPlanner.isScanCheapest()) {
+            candidateTasks = streamTasksOfIdsInListOrder(queryPlanner.findCandidateIds());
+        } else if (!query.getDescriptionKeywords().isEmpty()) {
+            candidateTasks = streamTasksPossiblyContaining(query.getDescriptionKeywords().get(0));
+        } else {
+            candidateTasks = tasks.stream();
+        }
+        return toNumberedDisplayStrings(candidateTasks.filter(query::isMatching));
+    }
+
+    private void offerTaskBitmapAccessPath(TaskQuery query, QueryPlanner queryPlanner) {
+        if (query.getTaskClassName() == null && !query.isStatusGiven()) {
+            return;
+        }
+
+        if (taskBitmapIndex == null) {
+            taskBitmapIndex = buildIndex(new TaskBitmapIndex());
+        }
+        BitSet matchingIds = null;
+        if (query.getTaskClassName() != null) {
+            matchingIds = taskBitmapIndex.findIdsOfType(query.getTaskClassName());
+        }
+        if (query.isStatusGiven()) {
+            BitSet idsWithStatus = taskBitmapIndex.findIdsWithStatus(query.isDone());
+            if (matchingIds == null) {
+                matchingIds = idsWithStatus;
+            } else {
+                matchingIds.and(idsWithStatus);
+            }
+        }
+
+        BitSet candidateIds = matchingIds;
+        queryPlanner.offerAccessPath(candidateIds.cardinality(),
+                () -> candidateIds.stream().asLongStream().toArray());
+    }
+
+    private void offerTrigramAccessPaths(TaskQuery query, QueryPlanner queryPlanner) {
+        for (String keyword : query.getDescriptionKeywords()) {
+            if (!TrigramIndex.isKeywordIndexable(keyword)) {
+                continue;
+            }
+
+            if (trigramIndex == null) {
+                trigramIndex = buildIndex(new TrigramIndex());
+            }
+            queryPlanner.offerAccessPath(trigramIndex.countIdsPossiblyContaining(keyword),
+                    () -> Arrays.stream(trigramIndex.findIdsPossiblyContaining(keyword)).asLongStream().toArray());
+        }
+    }
+
+    private void offerDeadlineAccessPath(TaskQuery query, QueryPlanner queryPlanner) {
+        if (!query.isDueDateGiven()) {
+            return;
+        }
+
+        if (deadlineIndex == null) {
+            deadlineIndex = buildIndex(new DeadlineIndex());
+        }
+        LocalDateTime startDateTime = query.getDueStartDateTime();
+        LocalDateTime endDateTime = query.getDueEndDateTime();
+        long totalDueIds = deadlineIndex.countIdsDueWithin(startDateTime, endDateTime,
+                queryPlanner.getMostIdsWorthLookingUp());
+        queryPlanner.offerAccessPath(totalDueIds, () -> deadlineIndex.findIdsDueWithin(startDateTime, endDateTime));
+    }
+
+    /**
+     * Builds the given index from every task, after which the index is kept up to date as tasks are added and deleted.
+     *
+     * @param index The empty index to build.
+     * @return The built index.
+     */
+    private <T extends TaskIndex> T buildIndex(T index) {
+        // Tasks saved before tasks had ids only get their id when the id index is built.
+        buildTaskIdIndexIfAbsent();
+
+        forEachTask(index::addTask);
+        builtIndexes.add(index);
+        return index;
+    }
+
+    private Stream<Task> streamTasksOfIds(long[] ids) {
+        return Arrays.stream(ids).mapToObj(id -> tasks.get(getTaskIndexOfId(id) - 1));
+    }
+
+    private Stream<Task> streamTasksOfIdsInListOrder(long[] ids) {
+        return Arrays.stream(ids)
+                .mapToInt(this::getTaskIndexOfId)
+                .sorted()
+                .mapToObj(taskIndex -> tasks.get(taskIndex - 1));
+    }
+
+    private String[] toNumberedDisplayStrings(Stream<Task> tasksToDisplay) {
         AtomicInteger i = new AtomicInteger();
 
-        return tasks.stream()
-                .filter(task -> task.isDescriptionContainsKeyword(keyword))
-                .map(task -> getTaskDisplayString(i.getAndIncrement() + 1, (Task) task))
+        return tasksToDisplay
+                .map(task -> getTaskDisplayString(i.getAndIncrement() + 1, task))
                 .toArray(String[]::new);
     }
 
+    private void forEachTask(Consumer<Task> action) {
+        // A lazy task list can hand over the tasks that have not been read yet without keeping all of them.
+        if (tasks instanceof LazyTaskList) {
+            ((LazyTaskList) tasks).forEachWithoutKeeping(action);
+        } else {
+            tasks.forEach(action);
+        }
+    }
+
+    private Stream<Task> streamTasksPossiblyContaining(String keyword) {
+        // A lazy task list can rule out most tasks from their raw task data without processing them.
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).streamTasksPossiblyContaining(keyword);
+        }
+        // A task store can check the descriptions without creating a task for every one of them.
+        if (tasks instanceof TaskStore) {
+            return ((TaskStore) tasks).streamTasksContaining(keyword);
+        }
+        return tasks.stream();
+    }
+
     /**
      * Formats the list of tasks as a nicely organized indexed list.
+     * Long lists are formatted in parallel ranges, numbered the same way as when formatted one task after another.
      *
      * @return The list of valid tasks to be sent to the response manager to display.
      */
@@ -217,6 +858,11 @@ public class TaskManager {
             return null;
         }
 
+        if (isParallelWorthwhile(tasks.size())) {
+            return ParallelTaskRender.filterThenRender(tasks.size(), tasks::get, Objects::nonNull,
+                    this::getTaskDisplayString);
+        }
+
         // Do some processing here before sending them back to Response Manager to print out the tasks.
         AtomicInteger i = new AtomicInteger();
 
@@ -226,6 +872,29 @@ public class TaskManager {
                 .toArray(String[]::new);
     }
 
+    /**
+     * Formats a single page of the list of tasks, numbered by their task indexes.
+     * Only the tasks on the page are got and formatted, however long the list is.
+     *
+     * @param page The page to format, starting from 1.
+     * @param pageSize The most tasks on a page.
+     * @return The tasks on the page in their displayed format, or null if there are no tasks at all.
+     */
+    public String[] getTaskStringsOfPageToDisplay(int page, int pageSize) {
+        if (tasks.isEmpty()) {
+            return null;
+        }
+
+        long firstTaskIndex = Math.min((long) (page - 1) * pageSize + 1, tasks.size() + 1L);
+        long lastTaskIndex = Math.min((long) page * pageSize, tasks.size());
+        String[] taskStrings = new String[(int) (lastTaskIndex - firstTaskIndex + 1)];
+        for (int i = 0; i < taskStrings.length; i++) {
+            int taskIndex = (int) firstTaskIndex + i;
+            taskStrings[i] = getTaskDisplayString(taskIndex, tasks.get(taskIndex - 1));
+        }
+        return taskStrings;
+    }
+
     /**
      * Converts the task string into the desired format to be displayed to the user.
      *
@@ -269,6 +938,101 @@ public class TaskManager {
         return TASK_TYPES.contains(type);
     }
 
+    /**
+     * Gets the task index of the task with the given id.
+     * The id index is built once, and is kept up to date from then on as tasks are added and deleted.
+     *
+     * @param id The id of the task.
+     * @return The task index of the task, or -1 if no task has the given id.
+     */
+    public int getTaskIndexOfId(long id) {
+        buildTaskIdIndexIfAbsent();
+
+        Integer slot = taskIndexesById.get(id);
+        return slot == null ? -1 : slot + 1;
+    }
+
+    /**
+     * Gets the id of the task at the given task index.
+     *
+     * @param taskIndex The index of the task.
+     * @return The id of the task.
+     */
+    public long getTaskIdOfIndex(int taskIndex) {
+        assert isTaskIndexValid(taskIndex) : "task index to get the id of should be valid";
+
+        // Tasks saved before tasks had ids only get their id when the id index is built.
+        buildTaskIdIndexIfAbsent();
+        return tasks.get(taskIndex - 1).getId();
+    }
+
+    public int getTotalTasksOfLastFind() {
+        return totalTasksOfLastFind;
+    }
+
+    public long getTotalFindCacheHits() {
+        return findResultCache.getTotalHits();
+    }
+
+    public long getTotalFindCacheMisses() {
+        return findResultCache.getTotalMisses();
+    }
+
+    public long getMostRecentAddedTaskId() {
+        return mostRecentAddedTaskId;
+    }
+
+    /**
+     * Builds the id index from the saved id of every task, unless it has been built already.
+     * Tasks saved before tasks had ids, and tasks saved with the same id as an earlier task,
+     * are given new ids after the largest saved id, and are saved again right away
+     * so that they keep these ids in later sessions too.
+     */
+    private void buildTaskIdIndexIfAbsent() {
+        if (isTaskIdIndexBuilt) {
+            return;
+        }
+
+        long[] savedTaskIds = getTaskIds();
+        long largestTaskId = Task.NO_ID;
+        List<Integer> unidentifiedTaskIndexes = new ArrayList<>();
+        for (int i = 0; i < savedTaskIds.length; i++) {
+            long savedTaskId = savedTaskIds[i];
+            if (savedTaskId == Task.NO_ID || taskIndexesById.putIfAbsent(savedTaskId, i) != null) {
+                unidentifiedTaskIndexes.add(i + 1);
+            }
+            largestTaskId = Math.max(largestTaskId, savedTaskId);
+        }
+
+        nextTaskId = largestTaskId + 1;
+        isTaskIdIndexBuilt = true;
+        if (unidentifiedTaskIndexes.isEmpty()) {
+            return;
+        }
+
+        int[] taskIndexes = unidentifiedTaskIndexes.stream().mapToInt(Integer::intValue).toArray();
+        List<Task> unidentifiedTasks = getTasksOfIndexes(taskIndexes);
+        for (int i = 0; i < taskIndexes.length; i++) {
+            Task unidentifiedTask = unidentifiedTasks.get(i);
+            unidentifiedTask.setId(nextTaskId++);
+            taskIndexesById.put(unidentifiedTask.getId(), taskIndexes[i] - 1);
+        }
+        setTasksOfIndexes(taskIndexes, unidentifiedTasks);
+        fileStorage.saveTaskIds(taskIndexes, tasks);
+    }
+
+    private long[] getTaskIds() {
+        // A lazy task list can read the ids from the raw task data without processing any task.
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).getTaskIds();
+        }
+        // A task store keeps the ids in a column of their own.
+        if (tasks instanceof TaskStore) {
+            return ((TaskStore) tasks).getTaskIds();
+        }
+        return tasks.stream().mapToLong(Task::getId).toArray();
+    }
+
     public String getMostRecentDeletedTaskAddCommand() {
         return mostRecentDeletedTask.getAddTaskCommand();
     }
@@ -0,0 +1,69 @@
+package mei.query;
+
+import java.util.function.Supplier;
+
+/**
+ * Represents a planner that picks the cheapest way to find the tasks that could match a query.
+ * Every index that can narrow the query down is offered as an access path along with the number of ids it hands out,
+ * and the path handing out the fewest ids wins, so only those tasks have to be checked against the whole query.
+ * Walking through every task is the fallback when no path hands out few enough ids to be worth looking up.
+ */
+public class QueryPlanner {
+    /** How many times more looking up a task by its id costs than visiting it in a walk through every task. **/
+    private static final long ID_LOOKUP_COST = 2;
+
+    private long cheapestCost;
+    private Supplier<long[]> cheapestIdsFinder;
+
+    /**
+     * Initializes the planner with walking through every task as the cheapest way so far.
+     *
+     * @param totalTasks The number of tasks to walk through.
+     */
+    public QueryPlanner(long totalTasks) {
+        cheapestCost = totalTasks;
+    }
+
+    /**
+     * Gets the most ids that an access path could hand out while still being cheaper than the cheapest way so far.
+     * Paths that are costly to count can stop counting here.
+     *
+     * @return The most ids worth looking up.
+     */
+    public long getMostIdsWorthLookingUp() {
+        return cheapestCost / ID_LOOKUP_COST;
+    }
+
+    /**
+     * Offers an access path, which becomes the cheapest way if it hands out fewer ids than any other so far.
+     *
+     * @param totalIds The number of ids that the path hands out, or an upper bound of it.
+     * @param idsFinder The finder of the ids, which is only called if the path ends up being the cheapest.
+     */
+    public void offerAccessPath(long totalIds, Supplier<long[]> idsFinder) {
+        long cost = totalIds * ID_LOOKUP_COST;
+        if (cost < cheapestCost) {
+            cheapestCost = cost;
+            cheapestIdsFinder = idsFinder;
+        }
+    }
+
+    /**
+     * Checks whether walking through every task is still the cheapest way.
+     *
+     * @return true or false depending on whether no access path is cheaper than walking through every task.
+     */
+    public boolean isScanCheapest() {
+        return cheapestIdsFinder == null;
+    }
+
+    /**
+     * Finds the ids handed out by the cheapest access path.
+     *
+     * @return The ids of the tasks that could match the query, in no particular order.
+     */
+    public long[] findCandidateIds() {
+        assert !isScanCheapest() : "an access path should have been chosen to find the candidate ids";
+        return cheapestIdsFinder.get();
+    }
+}
@@ -0,0 +1,165 @@
+package mei.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import mei.exception.TaskQueryException;
+import mei.task.Deadline;
+import mei.task.Task;
+
+/**
+ * Represents a query that combines several filters over the tasks, every one of which a task must pass.
+ * A query is typed as filters separated by spaces:
+ * <ul>
+ *     <li>type:{todo|deadline|event} keeps the tasks of that task type,</li>
+ *     <li>done:{yes|no} keeps the tasks that are done or not done,</li>
+ *     <li>desc:{keyword} keeps the tasks whose description contains the keyword, and may be given more than once,</li>
+ *     <li>due&lt;{yyyy-MM-dd} keeps the deadlines due before that date,</li>
+ *     <li>and due&gt;{yyyy-MM-dd} keeps the deadlines due after that date.</li>
+ * </ul>
+ */
+public class TaskQuery {
+    /** The runtime class names of the tasks of every task type that can be typed in a query. **/
+    private static final Map<String, String> TASK_CLASS_NAMES_BY_TYPE = Map.of(
+            "todo", "ToDo", "deadline", "Deadline", "event", "Event");
+
+    private String taskClassName;
+    private boolean isStatusGiven;
+    private boolean isDone;
+    private final List<String> descriptionKeywords = new ArrayList<>();
+    private boolean isDueDateGiven;
+    private LocalDateTime dueStartDateTime = LocalDateTime.MIN;
+    private LocalDateTime dueEndDateTime = LocalDateTime.MAX;
+
+    private TaskQuery() {
+        // Queries are only made by parsing them.
+    }
+
+    /**
+     * Parses the given query typed by the user.
+     *
+     * @param query The query, as filters separated by spaces.
+     * @return The parsed query.
+     * @throws TaskQueryException if the query has no filters or any filter is not understood.
+     */
+    public static TaskQuery parse(String query) throws TaskQueryException {
+        String trimmedQuery = query.trim();
+        if (trimmedQuery.isEmpty()) {
+            throw new TaskQueryException();
+        }
+
+        TaskQuery taskQuery = new TaskQuery();
+        for (String filter : trimmedQuery.split("\\s+")) {
+            taskQuery.addFilter(filter);
+        }
+        return taskQuery;
+    }
+
+    private void addFilter(String filter) throws TaskQueryException {
+        if (filter.startsWith("type:")) {
+            taskClassName = TASK_CLASS_NAMES_BY_TYPE.get(filter.substring("type:".length()).toLowerCase());
+            if (taskClassName == null) {
+                throw new TaskQueryException();
+            }
+        } else if (filter.equals("done:yes") || filter.equals("done:no")) {
+            isStatusGiven = true;
+            isDone = filter.equals("done:yes");
+        } else if (filter.startsWith("desc:") && filter.length() > "desc:".length()) {
+            descriptionKeywords.add(filter.substring("desc:".length()));
+        } else if (filter.startsWith("due<")) {
+            LocalDateTime endDateTime = parseDate(filter.substring("due<".length())).atStartOfDay();
+            isDueDateGiven = true;
+            dueEndDateTime = endDateTime.isBefore(dueEndDateTime) ? endDateTime : dueEndDateTime;
+        } else if (filter.startsWith("due>")) {
+            LocalDateTime startDateTime = parseDate(filter.substring("due>".length())).plusDays(1).atStartOfDay();
+            isDueDateGiven = true;
+            dueStartDateTime = startDateTime.isAfter(dueStartDateTime) ? startDateTime : dueStartDateTime;
+        } else {
+            throw new TaskQueryException();
+        }
+    }
+
+    private static LocalDate parseDate(String date) throws TaskQueryException {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new TaskQueryException();
+        }
+    }
+
+    /**
+     * Checks whether the given task passes every filter of this query.
+     *
+     * @param task The task to check.
+     * @return true or false depending on whether the task matches this query.
+     */
+    public boolean isMatching(Task task) {
+        if (taskClassName != null && !task.toRunTimeClassString().equals(taskClassName)) {
+            return false;
+        }
+        if (isStatusGiven && task.isDone() != isDone) {
+            return false;
+        }
+        for (String keyword : descriptionKeywords) {
+            if (!task.isDescriptionContainsKeyword(keyword)) {
+                return false;
+            }
+        }
+        if (!isDueDateGiven) {
+            return true;
+        }
+
+        if (!(task instanceof Deadline)) {
+            return false;
+        }
+        LocalDateTime deadlineDateTime = ((Deadline) task).getDeadlineDateTime();
+        return !deadlineDateTime.isBefore(dueStartDateTime) && deadlineDateTime.isBefore(dueEndDateTime);
+    }
+
+    /**
+     * Gets the runtime class name of the tasks of the task type to keep.
+     *
+     * @return The runtime class name, or null if the query keeps every task type.
+     */
+    public String getTaskClassName() {
+        return taskClassName;
+    }
+
+    public boolean isStatusGiven() {
+        return isStatusGiven;
+    }
+
+    public boolean isDone() {
+        return isDone;
+    }
+
+    public List<String> getDescriptionKeywords() {
+        return descriptionKeywords;
+    }
+
+    public boolean isDueDateGiven() {
+        return isDueDateGiven;
+    }
+
+    /**
+     * Gets the earliest date/time that the deadlines to keep are due, inclusive.
+     *
+     * @return The date/time, or LocalDateTime.MIN if there is no limit.
+     */
+    public LocalDateTime getDueStartDateTime() {
+        return dueStartDateTime;
+    }
+
+    /**
+     * Gets the date/time that the deadlines to keep are due before.
+     *
+     * @return The date/time, or LocalDateTime.MAX if there is no limit.
+     */
+    public LocalDateTime getDueEndDateTime() {
+        return dueEndDateTime;
+    }
+}
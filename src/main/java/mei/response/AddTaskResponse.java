@@ -11,8 +11,10 @@ public class AddTaskResponse extends Response {
         "Your added task is:\n",
         "The total tasks you currently have is: "
     };
+    private static final String CLASHING_EVENTS_RESPONSE = "Heads up! This event clashes with:";
     private Task taskToIncludeInResponses;
     private int totalTasksToShow;
+    private String[] clashingEvents = new String[0];
 
     /**
      * Initializes the add task response.
@@ -26,6 +28,19 @@ public class AddTaskResponse extends Response {
         this.totalTasksToShow = totalTasksToShow;
     }
 
+    /**
+     * Initializes the add task response of an added event,
+     * which also warns the user about the other events that the added event clashes with.
+     *
+     * @param taskToIncludeInResponses The event to include in the responses.
+     * @param totalTasksToShow The total amount of user tasks to show.
+     * @param clashingEvents The other events that the added event clashes with, in their displayed format.
+     */
+    public AddTaskResponse(Task taskToIncludeInResponses, int totalTasksToShow, String[] clashingEvents) {
+        this(taskToIncludeInResponses, totalTasksToShow);
+        this.clashingEvents = clashingEvents;
+    }
+
     @Override
     public void formResponsesAndSet() {
         String[] formattedResponses = RESPONSES.clone();
@@ -37,6 +52,11 @@ public class AddTaskResponse extends Response {
         // Append the newly updated information to the responses.
         formattedResponses[taskStringIndex] += taskToIncludeInResponses.toString();
         formattedResponses[totalTaskStringIndex] += totalTasksToShow;
+        if (clashingEvents.length > 0) {
+            formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                    CLASHING_EVENTS_RESPONSE);
+            formattedResponses = concatResponses(formattedResponses, clashingEvents);
+        }
 
         // Echo the responses.
         setInputsAsApplicationResponse(formattedResponses);
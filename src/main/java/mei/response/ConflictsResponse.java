@@ -0,0 +1,50 @@
+package mei.response;
+
+/**
+ * Represents the response to show the user every pair of events that clash.
+ * This class handles the case where no events clash, and the case where only some of the pairs are shown.
+ */
+public class ConflictsResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "Uh oh! These events of yours clash:"
+    };
+
+    private static final String[] RESPONSES_NO_CONFLICT = new String[] {
+        "None of your events clash!",
+        "Your schedule is looking neat :D"
+    };
+
+    /** The response telling how many more pairs clash, filled in with the number of them. **/
+    private static final String MORE_CONFLICTS_RESPONSE = "...and %d more clashes! Maybe move some events around?";
+
+    private String[] conflicts;
+    private long totalConflicts;
+
+    /**
+     * Initializes the conflicts response.
+     *
+     * @param conflicts The clashing pairs of events to show.
+     * @param totalConflicts The number of all clashing pairs, including those not shown.
+     */
+    public ConflictsResponse(String[] conflicts, long totalConflicts) {
+        this.conflicts = conflicts;
+        this.totalConflicts = totalConflicts;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        if (totalConflicts == 0) {
+            setInputsAsApplicationResponse(RESPONSES_NO_CONFLICT);
+            return;
+        }
+
+        String[] formattedResponses = concatResponses(RESPONSES.clone(), conflicts);
+        long totalHiddenConflicts = totalConflicts - conflicts.length;
+        if (totalHiddenConflicts > 0) {
+            formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                    String.format(MORE_CONFLICTS_RESPONSE, totalHiddenConflicts));
+        }
+
+        setInputsAsApplicationResponse(formattedResponses);
+    }
+}
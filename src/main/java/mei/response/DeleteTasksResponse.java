@@ -0,0 +1,44 @@
+package mei.response;
+
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the response to the user when deleting several existing tasks at once.
+ */
+public class DeleteTasksResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "Got it! I will erase these tasks from my list.",
+        "The removed tasks are:"
+    };
+    private static final String TOTAL_TASKS_RESPONSE = "The amount of tasks left for you is: ";
+
+    private List<Task> tasksToIncludeInResponses;
+    private int totalTasksToShow;
+
+    /**
+     * Initializes the delete tasks response.
+     * The deleted tasks are to be included as part of the response to the user.
+     *
+     * @param tasksToIncludeInResponses The deleted tasks to include in the responses.
+     * @param totalTasksToShow The total amount of user tasks to show.
+     */
+    public DeleteTasksResponse(List<Task> tasksToIncludeInResponses, int totalTasksToShow) {
+        this.tasksToIncludeInResponses = tasksToIncludeInResponses;
+        this.totalTasksToShow = totalTasksToShow;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] taskStrings = tasksToIncludeInResponses.stream()
+                .map(Task::toString)
+                .toArray(String[]::new);
+
+        String[] formattedResponses = concatResponses(RESPONSES.clone(), taskStrings);
+        formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                TOTAL_TASKS_RESPONSE + totalTasksToShow);
+
+        setInputsAsApplicationResponse(formattedResponses);
+    }
+}
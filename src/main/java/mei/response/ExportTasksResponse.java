@@ -0,0 +1,30 @@
+package mei.response;
+
+/**
+ * Represents the response to the user after exporting tasks to a file.
+ * Tells the user how many tasks were exported.
+ */
+public class ExportTasksResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "All done! Your tasks are all packed up.",
+        "The amount of tasks exported is: "
+    };
+
+    private int totalExportedTasks;
+
+    /**
+     * Initializes the export tasks response.
+     *
+     * @param totalExportedTasks The number of tasks that were exported.
+     */
+    public ExportTasksResponse(int totalExportedTasks) {
+        this.totalExportedTasks = totalExportedTasks;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] formattedResponses = RESPONSES.clone();
+        formattedResponses[1] += totalExportedTasks;
+        setInputsAsApplicationResponse(formattedResponses);
+    }
+}
@@ -0,0 +1,34 @@
+package mei.response;
+
+/**
+ * Represents the response to tell the user how often find results were served from the find cache.
+ */
+public class FindCacheResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "Here's how well I've been remembering your finds!",
+        "Finds I remembered: ",
+        "Finds I had to look up: "
+    };
+
+    private long totalHits;
+    private long totalMisses;
+
+    /**
+     * Initializes the find cache response.
+     *
+     * @param totalHits The number of finds served from the cache.
+     * @param totalMisses The number of finds that had to be looked up.
+     */
+    public FindCacheResponse(long totalHits, long totalMisses) {
+        this.totalHits = totalHits;
+        this.totalMisses = totalMisses;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] formattedResponses = RESPONSES.clone();
+        formattedResponses[1] += totalHits;
+        formattedResponses[2] += totalMisses;
+        setInputsAsApplicationResponse(formattedResponses);
+    }
+}
@@ -15,12 +15,27 @@ public class FindTasksResponse extends Response {
             + " that matched the description :("
     };
 
+    /** The response pointing to the next page, filled in with the command showing it. **/
+    private static final String NEXT_PAGE_RESPONSE = "There's more! Type \"%s\" to see the next page.";
+
     private String[] foundTasks;
+    private String nextPageCommand;
 
     public FindTasksResponse(String[] foundTasks) {
         this.foundTasks = foundTasks;
     }
 
+    /**
+     * Initializes the response to show a single page of tasks, followed by the command showing the next page.
+     *
+     * @param foundTasks The tasks on the page.
+     * @param nextPageCommand The command showing the next page, or null if this is the last page.
+     */
+    public FindTasksResponse(String[] foundTasks, String nextPageCommand) {
+        this.foundTasks = foundTasks;
+        this.nextPageCommand = nextPageCommand;
+    }
+
     @Override
     public void formResponsesAndSet() {
         if (foundTasks.length == 0) {
@@ -30,6 +45,10 @@ public class FindTasksResponse extends Response {
 
         String[] formattedResponses = RESPONSES.clone();
         formattedResponses = concatResponses(formattedResponses, foundTasks);
+        if (nextPageCommand != null) {
+            formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                    String.format(NEXT_PAGE_RESPONSE, nextPageCommand));
+        }
 
         setInputsAsApplicationResponse(formattedResponses);
     }
@@ -0,0 +1,48 @@
+package mei.response;
+
+import java.util.List;
+
+/**
+ * Represents the response to the user after importing tasks from a file.
+ * Tells the user how many rows were imported and rejected, and why the first few rows were rejected.
+ */
+public class ImportTasksResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "All done! I've brought your tasks over.",
+        "The amount of tasks imported is: ",
+        "The amount of rows I couldn't import is: "
+    };
+    private static final String REJECTION_REASONS_RESPONSE = "Here's why some of them didn't make it:";
+
+    private int totalAcceptedRows;
+    private int totalRejectedRows;
+    private List<String> rejectionReasons;
+
+    /**
+     * Initializes the import tasks response.
+     *
+     * @param totalAcceptedRows The number of rows that were imported as tasks.
+     * @param totalRejectedRows The number of rows that could not be imported.
+     * @param rejectionReasons The reasons of the first few rejected rows.
+     */
+    public ImportTasksResponse(int totalAcceptedRows, int totalRejectedRows, List<String> rejectionReasons) {
+        this.totalAcceptedRows = totalAcceptedRows;
+        this.totalRejectedRows = totalRejectedRows;
+        this.rejectionReasons = rejectionReasons;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] formattedResponses = RESPONSES.clone();
+        formattedResponses[1] += totalAcceptedRows;
+        formattedResponses[2] += totalRejectedRows;
+
+        if (!rejectionReasons.isEmpty()) {
+            formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                    REJECTION_REASONS_RESPONSE);
+            formattedResponses = concatResponses(formattedResponses, rejectionReasons.toArray(String[]::new));
+        }
+
+        setInputsAsApplicationResponse(formattedResponses);
+    }
+}
@@ -14,12 +14,27 @@ public class ListTasksResponse extends Response {
         "Maybe start adding new tasks?"
     };
 
+    /** The response pointing to the next page, filled in with the command showing it. **/
+    private static final String NEXT_PAGE_RESPONSE = "There's more! Type \"%s\" to see the next page.";
+
     private String[] tasksToBeDisplayed;
+    private String nextPageCommand;
 
     public ListTasksResponse(String[] tasksToBeDisplayed) {
         this.tasksToBeDisplayed = tasksToBeDisplayed;
     }
 
+    /**
+     * Initializes the response to show a single page of tasks, followed by the command showing the next page.
+     *
+     * @param tasksToBeDisplayed The tasks on the page.
+     * @param nextPageCommand The command showing the next page, or null if this is the last page.
+     */
+    public ListTasksResponse(String[] tasksToBeDisplayed, String nextPageCommand) {
+        this.tasksToBeDisplayed = tasksToBeDisplayed;
+        this.nextPageCommand = nextPageCommand;
+    }
+
     @Override
     public void formResponsesAndSet() {
         if (tasksToBeDisplayed == null) {
@@ -29,6 +44,10 @@ public class ListTasksResponse extends Response {
 
         String[] formattedResponses = RESPONSES.clone();
         formattedResponses = concatResponses(formattedResponses, tasksToBeDisplayed);
+        if (nextPageCommand != null) {
+            formattedResponses = appendTaskStringToResponseArrayAndReturn(formattedResponses,
+                    String.format(NEXT_PAGE_RESPONSE, nextPageCommand));
+        }
 
         setInputsAsApplicationResponse(formattedResponses);
     }
@@ -0,0 +1,30 @@
+package mei.response;
+
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the response to mark several existing user tasks at once.
+ */
+public class MarkTasksResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "You've completed all of these? That's amazing!",
+        "I've noted down every one of your achievements, congratulations!"
+    };
+
+    private List<Task> tasksToIncludeInResponses;
+
+    public MarkTasksResponse(List<Task> tasksToIncludeInResponses) {
+        this.tasksToIncludeInResponses = tasksToIncludeInResponses;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] taskStrings = tasksToIncludeInResponses.stream()
+                .map(Task::toString)
+                .toArray(String[]::new);
+
+        setInputsAsApplicationResponse(concatResponses(RESPONSES.clone(), taskStrings));
+    }
+}
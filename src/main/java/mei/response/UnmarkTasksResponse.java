@@ -0,0 +1,30 @@
+package mei.response;
+
+import java.util.List;
+
+import mei.task.Task;
+
+/**
+ * Represents the response to unmark several existing user tasks at once.
+ */
+public class UnmarkTasksResponse extends Response {
+    private static final String[] RESPONSES = new String[] {
+        "It's alright to take things easy.",
+        "I've unchecked these tasks for you to revisit next time!"
+    };
+
+    private List<Task> tasksToIncludeInResponses;
+
+    public UnmarkTasksResponse(List<Task> tasksToIncludeInResponses) {
+        this.tasksToIncludeInResponses = tasksToIncludeInResponses;
+    }
+
+    @Override
+    public void formResponsesAndSet() {
+        String[] taskStrings = tasksToIncludeInResponses.stream()
+                .map(Task::toString)
+                .toArray(String[]::new);
+
+        setInputsAsApplicationResponse(concatResponses(RESPONSES.clone(), taskStrings));
+    }
+}
@@ -0,0 +1,204 @@
+package mei.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a class that acts as a utility to parse the date/times typed into the add task commands.
+ * Every input format of timed tasks is recognised in a single scan over the characters,
+ * without any exception being thrown or any object other than the resulting date/time being created.
+ * <p>
+ * The input formats are d/MM/yyyy HHmm, d-MM-yyyy HHmm, yyyy/MM/d HHmm and yyyy-MM-d HHmm,
+ * and date/times are parsed exactly the way DateTimeFormatter parses those patterns:
+ * <ul>
+ *     <li>the day may have any number of digits, while the month, hour and minute have exactly two,</li>
+ *     <li>the year has exactly four digits, or more than four following a plus sign when it comes last,</li>
+ *     <li>a day past the end of its month is moved back to the last day of the month,</li>
+ *     <li>and 2400 stands for midnight at the end of the day.</li>
+ * </ul>
+ * A day-first date/time is always tried before a year-first one, the same order as the input formats.
+ */
+public class DateTimeParser {
+    /** The parse result standing for a date/time that does not match any of the input formats. **/
+    private static final long NO_MATCH = -1;
+    private static final int MAX_DAY_DIGITS = 19;
+    private static final int MAX_SIGNED_YEAR_DIGITS = 9;
+
+    private DateTimeParser() {
+        // This class only holds static methods.
+    }
+
+    /**
+     * Parses the given date/time string, ignoring leading and trailing spaces.
+     *
+     * @param dateTime The date/time string to parse.
+     * @return The date/time, or null if the string does not match any of the input formats.
+     */
+    public static LocalDateTime parse(String dateTime) {
+        int start = 0;
+        int end = dateTime.length();
+        while (start < end && dateTime.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && dateTime.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        // The date ends at the only space, and the time is the four digits after it.
+        int timeStart = end - 4;
+        if (timeStart - start < 2 || dateTime.charAt(timeStart - 1) != ' ') {
+            return null;
+        }
+        int hour = readTwoDigits(dateTime, timeStart);
+        int minute = readTwoDigits(dateTime, timeStart + 2);
+        boolean isEndOfDay = hour == 24 && minute == 0;
+        if (hour < 0 || minute < 0 || minute > 59 || (hour > 23 && !isEndOfDay)) {
+            return null;
+        }
+
+        long date = parseDayFirstDate(dateTime, start, timeStart - 1);
+        if (date == NO_MATCH) {
+            date = parseYearFirstDate(dateTime, start, timeStart - 1);
+        }
+        if (date == NO_MATCH) {
+            return null;
+        }
+
+        int year = (int) (date >> 16);
+        int month = (int) ((date >> 8) & 0xFF);
+        int day = (int) (date & 0xFF);
+        day = Math.min(day, lengthOfMonth(year, month));
+
+        LocalDateTime parsedDateTime = LocalDateTime.of(year, month, day, isEndOfDay ? 0 : hour, minute);
+        if (!isEndOfDay) {
+            return parsedDateTime;
+        }
+        boolean isLastDate = parsedDateTime.toLocalDate().equals(LocalDate.MAX);
+        return isLastDate ? null : parsedDateTime.plusDays(1);
+    }
+
+    /**
+     * Parses a date in either the d/MM/yyyy or the d-MM-yyyy format.
+     *
+     * @param text The text holding the date.
+     * @param start The position where the date starts.
+     * @param end The position right after the date ends.
+     * @return The year, month and day packed together, or NO_MATCH if the date does not match.
+     */
+    private static long parseDayFirstDate(String text, int start, int end) {
+        int dayEnd = skipDigits(text, start, end);
+        if (dayEnd == start || dayEnd - start > MAX_DAY_DIGITS || dayEnd + 4 > end) {
+            return NO_MATCH;
+        }
+
+        char separator = text.charAt(dayEnd);
+        boolean isSeparatorValid = (separator == '/' || separator == '-') && text.charAt(dayEnd + 3) == separator;
+        if (!isSeparatorValid) {
+            return NO_MATCH;
+        }
+
+        long day = readDigits(text, start, dayEnd);
+        int month = readTwoDigits(text, dayEnd + 1);
+        int year = readLastYear(text, dayEnd + 4, end);
+        return toPackedDate(year, month, day);
+    }
+
+    /**
+     * Parses a date in either the yyyy/MM/d or the yyyy-MM-d format.
+     *
+     * @param text The text holding the date.
+     * @param start The position where the date starts.
+     * @param end The position right after the date ends.
+     * @return The year, month and day packed together, or NO_MATCH if the date does not match.
+     */
+    private static long parseYearFirstDate(String text, int start, int end) {
+        int dayStart = start + 8;
+        if (dayStart >= end || skipDigits(text, start, start + 4) != start + 4) {
+            return NO_MATCH;
+        }
+
+        char separator = text.charAt(start + 4);
+        boolean isSeparatorValid = (separator == '/' || separator == '-') && text.charAt(start + 7) == separator;
+        int dayEnd = skipDigits(text, dayStart, end);
+        if (!isSeparatorValid || dayEnd != end || dayEnd - dayStart > MAX_DAY_DIGITS) {
+            return NO_MATCH;
+        }
+
+        int year = (int) readDigits(text, start, start + 4);
+        int month = readTwoDigits(text, start + 5);
+        long day = readDigits(text, dayStart, dayEnd);
+        return toPackedDate(year, month, day);
+    }
+
+    /**
+     * Reads the year at the end of a day-first date,
+     * which has exactly four digits, or a plus sign followed by more than four digits.
+     *
+     * @return The year, or -1 if there is no valid year.
+     */
+    private static int readLastYear(String text, int start, int end) {
+        boolean isSigned = start < end && text.charAt(start) == '+';
+        int digitsStart = isSigned ? start + 1 : start;
+        int totalDigits = end - digitsStart;
+
+        boolean isLengthValid = isSigned
+                ? totalDigits > 4 && totalDigits <= MAX_SIGNED_YEAR_DIGITS
+                : totalDigits == 4;
+        if (!isLengthValid || skipDigits(text, digitsStart, end) != end) {
+            return -1;
+        }
+        return (int) readDigits(text, digitsStart, end);
+    }
+
+    private static long toPackedDate(int year, int month, long day) {
+        boolean isDateValid = year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 31;
+        return isDateValid ? ((long) year << 16) | (month << 8) | day : NO_MATCH;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            boolean isLeapYear = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return isLeapYear ? 29 : 28;
+
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+
+        default:
+            return 31;
+        }
+    }
+
+    private static int skipDigits(String text, int start, int end) {
+        int position = start;
+        while (position < end && isDigit(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Reads the digits between the given positions as a number, which saturates instead of overflowing
+     * since any number that large is already out of range.
+     */
+    private static long readDigits(String text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = Math.min(value * 10 + (text.charAt(i) - '0'), Integer.MAX_VALUE);
+        }
+        return value;
+    }
+
+    private static int readTwoDigits(String text, int start) {
+        char tens = text.charAt(start);
+        char ones = text.charAt(start + 1);
+        return isDigit(tens) && isDigit(ones) ? (tens - '0') * 10 + (ones - '0') : -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
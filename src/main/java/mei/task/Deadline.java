@@ -19,45 +19,62 @@ public class Deadline extends TimedTask {
      *
      * @param description The description of this task.
      * @param deadlineDateTime The deadline date/time of this task.
-     * @param addTaskCommand The command used to add this task.
      * @throws DateTimeConversionException if the input deadlineDateTime doesn't match any of the valid formats.
      */
-    public Deadline(String description, String deadlineDateTime, String addTaskCommand)
-            throws DateTimeConversionException {
-        super(description, addTaskCommand);
+    public Deadline(String description, String deadlineDateTime) throws DateTimeConversionException {
+        super(description);
         this.deadlineDateTime = convertDateTimeFormat(deadlineDateTime);
     }
 
     /**
-     * Represents the current task in a format to be written to the task data save file.
+     * Initializes the date/time field with an already converted LocalDateTime object.
+     * Used when the deadline is loaded from a save format that keeps the date/time in its converted form.
+     *
+     * @param description The description of this task.
+     * @param deadlineDateTime The deadline date/time of this task.
+     */
+    public Deadline(String description, LocalDateTime deadlineDateTime) {
+        super(description);
+        this.deadlineDateTime = deadlineDateTime;
+    }
+
+    public LocalDateTime getDeadlineDateTime() {
+        return deadlineDateTime;
+    }
+
+    /**
+     * Builds the string representation of this task for writing to the task data save file.
      * This representation helps the file reader to interpret this task when loading from the save file.
      *
      * @return The string representation for writing to the save file.
      */
-    public String getTaskDataString() {
-        return toRunTimeClassString()
+    @Override
+    protected String toTaskDataString() {
+        return toIdPrefixString()
+                + toRunTimeClassString()
                 + "|" + getTaskStatusString()
                 + "|" + super.description
-                + "|" + toFormattedDateTimeInputString(deadlineDateTime)
-                + "|" + super.addTaskCommand;
+                + "|" + toFormattedDateTimeInputString(deadlineDateTime);
     }
 
     /**
-     * Represents the current task as the command used when it was first added.
+     * Rebuilds a command that adds a deadline equivalent to this task.
      *
-     * @return The add task command string.
+     * @return The add task command of this task.
      */
-    public String toAddTaskCommandString() {
-        return addTaskCommand;
+    @Override
+    public String getAddTaskCommand() {
+        return "deadline " + description + " /by " + toFormattedDateTimeInputString(deadlineDateTime);
     }
 
     /**
-     * Represents the current task in a format to be displayed to the user.
+     * Builds the string representation of this task for displaying to the user.
      *
      * @return The string representation for displaying to the user.
      */
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + toFormattedDateTimeOutputString(deadlineDateTime) + ")";
+    @Override
+    protected String toDisplayString() {
+        return "[D]" + super.toDisplayString() + " (by: " + toFormattedDateTimeOutputString(deadlineDateTime) + ")";
     }
 
 }
@@ -22,12 +22,11 @@ public class Event extends TimedTask {
      * @param description The description of this task.
      * @param startDateTime The starting date/time of this task.
      * @param endDateTime The ending date/time of this task.
-     * @param addTaskCommand The command used to add this task.
      * @throws DateTimeConversionException if the input deadlineDateTime doesn't match any of the valid formats.
      */
-    public Event(String description, String startDateTime, String endDateTime, String addTaskCommand)
+    public Event(String description, String startDateTime, String endDateTime)
             throws DateTimeConversionException, DatesNotInOrderException {
-        super(description, addTaskCommand);
+        super(description);
         this.startDateTime = convertDateTimeFormat(startDateTime);
         this.endDateTime = convertDateTimeFormat(endDateTime);
 
@@ -37,27 +36,79 @@ public class Event extends TimedTask {
     }
 
     /**
-     * Represents the current task in a format to be written to the task data save file.
+     * Initializes the start and end date/time with already converted LocalDateTime objects.
+     * Used when the event is loaded from a save format that keeps the date/time in its converted form.
+     *
+     * @param description The description of this task.
+     * @param startDateTime The starting date/time of this task.
+     * @param endDateTime The ending date/time of this task.
+     * @throws DatesNotInOrderException if the start date/time is not before the end date/time.
+     */
+    public Event(String description, LocalDateTime startDateTime, LocalDateTime endDateTime)
+            throws DatesNotInOrderException {
+        super(description);
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+
+        if (!isInOrder(this.startDateTime, this.endDateTime)) {
+            throw new DatesNotInOrderException();
+        }
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    /**
+     * Checks whether this event clashes with the given event, which is when both take place at the same time.
+     * An event ending right when the other starts does not clash with it.
+     *
+     * @param otherEvent The event to check against.
+     * @return true or false depending on whether the events overlap.
+     */
+    public boolean isClashingWith(Event otherEvent) {
+        return startDateTime.isBefore(otherEvent.endDateTime) && otherEvent.startDateTime.isBefore(endDateTime);
+    }
+
+    /**
+     * Builds the string representation of this task for writing to the task data save file.
      * This representation helps the file reader to interpret this task when loading from the save file.
      *
      * @return The string representation for writing to the save file.
      */
-    public String getTaskDataString() {
-        return toRunTimeClassString()
+    @Override
+    protected String toTaskDataString() {
+        return toIdPrefixString()
+                + toRunTimeClassString()
                 + "|" + getTaskStatusString()
                 + "|" + super.description
                 + "|" + toFormattedDateTimeInputString(startDateTime)
-                + "|" + toFormattedDateTimeInputString(endDateTime)
-                + "|" + super.addTaskCommand;
+                + "|" + toFormattedDateTimeInputString(endDateTime);
+    }
+
+    /**
+     * Rebuilds a command that adds an event equivalent to this task.
+     *
+     * @return The add task command of this task.
+     */
+    @Override
+    public String getAddTaskCommand() {
+        return "event " + description + " /from " + toFormattedDateTimeInputString(startDateTime)
+                + " /to " + toFormattedDateTimeInputString(endDateTime);
     }
 
     /**
-     * Represents the current task in a format to be displayed to the user.
+     * Builds the string representation of this task for displaying to the user.
      *
      * @return The string representation for displaying to the user.
      */
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + toFormattedDateTimeOutputString(startDateTime)
+    @Override
+    protected String toDisplayString() {
+        return "[E]" + super.toDisplayString() + " (from: " + toFormattedDateTimeOutputString(startDateTime)
                 + " to: " + toFormattedDateTimeOutputString(endDateTime) + ")";
     }
 
@@ -3,11 +3,20 @@ package mei.task;
 /**
  * Represents the base class for all tasks.
  * Consists of a description and a boolean on whether the task is done or not.
+ * Every task is also given an id when it is added, which stays the same no matter where the task is in the list.
+ * <p>
+ * The display and task data strings of a task are built once and kept until the task changes,
+ * so listing or saving the same tasks again does not format their date/times again.
  */
 public class Task {
+    /** The id of a task that has not been given an id yet. **/
+    public static final long NO_ID = 0;
+
     protected final String description;
-    protected final String addTaskCommand;
     private boolean isTaskDone;
+    private long id = NO_ID;
+    private String displayString;
+    private String taskDataString;
 
     /**
      * Initializes the task description.
@@ -15,12 +24,10 @@ public class Task {
      * So that display and save formats will ignore leading and trailing spaces.
      *
      * @param description The description of this task.
-     * @param addTaskCommand The command used to add this task.
      */
-    public Task(String description, String addTaskCommand) {
+    public Task(String description) {
         this.description = description.trim();
         this.isTaskDone = false;
-        this.addTaskCommand = addTaskCommand;
     }
 
     /**
@@ -32,31 +39,93 @@ public class Task {
         return isTaskDone ? "[X]" : "[ ]";
     }
 
+    /**
+     * Checks whether this task has been completed.
+     *
+     * @return true or false depending on whether this task is done.
+     */
+    public boolean isDone() {
+        return isTaskDone;
+    }
+
     /**
      * Represents the current task in a format to be written to the task data save file.
      * This representation helps the file reader to interpret this task when loading from the save file.
      *
      * @return The string representation for writing to the save file.
      */
-    public String getTaskDataString() {
-        return toRunTimeClassString()
+    public final String getTaskDataString() {
+        if (taskDataString == null) {
+            taskDataString = toTaskDataString();
+        }
+        return taskDataString;
+    }
+
+    /**
+     * Builds the string representation of this task for writing to the task data save file.
+     * This is only called when the task data string is not kept yet, or the task has changed since it was built.
+     *
+     * @return The string representation for writing to the save file.
+     */
+    protected String toTaskDataString() {
+        return toIdPrefixString()
+                + toRunTimeClassString()
                 + "|" + getTaskStatusString()
-                + "|" + description
-                + "|" + addTaskCommand;
+                + "|" + description;
+    }
+
+    /**
+     * Gets the id of this task as the leading field of its task data string.
+     * Tasks without an id leave the field out, which is also how task data was saved before tasks had ids.
+     *
+     * @return The id followed by the field separator, or an empty string if this task has no id.
+     */
+    protected String toIdPrefixString() {
+        return id == NO_ID ? "" : id + "|";
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gives this task its id.
+     * This should only be done once, when the task is added or when it is read back from the save file.
+     *
+     * @param id The id of this task.
+     */
+    public void setId(long id) {
+        this.id = id;
+        taskDataString = null;
     }
 
     /**
      * Marks the status of this task as completed.
      */
     public void completeTask() {
-        isTaskDone = true;
+        if (!isTaskDone) {
+            isTaskDone = true;
+            clearKeptStrings();
+        }
     }
 
     /**
      * Marks the status of this task as incomplete.
      */
     public void uncheckTask() {
-        isTaskDone = false;
+        if (isTaskDone) {
+            isTaskDone = false;
+            clearKeptStrings();
+        }
+    }
+
+    /**
+     * Clears the display and task data strings kept of this task,
+     * so that they are built again with the current status of this task when next needed.
+     */
+    private void clearKeptStrings() {
+        displayString = null;
+        taskDataString = null;
     }
 
     /**
@@ -70,26 +139,46 @@ public class Task {
         return description.contains(keyword);
     }
 
+    public String getDescription() {
+        return description;
+    }
+
     public String toRunTimeClassString() {
         return getClass().getSimpleName();
     }
 
     /**
-     * Gets the task's command when it was added.
+     * Rebuilds a command that adds a task equivalent to this task, such as when undoing its deletion.
+     * The command is rebuilt from the fields of this task instead of being kept,
+     * so it has the description trimmed and the date/times in the first input format,
+     * whichever way they were typed when this task was first added.
      *
      * @return The add task command of this task.
      */
     public String getAddTaskCommand() {
-        return addTaskCommand;
+        return "todo " + description;
     }
 
     /**
      * Represents the current task in a format to be displayed to the user.
-     * Since this is the base class, this string representation isn't directly called by any managers.
      *
      * @return The string representation for displaying to the user.
      */
-    public String toString() {
+    @Override
+    public final String toString() {
+        if (displayString == null) {
+            displayString = toDisplayString();
+        }
+        return displayString;
+    }
+
+    /**
+     * Builds the string representation of this task for displaying to the user.
+     * Since this is the base class, this string representation is extended by every type of task.
+     *
+     * @return The string representation for displaying to the user.
+     */
+    protected String toDisplayString() {
         return getTaskStatusString() + " " + description;
     }
 }
@@ -0,0 +1,351 @@
+package mei.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import mei.exception.DatesNotInOrderException;
+
+/**
+ * Represents a list of tasks that keeps every task column by column instead of as task objects.
+ * The id, type, start and end date/time of every task are kept in primitive arrays, the done status in a bit set,
+ * and the description of every task as UTF-8 bytes in a single shared text table.
+ * A task object is only created as a view of its columns when it is retrieved,
+ * so the memory held per task is a few dozen bytes on top of its text, instead of several objects.
+ * <p>
+ * Since a retrieved task is only a view, changing it does not change this list,
+ * so a changed task has to be set back into the list.
+ * Date/times are kept to the minute, which is as precise as the add task commands are.
+ */
+public class TaskStore extends AbstractList<Task> implements RandomAccess {
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    /** The number of unused bytes in the text table from which it is compacted. **/
+    private static final int MIN_COMPACTED_TEXT_BYTES = 1 << 16;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private final BitSet doneTasks = new BitSet();
+    private long[] startMinutes = new long[INITIAL_CAPACITY];
+    private long[] endMinutes = new long[INITIAL_CAPACITY];
+    private int[] textStarts = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private byte[] textTable = new byte[INITIAL_CAPACITY * 32];
+    private int textTableLength = 0;
+    private int unusedTextBytes = 0;
+    private int totalTasks = 0;
+
+    /**
+     * Gets a view of the task at the given index.
+     *
+     * @param index The index of the task.
+     * @return A new task holding the columns of the task at the given index.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+
+        String description = decodeText(textStarts[index], descriptionLengths[index]);
+        Task task;
+
+        switch (types[index]) {
+        case DEADLINE:
+            task = new Deadline(description, toDateTime(startMinutes[index]));
+            break;
+
+        case EVENT:
+            try {
+                task = new Event(description, toDateTime(startMinutes[index]), toDateTime(endMinutes[index]));
+            } catch (DatesNotInOrderException e) {
+                // Only events whose dates were in order could have been put into this list.
+                throw new IllegalStateException("Event at index " + index + " has its dates out of order.");
+            }
+            break;
+
+        default:
+            task = new ToDo(description);
+            break;
+        }
+
+        if (doneTasks.get(index)) {
+            task.completeTask();
+        }
+        task.setId(ids[index]);
+        return task;
+    }
+
+    /**
+     * Streams every task whose description contains the given keyword.
+     * The descriptions are checked directly against the text table,
+     * so only the tasks that contain the keyword are created.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @return The stream of tasks that contain the keyword, in the order of the list.
+     */
+    public Stream<Task> streamTasksContaining(String keyword) {
+        return Arrays.stream(findIndexesContaining(keyword)).mapToObj(this::get);
+    }
+
+    /**
+     * Finds the index of every task whose description contains the given keyword, without creating any task.
+     *
+     * @param keyword The keyword used to find tasks.
+     * @return The indexes of the tasks that contain the keyword, in ascending order.
+     */
+    public int[] findIndexesContaining(String keyword) {
+        byte[] keywordBytes = keyword.getBytes(StandardCharsets.UTF_8);
+        return IntStream.range(0, totalTasks)
+                .filter(i -> isTextContaining(textStarts[i], descriptionLengths[i], keywordBytes))
+                .toArray();
+    }
+
+    /**
+     * Gets the id of every task, in the order of the list, without creating any task.
+     *
+     * @return The ids of the tasks.
+     */
+    public long[] getTaskIds() {
+        return Arrays.copyOf(ids, totalTasks);
+    }
+
+    @Override
+    public int size() {
+        return totalTasks;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        setColumns(index, task);
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > totalTasks) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalTasks);
+        }
+
+        if (totalTasks == types.length) {
+            growColumns(totalTasks * 2);
+        }
+
+        int totalMovedTasks = totalTasks - index;
+        System.arraycopy(ids, index, ids, index + 1, totalMovedTasks);
+        System.arraycopy(types, index, types, index + 1, totalMovedTasks);
+        System.arraycopy(startMinutes, index, startMinutes, index + 1, totalMovedTasks);
+        System.arraycopy(endMinutes, index, endMinutes, index + 1, totalMovedTasks);
+        System.arraycopy(textStarts, index, textStarts, index + 1, totalMovedTasks);
+        System.arraycopy(descriptionLengths, index, descriptionLengths, index + 1, totalMovedTasks);
+        for (int i = totalTasks; i > index; i--) {
+            doneTasks.set(i, doneTasks.get(i - 1));
+        }
+
+        // The new task has no text yet, so nothing is marked as unused when its columns are set.
+        descriptionLengths[index] = 0;
+        totalTasks++;
+        setColumns(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removedTask = get(index);
+        unusedTextBytes += descriptionLengths[index];
+
+        int totalMovedTasks = totalTasks - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, totalMovedTasks);
+        System.arraycopy(types, index + 1, types, index, totalMovedTasks);
+        System.arraycopy(startMinutes, index + 1, startMinutes, index, totalMovedTasks);
+        System.arraycopy(endMinutes, index + 1, endMinutes, index, totalMovedTasks);
+        System.arraycopy(textStarts, index + 1, textStarts, index, totalMovedTasks);
+        System.arraycopy(descriptionLengths, index + 1, descriptionLengths, index, totalMovedTasks);
+        for (int i = index; i < totalTasks - 1; i++) {
+            doneTasks.set(i, doneTasks.get(i + 1));
+        }
+
+        totalTasks--;
+        doneTasks.clear(totalTasks);
+        compactTextTableIfNeeded();
+        modCount++;
+        return removedTask;
+    }
+
+    /**
+     * Removes every task that matches the given filter in a single pass,
+     * moving the columns of the remaining tasks up only once.
+     *
+     * @param filter The filter that returns true for the tasks to be removed.
+     * @return true or false depending on whether any task was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        BitSet removedIndexes = new BitSet();
+        for (int i = 0; i < totalTasks; i++) {
+            if (filter.test(get(i))) {
+                removedIndexes.set(i);
+            }
+        }
+
+        int totalTasksBefore = totalTasks;
+        removeIndexes(removedIndexes);
+        return totalTasks < totalTasksBefore;
+    }
+
+    /**
+     * Removes the tasks at every given index in a single pass,
+     * moving the columns of the remaining tasks up only once.
+     * Unlike removeIf, no task is created to decide whether to remove it.
+     *
+     * @param removedIndexes The indexes of the tasks to be removed.
+     */
+    public void removeIndexes(BitSet removedIndexes) {
+        int firstRemovedIndex = removedIndexes.nextSetBit(0);
+        if (firstRemovedIndex == -1 || firstRemovedIndex >= totalTasks) {
+            return;
+        }
+
+        // The tasks before the first removed one stay where they are.
+        int totalRemainingTasks = firstRemovedIndex;
+        for (int i = firstRemovedIndex; i < totalTasks; i++) {
+            if (removedIndexes.get(i)) {
+                unusedTextBytes += descriptionLengths[i];
+                continue;
+            }
+            ids[totalRemainingTasks] = ids[i];
+            types[totalRemainingTasks] = types[i];
+            startMinutes[totalRemainingTasks] = startMinutes[i];
+            endMinutes[totalRemainingTasks] = endMinutes[i];
+            textStarts[totalRemainingTasks] = textStarts[i];
+            descriptionLengths[totalRemainingTasks] = descriptionLengths[i];
+            doneTasks.set(totalRemainingTasks, doneTasks.get(i));
+            totalRemainingTasks++;
+        }
+
+        doneTasks.clear(totalRemainingTasks, totalTasks);
+        totalTasks = totalRemainingTasks;
+        compactTextTableIfNeeded();
+        modCount++;
+    }
+
+    private void setColumns(int index, Task task) {
+        ids[index] = task.getId();
+        if (task instanceof Deadline) {
+            types[index] = DEADLINE;
+            startMinutes[index] = toEpochMinutes(((Deadline) task).getDeadlineDateTime());
+            endMinutes[index] = startMinutes[index];
+        } else if (task instanceof Event) {
+            types[index] = EVENT;
+            startMinutes[index] = toEpochMinutes(((Event) task).getStartDateTime());
+            endMinutes[index] = toEpochMinutes(((Event) task).getEndDateTime());
+        } else {
+            types[index] = TODO;
+            startMinutes[index] = 0;
+            endMinutes[index] = 0;
+        }
+        doneTasks.set(index, task.isDone());
+
+        byte[] descriptionBytes = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (isTextSame(index, descriptionBytes)) {
+            // Marking or unmarking a task leaves its text as it is, so the text table is left untouched.
+            return;
+        }
+
+        unusedTextBytes += descriptionLengths[index];
+        textStarts[index] = appendText(descriptionBytes);
+        descriptionLengths[index] = descriptionBytes.length;
+        compactTextTableIfNeeded();
+    }
+
+    private boolean isTextSame(int index, byte[] descriptionBytes) {
+        int descriptionStart = textStarts[index];
+
+        return descriptionLengths[index] == descriptionBytes.length
+                && Arrays.equals(textTable, descriptionStart, descriptionStart + descriptionBytes.length,
+                        descriptionBytes, 0, descriptionBytes.length);
+    }
+
+    private int appendText(byte[] descriptionBytes) {
+        int totalTextBytes = descriptionBytes.length;
+        if (textTableLength + totalTextBytes > textTable.length) {
+            textTable = Arrays.copyOf(textTable, Math.max(textTable.length * 2, textTableLength + totalTextBytes));
+        }
+
+        int textStart = textTableLength;
+        System.arraycopy(descriptionBytes, 0, textTable, textStart, descriptionBytes.length);
+        textTableLength += totalTextBytes;
+        return textStart;
+    }
+
+    /**
+     * Rewrites the text table without the text of removed or changed tasks,
+     * once more than half of the text table is no longer used.
+     */
+    private void compactTextTableIfNeeded() {
+        boolean isCompactionNeeded = unusedTextBytes >= MIN_COMPACTED_TEXT_BYTES
+                && unusedTextBytes * 2 > textTableLength;
+        if (!isCompactionNeeded) {
+            return;
+        }
+
+        byte[] compactedTextTable = new byte[Math.max(textTableLength - unusedTextBytes, INITIAL_CAPACITY)];
+        int compactedLength = 0;
+        for (int i = 0; i < totalTasks; i++) {
+            int totalTextBytes = descriptionLengths[i];
+            System.arraycopy(textTable, textStarts[i], compactedTextTable, compactedLength, totalTextBytes);
+            textStarts[i] = compactedLength;
+            compactedLength += totalTextBytes;
+        }
+
+        textTable = compactedTextTable;
+        textTableLength = compactedLength;
+        unusedTextBytes = 0;
+    }
+
+    private boolean isTextContaining(int textStart, int textLength, byte[] keywordBytes) {
+        int lastMatchStart = textStart + textLength - keywordBytes.length;
+
+        for (int i = textStart; i <= lastMatchStart; i++) {
+            if (Arrays.equals(textTable, i, i + keywordBytes.length, keywordBytes, 0, keywordBytes.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String decodeText(int textStart, int textLength) {
+        return new String(textTable, textStart, textLength, StandardCharsets.UTF_8);
+    }
+
+    private void growColumns(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        types = Arrays.copyOf(types, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        textStarts = Arrays.copyOf(textStarts, capacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, capacity);
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime toDateTime(long epochMinutes) {
+        return LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= totalTasks) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalTasks);
+        }
+    }
+}
@@ -2,9 +2,9 @@ package mei.task;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import mei.exception.DateTimeConversionException;
 
@@ -24,50 +24,43 @@ public class TimedTask extends Task {
     };
 
     /** The formatters for parsing any local date time data in a timed task. **/
-    private static final List<DateTimeFormatter> INPUT_FORMATTERS = new ArrayList<>();
+    private static final List<DateTimeFormatter> INPUT_FORMATTERS = Arrays.stream(INPUT_FORMATS)
+            .map(DateTimeFormatter::ofPattern)
+            .collect(Collectors.toUnmodifiableList());
 
     /** The formatter for formatting any local date time data into the desired format. **/
     private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMMM d yyyy 'at' h:mm a");
 
     /**
-     * Initializes the task description and the list of formatters to convert the input date/time string
-     * into its LocalDateTime object.
+     * Initializes the task description.
+     * The formatters to convert the input date/time string into its LocalDateTime object are shared
+     * by all timed tasks, so that tasks can safely be created from several threads at once.
      *
      * @param description The description of this task.
-     * @param addTaskCommand The command used to add this task.
      */
-    public TimedTask(String description, String addTaskCommand) {
-        super(description, addTaskCommand);
-        for (String format : INPUT_FORMATS) {
-            INPUT_FORMATTERS.add(DateTimeFormatter.ofPattern(format));
-        }
+    public TimedTask(String description) {
+        super(description);
     }
 
     /**
      * Converts the given datetime string into a LocalDateTime object.
-     * The string should be given in the format specified to the formatters in INPUT_FORMATTERS.
-     * The string is trimmed to remove leading and trailing spaces, then parsed into LocalDateTime object.
+     * The string should be given in one of the formats in INPUT_FORMATS.
+     * Leading and trailing spaces are ignored.
      * <p>
-     * Tries to loop through all the available formatters
-     * and return when found one that matches the format of the input.
-     * If none of the formats match, returns null for error handling.
+     * All the formats are recognised in a single pass by the date/time parser,
+     * which parses them the same way as the formatters in INPUT_FORMATTERS would.
      *
      * @param dateTime The datetime string to be parsed into a LocalDateTime object.
      * @return The LocalDateTime object of the given datetime string.
      * @throws DateTimeConversionException If the input dateTime doesn't match any of the formats.
      */
     public static LocalDateTime convertDateTimeFormat(String dateTime) throws DateTimeConversionException {
-        for (DateTimeFormatter formatter : INPUT_FORMATTERS) {
-            try {
-                return LocalDateTime.parse(dateTime.trim(), formatter);
-            } catch (DateTimeParseException ignore) {
-                // This can be safely ignored since we want to check whether the date/time input matches
-                // any of the formatters and the parse method could throw an exception.
-            }
+        LocalDateTime convertedDateTime = DateTimeParser.parse(dateTime);
+        if (convertedDateTime == null) {
+            // Input is not in a valid format.
+            throw new DateTimeConversionException();
         }
-
-        // Input is not in a valid format.
-        throw new DateTimeConversionException();
+        return convertedDateTime;
     }
 
     /**
@@ -13,19 +13,19 @@ public class ToDo extends Task {
      * So that display and save formats will ignore leading and trailing spaces.
      *
      * @param description The description of this task.
-     * @param addTaskCommand The command used to add this task.
      */
-    public ToDo(String description, String addTaskCommand) {
-        super(description, addTaskCommand);
+    public ToDo(String description) {
+        super(description);
     }
 
     /**
-     * Represents the current task in a format to be displayed to the user.
+     * Builds the string representation of this task for displaying to the user.
      *
      * @return The string representation for displaying to the user.
      */
-    public String toString() {
-        return "[T]" + super.toString();
+    @Override
+    protected String toDisplayString() {
+        return "[T]" + super.toDisplayString();
     }
 
 }
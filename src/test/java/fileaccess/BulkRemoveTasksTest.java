@@ -0,0 +1,69 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.BinaryFileStorage;
+import mei.fileaccess.FileStorage;
+import mei.fileaccess.JournaledFileStorage;
+import mei.fileaccess.MappedFileStorage;
+import mei.manager.TaskManager;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test marking and deleting many tasks at once in every storage mode.
+ */
+public class BulkRemoveTasksTest {
+    private static final String[] EXPECTED = new String[] {
+        "[T][ ] task 1",
+        "[T][X] task 2",
+        "[T][ ] task 4",
+        "[T][X] task 5",
+        "[T][ ] task 8"};
+
+    @Test
+    public void deleteTasks_plainStorage_sameAsOneByOne() throws IOException {
+        String path = Files.createTempDirectory("mei-bulk").resolve("tasks.txt").toString();
+        applyBulkChanges(new FileStorage(path));
+        assertArrayEquals(EXPECTED, toTaskStrings(new FileStorage(path).readTasks()));
+    }
+
+    @Test
+    public void deleteTasks_otherStorages_sameAsOneByOne() throws IOException {
+        Path directory = Files.createTempDirectory("mei-bulk");
+        String journaledPath = directory.resolve("journaled.txt").toString();
+        String mappedPath = directory.resolve("mapped.txt").toString();
+        String binaryPath = directory.resolve("binary.txt").toString();
+
+        applyBulkChanges(new JournaledFileStorage(journaledPath));
+        applyBulkChanges(new MappedFileStorage(mappedPath));
+        applyBulkChanges(new BinaryFileStorage(binaryPath));
+
+        assertArrayEquals(EXPECTED, toTaskStrings(new JournaledFileStorage(journaledPath).readTasks()));
+        assertArrayEquals(EXPECTED, toTaskStrings(new MappedFileStorage(mappedPath).readTasks()));
+        assertArrayEquals(EXPECTED, toTaskStrings(new BinaryFileStorage(binaryPath).readTasks()));
+    }
+
+    private void applyBulkChanges(FileStorage fileStorage) {
+        TaskManager taskManager = new TaskManager(fileStorage.readTasks(), fileStorage);
+        for (int i = 1; i <= 10; i++) {
+            taskManager.addTask(new ToDo("task " + i));
+        }
+
+        taskManager.markTasks(new int[] {2, 5, 6, 9});
+        taskManager.unmarkTasks(new int[] {9});
+        taskManager.deleteTasks(new int[] {3, 6, 7, 9, 10});
+        fileStorage.close();
+    }
+
+    private String[] toTaskStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::toString).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,88 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.ColumnarFileStorage;
+import mei.fileaccess.FileStorage;
+import mei.manager.TaskManager;
+import mei.task.Task;
+import mei.task.TaskStore;
+
+/**
+ * Represents the class to test keeping tasks column by column in a task store.
+ */
+public class ColumnarFileStorageTest {
+    private static final String[] TASK_DATAS = new String[] {
+        "ToDo|[ ]|read book|todo read book",
+        "Deadline|[X]|return library book|02/12/2019 1800|deadline return library book /by 02/12/2019 1800",
+        "Event|[ ]|book club|02/12/2019 1400|02/12/2019 1600|event book club /from 02/12/2019 1400 /to 02/12/2019 1600",
+        "ToDo|[ ]|buy milk|todo buy milk"};
+
+    @Test
+    public void readTasks_columnar_sameTasksAsDefault() throws IOException {
+        Path path = Files.createTempDirectory("mei-columnar").resolve("tasks.txt");
+        Files.write(path, List.of(TASK_DATAS));
+
+        List<Task> tasks = new ColumnarFileStorage(path.toString()).readTasks();
+
+        assertTrue(tasks instanceof TaskStore);
+        assertArrayEquals(toTaskStrings(new FileStorage(path.toString()).readTasks()), toTaskStrings(tasks));
+    }
+
+    @Test
+    public void taskManager_changesOnTaskStore_keptInStoreAndFile() throws IOException {
+        Path path = Files.createTempDirectory("mei-columnar").resolve("tasks.txt");
+        Files.write(path, List.of(TASK_DATAS));
+        ColumnarFileStorage fileStorage = new ColumnarFileStorage(path.toString());
+        List<Task> tasks = fileStorage.readTasks();
+        TaskManager taskManager = new TaskManager(tasks, fileStorage);
+
+        taskManager.markTask(1);
+        taskManager.unmarkTasks(new int[] {2});
+        taskManager.deleteTasks(new int[] {3});
+        taskManager.addTask(tasks.get(0));
+
+        String[] expectedTasks = new String[] {
+            "[T][X] read book",
+            "[D][ ] return library book (by: MONDAY December 2 2019 at 6:00 PM)",
+            "[T][ ] buy milk",
+            "[T][X] read book"};
+        assertArrayEquals(expectedTasks, toTaskStrings(tasks));
+        assertArrayEquals(expectedTasks, toTaskStrings(new FileStorage(path.toString()).readTasks()));
+        assertArrayEquals(new String[] {"1. [D][ ] return library book (by: MONDAY December 2 2019 at 6:00 PM)"},
+                taskManager.findTasksToDisplay("library"));
+    }
+
+    @Test
+    public void removeIndexes_severalTasks_remainingColumnsMovedUp() throws IOException {
+        Path path = Files.createTempDirectory("mei-columnar").resolve("tasks.txt");
+        Files.write(path, List.of(TASK_DATAS));
+        TaskStore tasks = (TaskStore) new ColumnarFileStorage(path.toString()).readTasks();
+        Task deadline = tasks.get(1);
+        deadline.setId(7);
+        tasks.set(1, deadline);
+        BitSet removedIndexes = new BitSet();
+        removedIndexes.set(0);
+        removedIndexes.set(2);
+
+        tasks.removeIndexes(removedIndexes);
+
+        assertArrayEquals(new String[] {
+            "[D][X] return library book (by: MONDAY December 2 2019 at 6:00 PM)", "[T][ ] buy milk"},
+                toTaskStrings(tasks));
+        assertArrayEquals(new long[] {7, Task.NO_ID}, tasks.getTaskIds());
+    }
+
+    private String[] toTaskStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::toString).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,109 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.FileStorage;
+import mei.fileaccess.JournaledFileStorage;
+import mei.task.Task;
+import mei.task.ToDo;
+
+
+/**
+ * Represents the class to test the journaled file storage against the plain file storage.
+ */
+public class JournaledFileStorageTest {
+
+    @Test
+    public void readTasks_journalReplayed_sameAsPlainStorage() throws IOException {
+        Path directory = Files.createTempDirectory("mei-journal");
+        String plainPath = directory.resolve("plain.txt").toString();
+        String journaledPath = directory.resolve("journaled.txt").toString();
+
+        FileStorage plainStorage = new FileStorage(plainPath);
+        JournaledFileStorage journaledStorage = new JournaledFileStorage(journaledPath);
+        plainStorage.readTasks();
+        journaledStorage.readTasks();
+        applyChanges(plainStorage);
+        applyChanges(journaledStorage);
+        journaledStorage.close();
+
+        String[] expected = toTaskDataStrings(new FileStorage(plainPath).readTasks());
+        String[] actual = toTaskDataStrings(new JournaledFileStorage(journaledPath).readTasks());
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void readTasks_afterCompaction_sameAsPlainStorage() throws IOException {
+        Path directory = Files.createTempDirectory("mei-journal");
+        String plainPath = directory.resolve("plain.txt").toString();
+        String journaledPath = directory.resolve("journaled.txt").toString();
+
+        FileStorage plainStorage = new FileStorage(plainPath);
+        JournaledFileStorage journaledStorage = new JournaledFileStorage(journaledPath);
+        plainStorage.readTasks();
+        journaledStorage.readTasks();
+        applyChanges(plainStorage);
+        applyChanges(journaledStorage);
+        journaledStorage.compact();
+        journaledStorage.writeTask(new ToDo("after compaction"));
+        plainStorage.writeTask(new ToDo("after compaction"));
+        journaledStorage.close();
+
+        assertArrayEquals(Files.readAllLines(Path.of(plainPath)).subList(0, 3).toArray(),
+                Files.readAllLines(Path.of(journaledPath)).toArray());
+
+        String[] expected = toTaskDataStrings(new FileStorage(plainPath).readTasks());
+        String[] actual = toTaskDataStrings(new JournaledFileStorage(journaledPath).readTasks());
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void readTasks_tornLastRecord_droppedAndJournalCutOff() throws IOException {
+        Path directory = Files.createTempDirectory("mei-journal");
+        String journaledPath = directory.resolve("journaled.txt").toString();
+        Path journalPath = Path.of(journaledPath + ".journal");
+
+        JournaledFileStorage journaledStorage = new JournaledFileStorage(journaledPath);
+        journaledStorage.readTasks();
+        journaledStorage.writeTask(new ToDo("task 1"));
+        journaledStorage.writeTask(new ToDo("task 2"));
+        journaledStorage.close();
+
+        // Simulate the application stopping halfway through appending the last record.
+        List<String> journalLines = Files.readAllLines(journalPath);
+        String tornRecord = journalLines.get(1).substring(0, journalLines.get(1).length() - 3);
+        Files.writeString(journalPath, journalLines.get(0) + "\n" + tornRecord);
+
+        JournaledFileStorage recoveredStorage = new JournaledFileStorage(journaledPath);
+        assertArrayEquals(new String[] {"ToDo|[ ]|task 1"},
+                toTaskDataStrings(recoveredStorage.readTasks()));
+        recoveredStorage.writeTask(new ToDo("task 3"));
+        recoveredStorage.close();
+
+        assertArrayEquals(new String[] {"ToDo|[ ]|task 1", "ToDo|[ ]|task 3"},
+                toTaskDataStrings(new JournaledFileStorage(journaledPath).readTasks()));
+    }
+
+    private void applyChanges(FileStorage fileStorage) {
+        for (int i = 1; i <= 5; i++) {
+            fileStorage.writeTask(new ToDo("task " + i));
+        }
+
+        Task markedTask = new ToDo("task 3");
+        markedTask.completeTask();
+        fileStorage.overwriteTask(3, markedTask.getTaskDataString());
+        fileStorage.removeTask(1);
+        fileStorage.removeTask(4);
+    }
+
+    private String[] toTaskDataStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::getTaskDataString).toArray(String[]::new);
+    }
+}
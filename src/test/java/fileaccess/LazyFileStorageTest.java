@@ -0,0 +1,106 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.FileRead;
+import mei.fileaccess.LazyFileStorage;
+import mei.fileaccess.LazyTaskList;
+import mei.manager.TaskManager;
+import mei.task.Task;
+
+/**
+ * Represents the class to test reading tasks only when they are first accessed.
+ */
+public class LazyFileStorageTest {
+
+    @Test
+    public void readTasks_noAccess_noTaskMaterialized() throws IOException {
+        Path path = Files.createTempDirectory("mei-lazy").resolve("tasks.txt");
+        Files.write(path, List.of(
+                "ToDo|[ ]|read book|todo read book",
+                "",
+                "Deadline|[X]|return book|02/12/2019 1800|deadline return book /by 02/12/2019 1800\r",
+                "ToDo|[ ]|join club|todo join club"));
+
+        LazyTaskList tasks = (LazyTaskList) new LazyFileStorage(path.toString()).readTasks();
+
+        assertEquals(3, tasks.size());
+        assertEquals(0, tasks.getTotalMaterializedTasks());
+        assertEquals("[D][X] return book (by: MONDAY December 2 2019 at 6:00 PM)", tasks.get(1).toString());
+        assertEquals(1, tasks.getTotalMaterializedTasks());
+    }
+
+    @Test
+    public void taskManager_markDeleteFindOnLazyTasks_fileKeptInStep() throws IOException {
+        Path path = Files.createTempDirectory("mei-lazy").resolve("tasks.txt");
+        Files.write(path, List.of(
+                "1|ToDo|[ ]|read book|todo read book",
+                "2|ToDo|[ ]|join club|todo join club",
+                "3|ToDo|[ ]|read paper|todo read paper",
+                "4|ToDo|[ ]|buy milk|todo buy milk"));
+
+        LazyFileStorage fileStorage = new LazyFileStorage(path.toString());
+        LazyTaskList tasks = (LazyTaskList) fileStorage.readTasks();
+        TaskManager taskManager = new TaskManager(tasks, fileStorage);
+
+        taskManager.markTask(4);
+        taskManager.deleteTask(1);
+        assertArrayEquals(new String[] {"1. [T][ ] read paper"}, taskManager.findTasksToDisplay("read"));
+        assertEquals(2, tasks.getTotalMaterializedTasks());
+
+        // Every line after the rewrites must still line up with its task.
+        // Lines left untouched keep their add task commands, while rewritten lines leave them out.
+        List<Task> expected = new FileRead(path.toString()).readFromFile();
+        assertArrayEquals(expected.stream().map(Task::toString).toArray(),
+                tasks.stream().map(Task::toString).toArray());
+        assertEquals("2|ToDo|[ ]|join club|todo join club", Files.readAllLines(path).get(0));
+        assertEquals("4|ToDo|[X]|buy milk", Files.readAllLines(path).get(2));
+    }
+
+    @Test
+    public void taskManager_deleteRangeOnLazyTasks_remainingTasksNotMaterialized() throws IOException {
+        Path path = Files.createTempDirectory("mei-lazy").resolve("tasks.txt");
+        Files.write(path, List.of(
+                "1|ToDo|[ ]|read book",
+                "2|ToDo|[ ]|join club",
+                "3|Deadline|[ ]|return book|02/12/2019 1800",
+                "4|ToDo|[ ]|buy milk"));
+
+        LazyFileStorage fileStorage = new LazyFileStorage(path.toString());
+        LazyTaskList tasks = (LazyTaskList) fileStorage.readTasks();
+        TaskManager taskManager = new TaskManager(tasks, fileStorage);
+
+        taskManager.deleteTasks(new int[] {1, 2});
+        assertEquals(0, tasks.getTotalMaterializedTasks());
+        assertEquals(List.of("3|Deadline|[ ]|return book|02/12/2019 1800", "4|ToDo|[ ]|buy milk"),
+                Files.readAllLines(path));
+        assertEquals("[T][ ] buy milk", tasks.get(1).toString());
+    }
+
+    @Test
+    public void readTasks_incompleteLinesAndUnreadableIds_placeholderTasksKeptInStep() throws IOException {
+        Path path = Files.createTempDirectory("mei-lazy").resolve("tasks.txt");
+        Files.write(path, List.of(
+                "1|Deadline|[X]|return book",
+                "2|garbled",
+                "99999999999999999999|ToDo|[ ]|join club",
+                "3|ToDo|[ ]|buy milk"));
+
+        LazyTaskList tasks = (LazyTaskList) new LazyFileStorage(path.toString()).readTasks();
+
+        String[] expected = new String[] {
+            "[T][X] return book", "[T][ ] garbled", "[T][ ] join club", "[T][ ] buy milk"};
+        assertArrayEquals(expected, tasks.stream().map(Task::toString).toArray());
+        assertEquals(2, tasks.get(1).getId());
+        assertEquals(Task.NO_ID, tasks.get(2).getId());
+        assertEquals(1, new FileRead(path.toString()).readFromFile().size());
+    }
+}
@@ -0,0 +1,100 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.MappedFileStorage;
+import mei.task.Task;
+import mei.task.ToDo;
+
+
+/**
+ * Represents the class to test the memory-mapped file storage.
+ */
+public class MappedFileStorageTest {
+
+    @Test
+    public void readTasks_freedSlotReused_orderAndStatusKept() throws IOException {
+        Path directory = Files.createTempDirectory("mei-mapped");
+        String path = directory.resolve("tasks.txt").toString();
+
+        MappedFileStorage fileStorage = new MappedFileStorage(path);
+        fileStorage.readTasks();
+        for (int i = 1; i <= 4; i++) {
+            fileStorage.writeTask(new ToDo("task " + i));
+        }
+
+        Task markedTask = new ToDo("task 3");
+        markedTask.completeTask();
+        fileStorage.updateTaskStatus(3, markedTask);
+        fileStorage.removeTask(2);
+        fileStorage.writeTask(new ToDo("task 5"));
+        fileStorage.close();
+
+        String[] actual = new MappedFileStorage(path).readTasks().stream()
+                .map(Task::toString)
+                .toArray(String[]::new);
+        String[] expected = new String[] {
+            "[T][ ] task 1",
+            "[T][X] task 3",
+            "[T][ ] task 4",
+            "[T][ ] task 5"};
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void readTasks_heapMostlyOverwritten_heapCompactedOnReopen() throws IOException {
+        Path directory = Files.createTempDirectory("mei-mapped");
+        String path = directory.resolve("tasks.txt").toString();
+
+        MappedFileStorage fileStorage = new MappedFileStorage(path);
+        fileStorage.readTasks();
+        fileStorage.writeTask(new ToDo("task 1"));
+        fileStorage.writeTask(new ToDo("task 2"));
+        for (int i = 0; i < 10; i++) {
+            fileStorage.overwriteTask(1, new ToDo("task 1 take " + i).getTaskDataString());
+        }
+        fileStorage.close();
+        long heapSizeBeforeReopen = Files.size(directory.resolve("tasks.txt.heap"));
+
+        MappedFileStorage reopenedFileStorage = new MappedFileStorage(path);
+        String[] actual = reopenedFileStorage.readTasks().stream()
+                .map(Task::toString)
+                .toArray(String[]::new);
+        reopenedFileStorage.close();
+
+        assertArrayEquals(new String[] {"[T][ ] task 1 take 9", "[T][ ] task 2"}, actual);
+        assertTrue(Files.size(directory.resolve("tasks.txt.heap")) < heapSizeBeforeReopen);
+        assertTrue(Files.notExists(directory.resolve("tasks.txt.slots.compacting")));
+    }
+
+    @Test
+    public void readTasks_heapTruncated_compactionFailsInsteadOfSpinning() throws IOException {
+        Path directory = Files.createTempDirectory("mei-mapped");
+        String path = directory.resolve("tasks.txt").toString();
+
+        MappedFileStorage fileStorage = new MappedFileStorage(path);
+        fileStorage.readTasks();
+        fileStorage.writeTask(new ToDo("task 1"));
+        fileStorage.writeTask(new ToDo("task 2"));
+        for (int i = 0; i < 10; i++) {
+            fileStorage.overwriteTask(1, new ToDo("task 1 take " + i).getTaskDataString());
+        }
+        fileStorage.close();
+        try (FileChannel heap = FileChannel.open(directory.resolve("tasks.txt.heap"), StandardOpenOption.WRITE)) {
+            heap.truncate(heap.size() - 1);
+        }
+
+        MappedFileStorage reopenedFileStorage = new MappedFileStorage(path);
+        assertTrue(reopenedFileStorage.readTasks().isEmpty());
+        reopenedFileStorage.close();
+    }
+}
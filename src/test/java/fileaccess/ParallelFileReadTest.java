@@ -0,0 +1,46 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.FileJournal;
+import mei.fileaccess.FileRead;
+import mei.task.Task;
+
+
+/**
+ * Represents the class to test reading a large task data file in parallel chunks.
+ */
+public class ParallelFileReadTest {
+
+    @Test
+    public void readFromFile_largeFile_sameOrderAsLineByLine() throws IOException {
+        Path directory = Files.createTempDirectory("mei-parallel");
+        Path path = directory.resolve("tasks.txt");
+        List<String> taskDatas = new ArrayList<>();
+        for (int i = 0; i < 40000; i++) {
+            taskDatas.add(i % 2 == 0
+                    ? "ToDo|[X]|task " + i + "|todo task " + i
+                    : "Deadline|[ ]|task " + i + "|" + (i % 28 + 1) + "/02/2025 1600|deadline task " + i);
+        }
+        Files.write(path, taskDatas);
+
+        // Replaying an empty journal reads the file line by line.
+        FileRead fileReader = new FileRead(path.toString());
+        String[] expected = toTaskDataStrings(fileReader.readFromFileWithJournal(
+                new FileJournal(directory.resolve("absent.txt").toString())));
+        String[] actual = toTaskDataStrings(fileReader.readFromFile());
+        assertArrayEquals(expected, actual);
+    }
+
+    private String[] toTaskDataStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::getTaskDataString).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,76 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.LazyFileStorage;
+import mei.fileaccess.LazyTaskList;
+import mei.fileaccess.TaskImporter;
+import mei.manager.TaskManager;
+import mei.task.Task;
+
+/**
+ * Represents the class to test exporting tasks to CSV, JSON and iCalendar files.
+ */
+public class TaskExporterTest {
+    private static final String[] TASK_DATAS = new String[] {
+        "ToDo|[ ]|read \"the\" book, slowly|todo read \"the\" book, slowly",
+        "Deadline|[X]|return book|02/12/2019 1800|deadline return book /by 02/12/2019 1800",
+        "Event|[ ]|project meeting|02/12/2019 1400|02/12/2019 1600"
+                + "|event project meeting /from 02/12/2019 1400 /to 02/12/2019 1600"};
+
+    @Test
+    public void exportTasks_csv_importedBackUnchanged() throws IOException {
+        Path directory = Files.createTempDirectory("mei-export");
+        Path taskDataPath = directory.resolve("tasks.txt");
+        Files.write(taskDataPath, List.of(TASK_DATAS));
+        LazyFileStorage fileStorage = new LazyFileStorage(taskDataPath.toString());
+        LazyTaskList tasks = (LazyTaskList) fileStorage.readTasks();
+
+        Path csvPath = directory.resolve("tasks.csv");
+        assertEquals(3, new TaskManager(tasks, fileStorage).exportTasks("csv", csvPath));
+        assertEquals(0, tasks.getTotalMaterializedTasks());
+
+        List<Task> importedTasks = new ArrayList<>();
+        new TaskImporter(importedTasks::addAll).importFile(csvPath);
+        assertArrayEquals(toTaskStrings(tasks), toTaskStrings(importedTasks));
+    }
+
+    @Test
+    public void exportTasks_jsonAndIcs_recordPerTask() throws IOException {
+        Path directory = Files.createTempDirectory("mei-export");
+        Path taskDataPath = directory.resolve("tasks.txt");
+        Files.write(taskDataPath, List.of(TASK_DATAS));
+        LazyFileStorage fileStorage = new LazyFileStorage(taskDataPath.toString());
+        List<Task> tasks = fileStorage.readTasks();
+        TaskManager taskManager = new TaskManager(tasks, fileStorage);
+
+        Path jsonPath = directory.resolve("tasks.json");
+        taskManager.exportTasks("json", jsonPath);
+        assertEquals("[\n"
+                + "  {\"type\": \"todo\", \"description\": \"read \\\"the\\\" book, slowly\", \"done\": false},\n"
+                + "  {\"type\": \"deadline\", \"description\": \"return book\", \"done\": true,"
+                + " \"by\": \"2019-12-02T18:00\"},\n"
+                + "  {\"type\": \"event\", \"description\": \"project meeting\", \"done\": false,"
+                + " \"from\": \"2019-12-02T14:00\", \"to\": \"2019-12-02T16:00\"}\n"
+                + "]\n", Files.readString(jsonPath));
+
+        Path icsPath = directory.resolve("tasks.ics");
+        taskManager.exportTasks("ics", icsPath);
+        List<Task> importedTasks = new ArrayList<>();
+        new TaskImporter(importedTasks::addAll).importFile(icsPath);
+        assertArrayEquals(toTaskStrings(tasks), toTaskStrings(importedTasks));
+    }
+
+    private String[] toTaskStrings(List<Task> tasks) {
+        return tasks.stream().map(Task::toString).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,73 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import mei.exception.MeiException;
+import mei.fileaccess.BinaryFileStorage;
+import mei.fileaccess.FileStorage;
+import mei.fileaccess.TaskFileMigrator;
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.ToDo;
+
+
+/**
+ * Represents the class to test migrating task data between the text and binary formats.
+ */
+public class TaskFileMigratorTest {
+
+    @Test
+    public void convertTextToBinary_thenBackToText_sameTaskData() throws Exception, MeiException {
+        Path directory = Files.createTempDirectory("mei-binary");
+        String textPath = directory.resolve("tasks.txt").toString();
+        String binaryPath = directory.resolve("tasks.bin").toString();
+        String convertedTextPath = directory.resolve("converted.txt").toString();
+
+        writeSampleTasks(new FileStorage(textPath));
+        Files.writeString(Path.of(binaryPath), "not a binary task file");
+        TaskFileMigrator.convertTextToBinary(textPath, binaryPath);
+        TaskFileMigrator.convertBinaryToText(binaryPath, convertedTextPath);
+
+        assertArrayEquals(Files.readAllLines(Path.of(textPath)).toArray(),
+                Files.readAllLines(Path.of(convertedTextPath)).toArray());
+        assertTrue(Files.notExists(Path.of(binaryPath + ".tmp")));
+    }
+
+    @Test
+    public void binaryFileStorage_markAndRemove_sameAsPlainStorage() throws Exception, MeiException {
+        Path directory = Files.createTempDirectory("mei-binary");
+        String plainPath = directory.resolve("plain.txt").toString();
+        String binaryPath = directory.resolve("binary.txt").toString();
+
+        FileStorage plainStorage = new FileStorage(plainPath);
+        FileStorage binaryStorage = new BinaryFileStorage(binaryPath);
+        binaryStorage.readTasks();
+        for (FileStorage fileStorage : new FileStorage[] {plainStorage, binaryStorage}) {
+            writeSampleTasks(fileStorage);
+            Deadline markedTask = new Deadline("return book", "25/02/2025 1600");
+            markedTask.completeTask();
+            fileStorage.updateTaskStatus(2, markedTask);
+            fileStorage.removeTask(1);
+        }
+
+        String[] expected = new FileStorage(plainPath).readTasks().stream()
+                .map(task -> task.getTaskDataString())
+                .toArray(String[]::new);
+        String[] actual = new BinaryFileStorage(binaryPath).readTasks().stream()
+                .map(task -> task.getTaskDataString())
+                .toArray(String[]::new);
+        assertArrayEquals(expected, actual);
+    }
+
+    private void writeSampleTasks(FileStorage fileStorage) throws MeiException {
+        fileStorage.writeTask(new ToDo("borrow book"));
+        fileStorage.writeTask(new Deadline("return book", "25/02/2025 1600"));
+        fileStorage.writeTask(new Event("watch a movie", "2025-02-25 1100", "2025/02/25 1300"));
+    }
+}
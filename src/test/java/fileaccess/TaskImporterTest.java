@@ -0,0 +1,80 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.TaskImporter;
+import mei.task.Task;
+
+/**
+ * Represents the class to test importing tasks from CSV and iCalendar files.
+ */
+public class TaskImporterTest {
+    @Test
+    public void importFile_csvWithHeaderQuotesAndBadRows_acceptsValidRows() throws IOException {
+        Path csvPath = Files.createTempDirectory("mei-import").resolve("tasks.csv");
+        Files.writeString(csvPath, "type,description,date1,date2,done\n"
+                + "todo,read book,,,\n"
+                + "deadline,\"return book, quickly\",2019-12-02 1800,,x\n"
+                + "event,\"project\nmeeting\",2019-12-02 1400,2019-12-02 1600,\n"
+                + "deadline,bad date,tomorrow,,\n"
+                + "chore,sweep,,,\n"
+                + "todo,,,,\n"
+                + "todo,\"line one\r\nline two\",,,\n");
+
+        List<Task> importedTasks = new ArrayList<>();
+        TaskImporter taskImporter = new TaskImporter(importedTasks::addAll);
+        taskImporter.importFile(csvPath);
+
+        assertEquals(4, taskImporter.getTotalAcceptedRows());
+        assertEquals(3, taskImporter.getTotalRejectedRows());
+        assertEquals("Row 5: invalid date/time", taskImporter.getRejectionReasons().get(0));
+        assertEquals("[T][ ] read book", importedTasks.get(0).toString());
+        assertEquals("[D][X] return book, quickly (by: MONDAY December 2 2019 at 6:00 PM)",
+                importedTasks.get(1).toString());
+        assertEquals("event project meeting /from 2/12/2019 1400 /to 2/12/2019 1600",
+                importedTasks.get(2).getAddTaskCommand());
+        assertEquals("ToDo|[ ]|line one line two", importedTasks.get(3).getTaskDataString());
+    }
+
+    @Test
+    public void importFile_ics_eventsAndTodosImported() throws IOException {
+        Path icsPath = Files.createTempDirectory("mei-import").resolve("calendar.ics");
+        Files.writeString(icsPath, "BEGIN:VCALENDAR\r\n"
+                + "BEGIN:VEVENT\r\n"
+                + "SUMMARY:team\r\n  lunch\r\n"
+                + "DTSTART;TZID=Asia/Singapore:20191202T120000\r\n"
+                + "DTEND;TZID=Asia/Singapore:20191202T130000\r\n"
+                + "END:VEVENT\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:submit report\r\n"
+                + "DUE:20191203\r\n"
+                + "STATUS:COMPLETED\r\n"
+                + "END:VTODO\r\n"
+                + "BEGIN:VTODO\r\n"
+                + "SUMMARY:water plants\r\n"
+                + "END:VTODO\r\n"
+                + "END:VCALENDAR\r\n");
+
+        List<Task> importedTasks = new ArrayList<>();
+        TaskImporter taskImporter = new TaskImporter(importedTasks::addAll);
+        taskImporter.importFile(icsPath);
+
+        assertEquals(0, taskImporter.getTotalRejectedRows());
+        assertArrayEquals(new String[] {
+            "event team lunch /from 2/12/2019 1200 /to 2/12/2019 1300",
+            "deadline submit report /by 3/12/2019 0000",
+            "todo water plants"},
+                importedTasks.stream().map(Task::getAddTaskCommand).toArray(String[]::new));
+        assertTrue(importedTasks.get(1).toString().startsWith("[D][X]"));
+    }
+}
@@ -0,0 +1,75 @@
+package fileaccess;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mei.fileaccess.FileStorage;
+import mei.fileaccess.WriteBehindFileStorage;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test the write-behind file storage against the plain file storage.
+ */
+public class WriteBehindFileStorageTest {
+
+    @Test
+    public void close_burstOfChanges_sameFileAsPlainStorage() throws IOException {
+        Path directory = Files.createTempDirectory("mei-write-behind");
+        Path plainPath = directory.resolve("plain.txt");
+        Path writeBehindPath = directory.resolve("write-behind.txt");
+
+        FileStorage plainStorage = new FileStorage(plainPath.toString());
+        FileStorage writeBehindStorage = new WriteBehindFileStorage(writeBehindPath.toString(),
+                WriteBehindFileStorage.SYNC_ON_EXIT);
+        plainStorage.readTasks();
+        writeBehindStorage.readTasks();
+        applyChanges(plainStorage);
+        applyChanges(writeBehindStorage);
+        writeBehindStorage.close();
+
+        assertArrayEquals(Files.readAllLines(plainPath).toArray(), Files.readAllLines(writeBehindPath).toArray());
+    }
+
+    @Test
+    public void close_firstWritesFailed_batchWrittenAgainInOrder() throws IOException, InterruptedException {
+        Path directory = Files.createTempDirectory("mei-write-behind");
+        Path blockedDirectory = Files.createFile(directory.resolve("blocked"));
+        Path writeBehindPath = blockedDirectory.resolve("write-behind.txt");
+
+        FileStorage writeBehindStorage = new WriteBehindFileStorage(writeBehindPath.toString(),
+                WriteBehindFileStorage.SYNC_EVERY_BATCH);
+        writeBehindStorage.writeTask(new ToDo("task 1"));
+        writeBehindStorage.writeTask(new ToDo("task 2"));
+
+        // The task data file cannot be created until the file in the way of its directory is replaced.
+        Thread.sleep(300);
+        Files.delete(blockedDirectory);
+        Files.createDirectory(blockedDirectory);
+        writeBehindStorage.writeTask(new ToDo("task 3"));
+        writeBehindStorage.close();
+
+        assertEquals(List.of("ToDo|[ ]|task 1", "ToDo|[ ]|task 2", "ToDo|[ ]|task 3"),
+                Files.readAllLines(writeBehindPath));
+    }
+
+    private void applyChanges(FileStorage fileStorage) {
+        for (int i = 1; i <= 200; i++) {
+            fileStorage.writeTask(new ToDo("task " + i));
+        }
+
+        Task markedTask = new ToDo("task 3");
+        markedTask.completeTask();
+        fileStorage.overwriteTask(3, markedTask.getTaskDataString());
+        fileStorage.removeTask(1);
+        fileStorage.writeTask(new ToDo("task 201"));
+        fileStorage.removeTask(150);
+    }
+}
@@ -0,0 +1,53 @@
+package index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mei.exception.DatesNotInOrderException;
+import mei.index.EventIntervalTree;
+import mei.task.Event;
+
+/**
+ * Represents the class to test finding the events that overlap a range of date/times.
+ */
+public class EventIntervalTreeTest {
+    private static final LocalDateTime FIRST_DATE_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    public void findIdsOverlapping_eventsAddedAndRemoved_sameAsCheckingEveryEvent() throws DatesNotInOrderException {
+        Random random = new Random(18);
+        EventIntervalTree eventIntervalTree = new EventIntervalTree();
+        List<Event> events = new ArrayList<>();
+
+        for (int i = 1; i <= 2000; i++) {
+            LocalDateTime startDateTime = FIRST_DATE_TIME.plusHours(random.nextInt(24 * 365));
+            Event event = new Event("event " + i, startDateTime, startDateTime.plusHours(1 + random.nextInt(72)));
+            event.setId(i);
+            events.add(event);
+            eventIntervalTree.addTask(event);
+        }
+        for (int i = 0; i < 700; i++) {
+            eventIntervalTree.removeTask(events.remove(random.nextInt(events.size())));
+        }
+
+        events.sort(Comparator.comparing(Event::getStartDateTime).thenComparing(Event::getId));
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime startDateTime = FIRST_DATE_TIME.plusHours(random.nextInt(24 * 365));
+            LocalDateTime endDateTime = startDateTime.plusHours(random.nextInt(24 * 7));
+
+            long[] expectedIds = events.stream()
+                    .filter(event -> !event.getStartDateTime().isAfter(endDateTime)
+                            && !event.getEndDateTime().isBefore(startDateTime))
+                    .mapToLong(Event::getId)
+                    .toArray();
+            assertArrayEquals(expectedIds, eventIntervalTree.findIdsOverlapping(startDateTime, endDateTime));
+        }
+    }
+}
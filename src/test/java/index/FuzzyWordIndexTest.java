@@ -0,0 +1,55 @@
+package index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import mei.index.FuzzyWordIndex;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test finding the tasks having words close to a misspelt word.
+ */
+public class FuzzyWordIndexTest {
+    @Test
+    public void toWords_textWithPunctuation_lowerCaseWords() {
+        assertEquals(List.of("team", "meeting", "at", "3pm"), FuzzyWordIndex.toWords("Team meeting, at 3pm!"));
+    }
+
+    @Test
+    public void findIdsWithinDistance_tasksAddedAndRemoved_smallestDistances() {
+        FuzzyWordIndex fuzzyWordIndex = new FuzzyWordIndex();
+        Task[] tasks = new Task[] {
+            new ToDo("team meeting"), new ToDo("settle up"), new ToDo("Meetings"), new ToDo("melting ice")};
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            fuzzyWordIndex.addTask(tasks[i]);
+        }
+
+        assertEquals(Map.of(1L, 1, 3L, 2, 4L, 1), fuzzyWordIndex.findIdsWithinDistance("metting", 2));
+        assertEquals(Map.of(1L, 1, 4L, 1), fuzzyWordIndex.findIdsWithinDistance("metting", 1));
+        assertEquals(Map.of(), fuzzyWordIndex.findIdsWithinDistance("metting", 0));
+
+        fuzzyWordIndex.removeTask(tasks[0]);
+        assertEquals(Map.of(3L, 2, 4L, 1), fuzzyWordIndex.findIdsWithinDistance("metting", 2));
+    }
+
+    @Test
+    public void findIdsWithinDistance_manyCloseWords_onlyWordsWithinDistance() {
+        FuzzyWordIndex fuzzyWordIndex = new FuzzyWordIndex();
+        String[] words = new String[] {
+            "book", "back", "brook", "cook", "look", "books", "boot", "bake", "hook", "nook", "rook", "bok"};
+        for (int i = 0; i < words.length; i++) {
+            Task task = new ToDo(words[i]);
+            task.setId(i + 1);
+            fuzzyWordIndex.addTask(task);
+        }
+
+        assertEquals(Map.of(1L, 0, 3L, 1, 4L, 1, 5L, 1, 6L, 1, 7L, 1, 9L, 1, 10L, 1, 11L, 1, 12L, 1),
+                fuzzyWordIndex.findIdsWithinDistance("book", 1));
+    }
+}
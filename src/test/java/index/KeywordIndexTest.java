@@ -0,0 +1,48 @@
+package index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import mei.index.KeywordIndex;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test finding the ids of tasks through the words in their descriptions.
+ */
+public class KeywordIndexTest {
+    @Test
+    public void toWords_punctuationAndSpaces_splitIntoWords() {
+        assertEquals(Set.of("read", "book", "CS2103T", "week", "3"),
+                KeywordIndex.toWords(" read book, CS2103T (week-3) book"));
+        assertEquals(Set.of(), KeywordIndex.toWords(" ,.!"));
+        assertTrue(KeywordIndex.isKeywordIndexable("ok"));
+        assertFalse(KeywordIndex.isKeywordIndexable("k b"));
+        assertFalse(KeywordIndex.isKeywordIndexable(""));
+    }
+
+    @Test
+    public void findIdsContaining_tasksAddedAndRemoved_sameAsSubstringCheck() {
+        KeywordIndex keywordIndex = new KeywordIndex();
+        Task[] tasks = new Task[] {
+            new ToDo("read book book"), new ToDo("return notebook"), new ToDo("read paper"), new ToDo("Read Book")};
+        for (int i = tasks.length - 1; i >= 0; i--) {
+            tasks[i].setId(i + 1);
+            keywordIndex.addTask(tasks[i]);
+        }
+
+        assertArrayEquals(new long[] {1, 2, 4}, keywordIndex.findIdsContaining("ok"));
+        assertArrayEquals(new long[] {1, 3, 4}, keywordIndex.findIdsContaining("ea"));
+        assertArrayEquals(new long[] {4}, keywordIndex.findIdsContaining("R"));
+        assertArrayEquals(new long[] {}, keywordIndex.findIdsContaining("x"));
+
+        keywordIndex.removeTask(tasks[0]);
+        assertArrayEquals(new long[] {2, 4}, keywordIndex.findIdsContaining("ok"));
+    }
+}
@@ -0,0 +1,36 @@
+package index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import mei.index.TrigramIndex;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test narrowing down the tasks that could contain a keyword.
+ */
+public class TrigramIndexTest {
+    @Test
+    public void findIdsPossiblyContaining_tasksAddedAndRemoved_idsInOrder() {
+        TrigramIndex trigramIndex = new TrigramIndex();
+        Task[] tasks = new Task[] {
+            new ToDo("read book"), new ToDo("notebook"), new ToDo("boo"), new ToDo("Book"), new ToDo("abcab")};
+        for (int i = tasks.length - 1; i >= 0; i--) {
+            tasks[i].setId(i + 1);
+            trigramIndex.addTask(tasks[i]);
+        }
+
+        assertArrayEquals(new int[] {1, 2, 4}, trigramIndex.findIdsPossiblyContaining("ook"));
+        assertArrayEquals(new int[] {1, 2, 3}, trigramIndex.findIdsPossiblyContaining("boo"));
+        // Every trigram is there, but the keyword is not, which the final check leaves out.
+        assertArrayEquals(new int[] {5}, trigramIndex.findIdsPossiblyContaining("abcabc"));
+        assertArrayEquals(new int[] {}, trigramIndex.findIdsPossiblyContaining("paper"));
+
+        trigramIndex.removeTask(tasks[0]);
+        assertArrayEquals(new int[] {2, 4}, trigramIndex.findIdsPossiblyContaining("ook"));
+        assertFalse(TrigramIndex.isKeywordIndexable("ok"));
+    }
+}
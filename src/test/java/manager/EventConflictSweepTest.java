@@ -0,0 +1,59 @@
+package manager;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mei.exception.MeiException;
+import mei.manager.EventConflictSweep;
+import mei.task.Event;
+
+/**
+ * Represents the class to test finding every pair of clashing events with a sweep line.
+ */
+public class EventConflictSweepTest {
+    @Test
+    public void sweep_eventsTouchingAndOverlapping_onlyOverlappingPairsFound() throws MeiException {
+        EventConflictSweep eventConflictSweep = new EventConflictSweep();
+        eventConflictSweep.addEvent(1, new Event("camp", LocalDateTime.of(2019, 12, 1, 9, 0),
+                LocalDateTime.of(2019, 12, 3, 18, 0)));
+        eventConflictSweep.addEvent(2, new Event("talk", LocalDateTime.of(2019, 12, 3, 18, 0),
+                LocalDateTime.of(2019, 12, 3, 20, 0)));
+        eventConflictSweep.addEvent(3, new Event("lunch", LocalDateTime.of(2019, 12, 2, 12, 0),
+                LocalDateTime.of(2019, 12, 2, 13, 0)));
+        eventConflictSweep.sweep(5);
+
+        assertArrayEquals(new String[] {"1. camp clashes with 3. lunch"}, eventConflictSweep.getKeptConflicts());
+        assertEquals(1, eventConflictSweep.getTotalConflicts());
+    }
+
+    @Test
+    public void sweep_randomEvents_sameCountAsComparingEveryPair() throws MeiException {
+        Random random = new Random(25);
+        LocalDateTime firstDateTime = LocalDateTime.of(2019, 12, 1, 0, 0);
+        List<Event> events = new ArrayList<>();
+        EventConflictSweep eventConflictSweep = new EventConflictSweep();
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime startDateTime = firstDateTime.plusHours(random.nextInt(2000));
+            Event event = new Event("event " + i, startDateTime, startDateTime.plusHours(1 + random.nextInt(48)));
+            events.add(event);
+            eventConflictSweep.addEvent(i + 1, event);
+        }
+        eventConflictSweep.sweep(10);
+
+        long totalConflicts = 0;
+        for (int i = 0; i < events.size(); i++) {
+            for (int j = i + 1; j < events.size(); j++) {
+                totalConflicts += events.get(i).isClashingWith(events.get(j)) ? 1 : 0;
+            }
+        }
+        assertEquals(totalConflicts, eventConflictSweep.getTotalConflicts());
+        assertEquals(10, eventConflictSweep.getKeptConflicts().length);
+    }
+}
@@ -0,0 +1,42 @@
+package manager;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import mei.manager.FindResultCache;
+
+/**
+ * Represents the class to test serving find results from the find cache.
+ */
+public class FindResultCacheTest {
+    @Test
+    public void getOrFind_sameModificationCount_resultServedAgain() {
+        FindResultCache<String[]> findResultCache = new FindResultCache<>(2);
+
+        assertArrayEquals(new String[] {"book 0"}, findResultCache.getOrFind("book", 0, keyword -> new String[] {
+            keyword + " 0"}));
+        assertArrayEquals(new String[] {"book 0"}, findResultCache.getOrFind("book", 0, keyword -> new String[] {
+            keyword + " 1"}));
+        assertArrayEquals(new String[] {"book 2"}, findResultCache.getOrFind("book", 1, keyword -> new String[] {
+            keyword + " 2"}));
+        assertEquals(1, findResultCache.getTotalHits());
+        assertEquals(2, findResultCache.getTotalMisses());
+    }
+
+    @Test
+    public void getOrFind_cacheFull_leastRecentlyUsedEvicted() {
+        FindResultCache<String[]> findResultCache = new FindResultCache<>(2);
+        findResultCache.getOrFind("a", 0, keyword -> new String[] {"first a"});
+        findResultCache.getOrFind("b", 0, keyword -> new String[] {"first b"});
+        findResultCache.getOrFind("a", 0, keyword -> new String[] {"second a"});
+        findResultCache.getOrFind("c", 0, keyword -> new String[] {"first c"});
+
+        assertArrayEquals(new String[] {"first a"}, findResultCache.getOrFind("a", 0, keyword -> new String[] {}));
+        assertArrayEquals(new String[] {"second b"}, findResultCache.getOrFind("b", 0, keyword -> new String[] {
+            "second b"}));
+        assertEquals(2, findResultCache.getTotalHits());
+        assertEquals(4, findResultCache.getTotalMisses());
+    }
+}
@@ -1,15 +1,31 @@
 package manager;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 
+import mei.exception.MeiException;
+import mei.fileaccess.ColumnarFileStorage;
+import mei.fileaccess.FileStorage;
+import mei.fileaccess.JournaledFileStorage;
+import mei.fileaccess.WriteBehindFileStorage;
 import mei.manager.TaskManager;
+import mei.query.TaskQuery;
 import mei.stub.FileStorageStub;
+import mei.task.Deadline;
+import mei.task.Event;
 import mei.task.Task;
+import mei.task.ToDo;
 
 
 /**
@@ -30,11 +46,11 @@ public class TaskManagerTest {
     public void getTaskStringsToDisplay_gotTasks_success() {
         FileStorageStub fs = new FileStorageStub("./");
         List<Task> tasks = new ArrayList<>();
-        tasks.add(new Task("task 1", "add task"));
-        tasks.add(new Task("task 2", "add task"));
-        tasks.add(new Task("task 3", "add task"));
-        tasks.add(new Task("task 4", "add task"));
-        tasks.add(new Task("task 5", "add task"));
+        tasks.add(new Task("task 1"));
+        tasks.add(new Task("task 2"));
+        tasks.add(new Task("task 3"));
+        tasks.add(new Task("task 4"));
+        tasks.add(new Task("task 5"));
 
         TaskManager tm = new TaskManager(tasks, fs);
         String[] actual = tm.getTaskStringsToDisplay();
@@ -47,5 +63,324 @@ public class TaskManagerTest {
         assertArrayEquals(expected, actual);
     }
 
+    @Test
+    public void getTaskIndexOfId_tasksDeleted_followsTask() throws IOException {
+        Path path = Files.createTempDirectory("mei-ids").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        for (int i = 1; i <= 5; i++) {
+            tm.addTask(new ToDo("task " + i));
+        }
+        long idOfTask4 = tm.getTaskIdOfIndex(4);
+
+        tm.deleteTask(2);
+        tm.deleteTasks(new int[] {1});
+
+        assertEquals(2, tm.getTaskIndexOfId(idOfTask4));
+        assertEquals(-1, tm.getTaskIndexOfId(tm.getTaskIdOfIndex(1) - 2));
+    }
+
+    @Test
+    public void addTask_idsSaved_sameIdsReadBack() throws IOException {
+        Path path = Files.createTempDirectory("mei-ids").resolve("tasks.txt");
+        Files.write(path, List.of("ToDo|[ ]|old task 1|todo old task 1", "ToDo|[ ]|old task 2|todo old task 2"));
+        FileStorage fileStorage = new FileStorage(path.toString());
+        TaskManager tm = new TaskManager(fileStorage.readTasks(), fileStorage);
+
+        tm.addTask(new ToDo("new task"));
+        tm.deleteTask(1);
+
+        List<Task> readTasks = new FileStorage(path.toString()).readTasks();
+        assertEquals("3|ToDo|[ ]|new task", readTasks.get(1).getTaskDataString());
+        TaskManager readTm = new TaskManager(readTasks, fileStorage);
+        assertEquals(2, readTm.getTaskIndexOfId(3));
+        assertEquals(1, readTm.getTaskIndexOfId(2));
+        assertEquals(-1, readTm.getTaskIndexOfId(1));
+    }
+
+    @Test
+    public void getTaskIndexOfId_tasksWithoutIdsAndDuplicateIds_newIdsSavedAfterLargestId() throws IOException {
+        Path path = Files.createTempDirectory("mei-legacy-ids").resolve("tasks.txt");
+        Files.write(path, List.of("ToDo|[ ]|a", "2|ToDo|[X]|b", "ToDo|[ ]|c", "2|ToDo|[ ]|d"));
+        FileStorage fileStorage = new FileStorage(path.toString());
+        TaskManager tm = new TaskManager(fileStorage.readTasks(), fileStorage);
+
+        tm.deleteTask(1);
+        assertEquals(1, tm.getTaskIndexOfId(2));
+        assertEquals(3, tm.getTaskIdOfIndex(2));
+        assertEquals(List.of("2|ToDo|[X]|b", "3|ToDo|[ ]|c", "4|ToDo|[ ]|d"), Files.readAllLines(path));
+
+        TaskManager readTm = new TaskManager(new FileStorage(path.toString()).readTasks(), fileStorage);
+        readTm.addTask(new ToDo("e"));
+        assertEquals(1, readTm.getTaskIndexOfId(2));
+        assertEquals(2, readTm.getTaskIndexOfId(3));
+        assertEquals(3, readTm.getTaskIndexOfId(4));
+        assertEquals(4, readTm.getTaskIndexOfId(5));
+
+        readTm.deleteTasks(new int[] {1, 3});
+        assertEquals(-1, readTm.getTaskIndexOfId(2));
+        assertEquals(1, readTm.getTaskIndexOfId(3));
+        assertEquals(2, readTm.getTaskIndexOfId(5));
+    }
+
+    @Test
+    public void addTask_legacyFileWithUnreadableLine_fileRewrittenInStep() throws IOException {
+        List<Function<String, FileStorage>> fileStorageCreators = List.of(FileStorage::new,
+                ColumnarFileStorage::new, JournaledFileStorage::new,
+                path -> new WriteBehindFileStorage(path, WriteBehindFileStorage.SYNC_EVERY_BATCH));
+
+        for (Function<String, FileStorage> fileStorageCreator : fileStorageCreators) {
+            Path path = Files.createTempDirectory("mei-legacy-ids").resolve("tasks.txt");
+            Files.write(path, List.of("ToDo|[ ]|read book", "Deadline|[ ]|return book|99/99/2019 1800",
+                    "ToDo|[ ]|camp", "ToDo|[ ]|water plants"));
+            FileStorage fileStorage = fileStorageCreator.apply(path.toString());
+            TaskManager tm = new TaskManager(fileStorage.readTasks(), fileStorage);
+
+            tm.addTask(new ToDo("new one"));
+            fileStorage.close();
+
+            FileStorage readFileStorage = fileStorageCreator.apply(path.toString());
+            List<Task> readTasks = readFileStorage.readTasks();
+            readFileStorage.close();
+            assertArrayEquals(new String[] {"[T][ ] read book", "[T][ ] camp", "[T][ ] water plants",
+                "[T][ ] new one"}, readTasks.stream().map(Task::toString).toArray());
+            assertArrayEquals(new long[] {1, 2, 3, 4}, readTasks.stream().mapToLong(Task::getId).toArray());
+        }
+    }
+
+    @Test
+    public void findTasksToDisplay_tasksAddedAndDeleted_indexKeptInStep() throws IOException {
+        Path path = Files.createTempDirectory("mei-find").resolve("tasks.txt");
+        Files.write(path, List.of("ToDo|[ ]|read book", "ToDo|[ ]|read notebook", "ToDo|[ ]|borrow book, again"));
+        FileStorage fileStorage = new FileStorage(path.toString());
+        TaskManager tm = new TaskManager(fileStorage.readTasks(), fileStorage);
+
+        assertArrayEquals(new String[] {
+            "1. [T][ ] read book", "2. [T][ ] read notebook", "3. [T][ ] borrow book, again"},
+                tm.findTasksToDisplay("ook"));
+
+        tm.deleteTask(1);
+        tm.addTask(new ToDo("return book"));
+        assertArrayEquals(new String[] {
+            "1. [T][ ] read notebook", "2. [T][ ] borrow book, again", "3. [T][ ] return book"},
+                tm.findTasksToDisplay("book"));
+        assertArrayEquals(new String[] {"1. [T][ ] borrow book, again"}, tm.findTasksToDisplay("ok, ag"));
+        assertArrayEquals(new String[] {}, tm.findTasksToDisplay("bookbook"));
+        assertArrayEquals(new String[] {"1. [T][ ] borrow book, again"}, tm.findTasksToDisplay(","));
+        assertArrayEquals(new String[] {"1. [T][ ] read notebook", "2. [T][ ] return book"},
+                tm.findTasksToDisplay("re"));
+
+        tm.deleteTask(3);
+        tm.addTask(new ToDo("reread"));
+        assertArrayEquals(new String[] {"1. [T][ ] read notebook", "2. [T][ ] reread"}, tm.findTasksToDisplay("re"));
+        assertArrayEquals(new String[] {"1. [T][ ] read notebook", "2. [T][ ] borrow book, again"},
+                tm.findTasksToDisplay("o"));
+    }
+
+    @Test
+    public void findTasksFuzzilyToDisplay_misspeltKeyword_rankedByDistance() throws IOException {
+        Path path = Files.createTempDirectory("mei-fuzzy").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new ToDo("Meetings"));
+        tm.addTask(new ToDo("team meeting"));
+        tm.addTask(new ToDo("read book"));
+
+        assertArrayEquals(new String[] {"1. [T][ ] team meeting", "2. [T][ ] Meetings"},
+                tm.findTasksFuzzilyToDisplay("metting"));
+        assertArrayEquals(new String[] {"1. [T][ ] team meeting"}, tm.findTasksFuzzilyToDisplay("tem metting"));
+
+        tm.deleteTask(2);
+        tm.addTask(new ToDo("melting ice"));
+        assertArrayEquals(new String[] {"1. [T][ ] melting ice", "2. [T][ ] Meetings"},
+                tm.findTasksFuzzilyToDisplay("metting"));
+        assertArrayEquals(new String[] {}, tm.findTasksFuzzilyToDisplay("~"));
+    }
+
+    @Test
+    public void findTasksMatchingQueryToDisplay_tasksMarkedAndDeleted_indexesKeptInStep()
+            throws IOException, MeiException {
+        Path path = Files.createTempDirectory("mei-query").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new Deadline("year report", "31/12/2024 2359"));
+        tm.addTask(new ToDo("read report"));
+        tm.addTask(new Deadline("essay", "1/12/2024 1200"));
+        tm.addTask(new Deadline("report draft", "2/01/2025 0900"));
+
+        assertArrayEquals(new String[] {
+            "1. [D][ ] year report (by: TUESDAY December 31 2024 at 11:59 PM)",
+            "2. [D][ ] essay (by: SUNDAY December 1 2024 at 12:00 PM)"},
+                tm.findTasksMatchingQueryToDisplay(TaskQuery.parse("type:deadline done:no due<2025-01-01")));
+        assertArrayEquals(new String[] {"1. [T][ ] read report"},
+                tm.findTasksMatchingQueryToDisplay(TaskQuery.parse("desc:report type:todo")));
+
+        tm.markTasks(new int[] {1, 2});
+        tm.deleteTask(3);
+        tm.addTask(new Deadline("report card", "30/12/2024 0800"));
+        assertArrayEquals(new String[] {"1. [D][ ] report card (by: MONDAY December 30 2024 at 8:00 AM)"},
+                tm.findTasksMatchingQueryToDisplay(TaskQuery.parse("desc:rep done:no due<2025-01-01")));
+        assertArrayEquals(new String[] {
+            "1. [D][X] year report (by: TUESDAY December 31 2024 at 11:59 PM)", "2. [T][X] read report"},
+                tm.findTasksMatchingQueryToDisplay(TaskQuery.parse("done:yes")));
 
+        tm.unmarkTask(2);
+        assertArrayEquals(new String[] {"1. [T][ ] read report"},
+                tm.findTasksMatchingQueryToDisplay(TaskQuery.parse("done:no desc:read")));
+    }
+
+    @Test
+    public void findAndList_parallelAboveThreshold_sameAsSequential() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            tasks.add(new ToDo(i % 7 == 0 ? "read book " + i : "task " + i));
+        }
+        FileStorage fileStorage = new FileStorage(Files.createTempDirectory("mei-parallel").resolve("tasks.txt")
+                .toString());
+        TaskManager sequentialTm = new TaskManager(new ArrayList<>(tasks), fileStorage);
+        System.setProperty("mei.parallel", "1");
+        TaskManager parallelTm;
+        try {
+            parallelTm = new TaskManager(new ArrayList<>(tasks), fileStorage);
+        } finally {
+            System.clearProperty("mei.parallel");
+        }
+
+        assertArrayEquals(sequentialTm.getTaskStringsToDisplay(), parallelTm.getTaskStringsToDisplay());
+        assertArrayEquals(sequentialTm.findTasksToDisplay("book"), parallelTm.findTasksToDisplay("book"));
+        assertArrayEquals(sequentialTm.findTasksToDisplay("9"), parallelTm.findTasksToDisplay("9"));
+        assertEquals("2858. [T][ ] read book 19999", parallelTm.findTasksToDisplay("book")[2857]);
+    }
+
+    @Test
+    public void findUpcomingTasksToDisplay_tasksMarkedAndDeleted_nextTasksNotDone() throws IOException, MeiException {
+        Path path = Files.createTempDirectory("mei-upcoming").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        LocalDateTime now = LocalDateTime.of(2019, 12, 2, 12, 0);
+        tm.addTask(new Deadline("old essay", "1/12/2019 1200"));
+        tm.addTask(new Event("camp", "3/12/2019 0900", "4/12/2019 1800"));
+        tm.addTask(new ToDo("read book"));
+        tm.addTask(new Deadline("report", "2/12/2019 1800"));
+
+        assertArrayEquals(new String[] {
+            "1. [D][ ] report (by: MONDAY December 2 2019 at 6:00 PM)",
+            "2. [E][ ] camp (from: TUESDAY December 3 2019 at 9:00 AM to: WEDNESDAY December 4 2019 at 6:00 PM)"},
+                tm.findUpcomingTasksToDisplay(now, 5));
+
+        tm.markTask(4);
+        tm.addTask(new Event("talk", "2/12/2019 1400", "2/12/2019 1600"));
+        assertArrayEquals(new String[] {
+            "1. [E][ ] talk (from: MONDAY December 2 2019 at 2:00 PM to: MONDAY December 2 2019 at 4:00 PM)"},
+                tm.findUpcomingTasksToDisplay(now, 1));
+
+        tm.unmarkTask(4);
+        tm.deleteTask(2);
+        assertEquals(2, tm.findUpcomingTasksToDisplay(now, 5).length);
+        assertArrayEquals(new String[] {"1. [D][ ] report (by: MONDAY December 2 2019 at 6:00 PM)"},
+                tm.findUpcomingTasksToDisplay(LocalDateTime.of(2019, 12, 2, 15, 0), 5));
+    }
+
+    @Test
+    public void findEventsClashingWithToDisplay_eventsTouchingAndOverlapping_onlyOverlappingEvents()
+            throws IOException, MeiException {
+        Path path = Files.createTempDirectory("mei-clash").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new Event("camp", "1/12/2019 0900", "3/12/2019 1800"));
+        tm.addTask(new Event("talk", "3/12/2019 1800", "3/12/2019 2000"));
+        tm.addTask(new ToDo("read book"));
+        Event lunch = new Event("lunch", "2/12/2019 1200", "3/12/2019 1900");
+        tm.addTask(lunch);
+
+        assertArrayEquals(new String[] {
+            "1. [E][ ] camp (from: SUNDAY December 1 2019 at 9:00 AM to: TUESDAY December 3 2019 at 6:00 PM)",
+            "2. [E][ ] talk (from: TUESDAY December 3 2019 at 6:00 PM to: TUESDAY December 3 2019 at 8:00 PM)"},
+                tm.findEventsClashingWithToDisplay(lunch));
+        assertEquals(0, tm.findEventsClashingWithToDisplay(new Event("dinner", "3/12/2019 2000",
+                "3/12/2019 2100")).length);
+
+        tm.deleteTask(1);
+        assertEquals(1, tm.findEventsClashingWithToDisplay(lunch).length);
+        assertEquals(1, tm.sweepEventConflicts(5).getTotalConflicts());
+    }
+
+    @Test
+    public void findTasksToDisplay_tasksModified_staleResultsNeverServed() throws IOException {
+        Path path = Files.createTempDirectory("mei-cache").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new ToDo("read book"));
+
+        assertArrayEquals(new String[] {"1. [T][ ] read book"}, tm.findTasksToDisplay("book"));
+        assertArrayEquals(new String[] {"1. [T][ ] read book"}, tm.findTasksToDisplay("book"));
+        tm.markTask(1);
+        assertArrayEquals(new String[] {"1. [T][X] read book"}, tm.findTasksToDisplay("book"));
+        tm.addTask(new ToDo("book shelf"));
+        assertArrayEquals(new String[] {"1. [T][X] read book", "2. [T][ ] book shelf"}, tm.findTasksToDisplay("book"));
+        tm.deleteTask(1);
+        assertArrayEquals(new String[] {"1. [T][ ] book shelf"}, tm.findTasksToDisplay("book"));
+
+        assertEquals(1, tm.getTotalFindCacheHits());
+        assertEquals(4, tm.getTotalFindCacheMisses());
+    }
+
+    @Test
+    public void getTaskStringsOfPageToDisplay_severalPages_onlyTasksOnPage() throws IOException {
+        Path path = Files.createTempDirectory("mei-page").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        assertNull(tm.getTaskStringsOfPageToDisplay(1, 2));
+
+        tm.addTask(new ToDo("first"));
+        tm.addTask(new ToDo("second"));
+        tm.addTask(new ToDo("third"));
+        assertArrayEquals(new String[] {"1. [T][ ] first", "2. [T][ ] second"}, tm.getTaskStringsOfPageToDisplay(1, 2));
+        assertArrayEquals(new String[] {"3. [T][ ] third"}, tm.getTaskStringsOfPageToDisplay(2, 2));
+        assertArrayEquals(new String[] {}, tm.getTaskStringsOfPageToDisplay(3, 2));
+    }
+
+    @Test
+    public void findTasksOfPageToDisplay_severalPages_onlyFoundTasksOnPage() throws IOException {
+        Path path = Files.createTempDirectory("mei-find-page").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new ToDo("room 101"));
+        tm.addTask(new ToDo("read book"));
+        tm.addTask(new ToDo("room 102"));
+        tm.addTask(new ToDo("room 101 key"));
+
+        assertArrayEquals(new String[] {"1. [T][ ] room 101", "2. [T][ ] room 102"},
+                tm.findTasksOfPageToDisplay("room", 1, 2));
+        assertEquals(3, tm.getTotalTasksOfLastFind());
+        assertArrayEquals(new String[] {"3. [T][ ] room 101 key"}, tm.findTasksOfPageToDisplay("room", 2, 2));
+        assertArrayEquals(new String[] {}, tm.findTasksOfPageToDisplay("room", 3, 2));
+        assertArrayEquals(new String[] {"1. [T][ ] room 101", "2. [T][ ] room 101 key"},
+                tm.findTasksOfPageToDisplay("room 101", 1, 2));
+        assertEquals(2, tm.getTotalTasksOfLastFind());
+    }
+
+    @Test
+    public void findDeadlinesAndEvents_tasksAddedAndDeleted_onlyTasksInRange() throws IOException, MeiException {
+        Path path = Files.createTempDirectory("mei-dates").resolve("tasks.txt");
+        TaskManager tm = new TaskManager(new ArrayList<>(), new FileStorage(path.toString()));
+        tm.addTask(new Deadline("report", "6/12/2019 1800"));
+        tm.addTask(new Event("camp", "1/12/2019 0900", "3/12/2019 1800"));
+        tm.addTask(new Deadline("essay", "2/12/2019 2359"));
+        tm.addTask(new ToDo("read book"));
+        tm.addTask(new Event("talk", "5/12/2019 1400", "5/12/2019 1600"));
+
+        assertArrayEquals(new String[] {
+            "1. [D][ ] essay (by: MONDAY December 2 2019 at 11:59 PM)",
+            "2. [D][ ] report (by: FRIDAY December 6 2019 at 6:00 PM)"},
+                tm.findDeadlinesDueBeforeToDisplay(LocalDateTime.of(2019, 12, 7, 0, 0)));
+        assertArrayEquals(new String[] {"1. [D][ ] report (by: FRIDAY December 6 2019 at 6:00 PM)"},
+                tm.findDeadlinesDueBetweenToDisplay(LocalDateTime.of(2019, 12, 6, 18, 0),
+                        LocalDateTime.of(2019, 12, 9, 0, 0)));
+        assertEquals(2, tm.findEventsDuringToDisplay(LocalDateTime.of(2019, 12, 3, 0, 0),
+                LocalDateTime.of(2019, 12, 5, 14, 0)).length);
+
+        tm.deleteTask(2);
+        tm.addTask(new Deadline("quiz", "1/12/2019 1000"));
+        assertArrayEquals(new String[] {
+            "1. [D][ ] quiz (by: SUNDAY December 1 2019 at 10:00 AM)",
+            "2. [D][ ] essay (by: MONDAY December 2 2019 at 11:59 PM)"},
+                tm.findDeadlinesDueBeforeToDisplay(LocalDateTime.of(2019, 12, 3, 0, 0)));
+        assertArrayEquals(new String[] {"1. [E][ ] talk (from: THURSDAY December 5 2019 at 2:00 PM"
+                + " to: THURSDAY December 5 2019 at 4:00 PM)"},
+                tm.findEventsDuringToDisplay(LocalDateTime.of(2019, 12, 3, 0, 0),
+                        LocalDateTime.of(2019, 12, 5, 14, 0)));
+    }
 }
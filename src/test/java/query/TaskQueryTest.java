@@ -0,0 +1,74 @@
+package query;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import mei.exception.MeiException;
+import mei.exception.TaskQueryException;
+import mei.query.QueryPlanner;
+import mei.query.TaskQuery;
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test parsing task queries and planning how to find their tasks.
+ */
+public class TaskQueryTest {
+    @Test
+    public void parse_everyFilter_filtersKept() throws TaskQueryException {
+        TaskQuery query = TaskQuery.parse(" type:Deadline  done:no desc:report due>2024-12-30 due<2025-01-01 ");
+
+        assertEquals("Deadline", query.getTaskClassName());
+        assertTrue(query.isStatusGiven());
+        assertFalse(query.isDone());
+        assertEquals(1, query.getDescriptionKeywords().size());
+        assertEquals(LocalDateTime.of(2024, 12, 31, 0, 0), query.getDueStartDateTime());
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), query.getDueEndDateTime());
+    }
+
+    @Test
+    public void parse_unknownFilters_exceptionThrown() {
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("  "));
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("type:chore"));
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("done:maybe"));
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("desc:"));
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("due<1/1/2025"));
+        assertThrows(TaskQueryException.class, () -> TaskQuery.parse("report"));
+    }
+
+    @Test
+    public void isMatching_tasksOfEveryType_onlyTasksPassingEveryFilter() throws MeiException {
+        TaskQuery query = TaskQuery.parse("type:deadline done:no desc:report due<2025-01-01");
+        Deadline doneReport = new Deadline("report", "31/12/2024 2359");
+        doneReport.completeTask();
+
+        assertTrue(query.isMatching(new Deadline("year report", "31/12/2024 2359")));
+        assertFalse(query.isMatching(new Deadline("year report", "1/01/2025 0000")));
+        assertFalse(query.isMatching(new Deadline("essay", "1/12/2024 1200")));
+        assertFalse(query.isMatching(doneReport));
+        assertFalse(query.isMatching(new ToDo("report")));
+        assertFalse(TaskQuery.parse("due>2024-01-01").isMatching(
+                new Event("report", "2/01/2024 1000", "2/01/2024 1200")));
+    }
+
+    @Test
+    public void offerAccessPath_severalPaths_fewestIdsChosen() {
+        QueryPlanner queryPlanner = new QueryPlanner(100);
+        queryPlanner.offerAccessPath(60, () -> new long[] {1});
+        assertTrue(queryPlanner.isScanCheapest());
+
+        queryPlanner.offerAccessPath(20, () -> new long[] {2});
+        queryPlanner.offerAccessPath(5, () -> new long[] {3});
+        queryPlanner.offerAccessPath(10, () -> new long[] {4});
+        assertEquals(5, queryPlanner.getMostIdsWorthLookingUp());
+        assertArrayEquals(new long[] {3}, queryPlanner.findCandidateIds());
+    }
+}
@@ -0,0 +1,89 @@
+package task;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import mei.fileaccess.FileRead;
+import mei.task.DateTimeParser;
+
+/**
+ * Represents the benchmark of loading deadlines and events, and of parsing their date/times,
+ * with the date/time parser against the input formatters it replaced.
+ * Run the main method directly, since this is not a test.
+ */
+public class DateTimeParserBenchmark {
+    private static final int TOTAL_RECORDS = 100_000;
+    private static final int TOTAL_ROUNDS = 5;
+    private static final DateTimeFormatter[] INPUT_FORMATTERS = new DateTimeFormatter[] {
+        DateTimeFormatter.ofPattern("d/MM/yyyy HHmm"),
+        DateTimeFormatter.ofPattern("d-MM-yyyy HHmm"),
+        DateTimeFormatter.ofPattern("yyyy/MM/d HHmm"),
+        DateTimeFormatter.ofPattern("yyyy-MM-d HHmm")};
+
+    /**
+     * Runs the benchmark and prints the best time of every measurement.
+     *
+     * @param args Unused.
+     * @throws IOException if an error occurred while writing or reading the task data file.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> taskDatas = new ArrayList<>(TOTAL_RECORDS);
+        List<String> dateTimes = new ArrayList<>();
+        for (int i = 0; i < TOTAL_RECORDS; i++) {
+            // The last input format is the slowest for the formatters, since every other one is tried first.
+            String start = (i % 28 + 1) + "/02/2025 1600";
+            String end = "2025-03-" + (i % 28 + 1) + " 1800";
+            if (i % 2 == 0) {
+                taskDatas.add("Deadline|[ ]|task " + i + "|" + end);
+                dateTimes.add(end);
+            } else {
+                taskDatas.add("Event|[ ]|task " + i + "|" + start + "|" + end);
+                dateTimes.add(start);
+                dateTimes.add(end);
+            }
+        }
+        Path path = Files.createTempDirectory("mei-benchmark").resolve("tasks.txt");
+        Files.write(path, taskDatas);
+        FileRead fileReader = new FileRead(path.toString());
+
+        long bestLoadNanos = Long.MAX_VALUE;
+        long bestParserNanos = Long.MAX_VALUE;
+        long bestFormatterNanos = Long.MAX_VALUE;
+        for (int round = 0; round < TOTAL_ROUNDS; round++) {
+            long startNanos = System.nanoTime();
+            fileReader.readFromFile();
+            bestLoadNanos = Math.min(bestLoadNanos, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            dateTimes.forEach(DateTimeParser::parse);
+            bestParserNanos = Math.min(bestParserNanos, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            dateTimes.forEach(DateTimeParserBenchmark::parseWithFormatters);
+            bestFormatterNanos = Math.min(bestFormatterNanos, System.nanoTime() - startNanos);
+        }
+
+        System.out.println("Loading " + TOTAL_RECORDS + " deadlines and events: " + bestLoadNanos / 1_000_000 + " ms");
+        System.out.println("Parsing " + dateTimes.size() + " date/times with the date/time parser: "
+                + bestParserNanos / 1_000_000 + " ms");
+        System.out.println("Parsing " + dateTimes.size() + " date/times with the input formatters: "
+                + bestFormatterNanos / 1_000_000 + " ms");
+    }
+
+    private static LocalDateTime parseWithFormatters(String dateTime) {
+        for (DateTimeFormatter formatter : INPUT_FORMATTERS) {
+            try {
+                return LocalDateTime.parse(dateTime.trim(), formatter);
+            } catch (DateTimeParseException ignore) {
+                // Try the next formatter.
+            }
+        }
+        return null;
+    }
+}
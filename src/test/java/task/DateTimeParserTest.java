@@ -0,0 +1,71 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mei.task.DateTimeParser;
+
+/**
+ * Represents the class to test that the date/time parser parses exactly like the input formatters.
+ */
+public class DateTimeParserTest {
+    private static final DateTimeFormatter[] INPUT_FORMATTERS = new DateTimeFormatter[] {
+        DateTimeFormatter.ofPattern("d/MM/yyyy HHmm"),
+        DateTimeFormatter.ofPattern("d-MM-yyyy HHmm"),
+        DateTimeFormatter.ofPattern("yyyy/MM/d HHmm"),
+        DateTimeFormatter.ofPattern("yyyy-MM-d HHmm")};
+
+    @Test
+    public void parse_edgeCases_sameAsFormatters() {
+        String[] dateTimes = new String[] {
+            "2/12/2019 1800", "02-12-2019 1800", "2019/12/2 1800", "2019-12-02 1800", "  2/12/2019 1800  ",
+            "30/02/2019 1800", "29/02/2020 0000", "31/04/2019 2359", "2019-02-30 0000", "2100/02/29 1200",
+            "1/12/2019 2400", "31/12/2019 2400", "1/12/2019 2401", "1/12/2019 1860", "1/12/2019 180",
+            "001/12/2019 1800", "0001/12/2019 1800", "2019/12/001 1800", "0/12/2019 1800", "32/01/2019 1800",
+            "1/1/2019 1800", "1/00/2019 1800", "1/13/2019 1800", "1/12/0000 1800", "1/12/20190 1800",
+            "1/12/+20190 1800", "1/12/+2019 1800", "+2019/12/1 1800", "1/12/02019 1800", "1/12/-2019 1800",
+            "1/12/2019  1800", "1/12/2019\t1800", "1/12-2019 1800", "2019/12-1 1800", "20190/12/1 1800",
+            "99999999999999999999/12/2019 1800", "1/12/2019", "1800", "", " ", "a/12/2019 1800",
+            "2/12/2019 18:00", "2019-12-2 1800x", "1/12/+9999999999 1800"};
+
+        for (String dateTime : dateTimes) {
+            assertEquals(parseWithFormatters(dateTime), DateTimeParser.parse(dateTime));
+        }
+    }
+
+    @Test
+    public void parse_randomDateTimes_sameAsFormatters() {
+        Random random = new Random(2019);
+        String[] separators = new String[] {"/", "-"};
+
+        for (int i = 0; i < 20000; i++) {
+            String day = String.valueOf(random.nextInt(34));
+            String month = String.format("%02d", random.nextInt(14));
+            String year = String.valueOf(random.nextInt(2) == 0 ? 1990 + random.nextInt(60) : random.nextInt(10000));
+            String time = String.format("%02d%02d", random.nextInt(26), random.nextInt(62));
+            String separator = separators[random.nextInt(2)];
+
+            String dateTime = random.nextBoolean()
+                    ? day + separator + month + separator + year + " " + time
+                    : year + separator + month + separator + day + " " + time;
+            assertEquals(parseWithFormatters(dateTime), DateTimeParser.parse(dateTime));
+        }
+    }
+
+    private LocalDateTime parseWithFormatters(String dateTime) {
+        for (DateTimeFormatter formatter : INPUT_FORMATTERS) {
+            try {
+                return LocalDateTime.parse(dateTime.trim(), formatter);
+            } catch (DateTimeParseException ignore) {
+                // Try the next formatter.
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import mei.exception.DateTimeConversionException;
+import mei.exception.DatesNotInOrderException;
+import mei.task.Deadline;
+import mei.task.Event;
+import mei.task.Task;
+import mei.task.ToDo;
+
+/**
+ * Represents the class to test the strings that tasks are represented as.
+ */
+public class TaskTest {
+    @Test
+    public void toString_calledAgain_sameStringKept() throws DateTimeConversionException {
+        Task task = new Deadline("task", "2/12/2019 1800");
+
+        assertSame(task.toString(), task.toString());
+        assertSame(task.getTaskDataString(), task.getTaskDataString());
+    }
+
+    @Test
+    public void completeTask_stringsKept_stringsBuiltAgain() throws DateTimeConversionException {
+        Task task = new Deadline("task", "2/12/2019 1800");
+        task.toString();
+        task.getTaskDataString();
+
+        task.completeTask();
+        assertEquals("[D][X] task (by: MONDAY December 2 2019 at 6:00 PM)", task.toString());
+        assertEquals("Deadline|[X]|task|2/12/2019 1800", task.getTaskDataString());
+
+        task.setId(7);
+        task.uncheckTask();
+        assertEquals("[D][ ] task (by: MONDAY December 2 2019 at 6:00 PM)", task.toString());
+        assertEquals("7|Deadline|[ ]|task|2/12/2019 1800", task.getTaskDataString());
+    }
+
+    @Test
+    public void getAddTaskCommand_everyTaskType_rebuiltFromFields()
+            throws DateTimeConversionException, DatesNotInOrderException {
+        assertEquals("todo read book", new ToDo("  read book ").getAddTaskCommand());
+        assertEquals("deadline return book /by 2/12/2019 1800",
+                new Deadline("return book ", "2019-12-02 1800").getAddTaskCommand());
+        assertEquals("event project meeting /from 2/12/2019 1400 /to 2/12/2019 1600",
+                new Event("project meeting ", "2/12/2019 1400", "2019/12/02 1600").getAddTaskCommand());
+    }
+}